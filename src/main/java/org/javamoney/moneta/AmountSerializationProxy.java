@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import org.javamoney.moneta.spi.VarLongs;
+
+import javax.money.*;
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Compact serialized form of {@link FastMoney}, {@link Money} and {@link RoundedMoney}, written instead of the
+ * amounts by their {@code writeReplace} methods. The form consists of
+ * <ul>
+ * <li>a type byte,</li>
+ * <li>the currency code, if the currency is available from {@link MonetaryCurrencies}, else the
+ * {@link CurrencyUnit} instance,</li>
+ * <li>for {@link FastMoney} the zig-zag encoded scaled number as variable length long,</li>
+ * <li>for {@link Money} and {@link RoundedMoney} the scale and the unscaled value, as variable length longs if
+ * possible, followed by the {@link MonetaryContext}, only if not the default one,</li>
+ * <li>for {@link RoundedMoney} the rounding, only if it is serializable. Otherwise the default rounding of the
+ * currency is used when reading.</li>
+ * </ul>
+ *
+ * @author Anatole Tresch
+ */
+final class AmountSerializationProxy implements Externalizable{
+
+    private static final long serialVersionUID = 1L;
+
+    private static final byte FAST_MONEY = 1;
+    private static final byte MONEY = 2;
+    private static final byte ROUNDED_MONEY = 3;
+
+    private static final byte CURRENCY_CODE = 0;
+    private static final byte CURRENCY_OBJECT = 1;
+
+    /**
+     * The amount serialized, or deserialized.
+     */
+    private MonetaryAmount amount;
+
+    /**
+     * Constructor used for deserialization.
+     */
+    public AmountSerializationProxy(){
+    }
+
+    /**
+     * Creates a proxy for the given amount.
+     *
+     * @param amount the amount, one of {@link FastMoney}, {@link Money} or {@link RoundedMoney}.
+     */
+    AmountSerializationProxy(MonetaryAmount amount){
+        this.amount = amount;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.io.Externalizable#writeExternal(java.io.ObjectOutput)
+     */
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException{
+        if(amount instanceof FastMoney){
+            out.writeByte(FAST_MONEY);
+            writeCurrency(out, amount.getCurrency());
+            VarLongs.write(out, ((FastMoney) amount).getScaledNumber());
+        }else if(amount instanceof Money){
+            out.writeByte(MONEY);
+            writeCurrency(out, amount.getCurrency());
+            writeDecimal(out, amount.getNumber().numberValue(BigDecimal.class));
+            writeContext(out, amount.getMonetaryContext(), Money.DEFAULT_MONETARY_CONTEXT);
+        }else if(amount instanceof RoundedMoney){
+            RoundedMoney roundedMoney = (RoundedMoney) amount;
+            out.writeByte(ROUNDED_MONEY);
+            writeCurrency(out, amount.getCurrency());
+            writeDecimal(out, amount.getNumber().numberValue(BigDecimal.class));
+            writeContext(out, amount.getMonetaryContext(), RoundedMoney.DEFAULT_MONETARY_CONTEXT);
+            if(roundedMoney.getRounding() instanceof Serializable){
+                out.writeBoolean(true);
+                out.writeObject(roundedMoney.getRounding());
+            }else{
+                out.writeBoolean(false);
+            }
+        }else{
+            throw new NotSerializableException(String.valueOf(amount));
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.io.Externalizable#readExternal(java.io.ObjectInput)
+     */
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException{
+        byte type = in.readByte();
+        CurrencyUnit currency = readCurrency(in);
+        switch(type){
+            case FAST_MONEY:
+                this.amount = FastMoney.ofScaled(VarLongs.read(in), currency);
+                break;
+            case MONEY:
+                BigDecimal number = readDecimal(in);
+                this.amount = Money.of(number, currency, readContext(in, Money.DEFAULT_MONETARY_CONTEXT));
+                break;
+            case ROUNDED_MONEY:
+                BigDecimal roundedNumber = readDecimal(in);
+                MonetaryContext context = readContext(in, RoundedMoney.DEFAULT_MONETARY_CONTEXT);
+                MonetaryOperator rounding = null;
+                if(in.readBoolean()){
+                    rounding = (MonetaryOperator) in.readObject();
+                }
+                this.amount = RoundedMoney.of(roundedNumber, currency, context, rounding);
+                break;
+            default:
+                throw new StreamCorruptedException("Unknown amount type: " + type);
+        }
+    }
+
+    /**
+     * Returns the amount deserialized.
+     *
+     * @return the amount.
+     */
+    private Object readResolve(){
+        return this.amount;
+    }
+
+    private static void writeCurrency(ObjectOutput out, CurrencyUnit currency) throws IOException{
+        String code = currency.getCurrencyCode();
+        if(MonetaryCurrencies.isCurrencyAvailable(code) && currency.equals(MonetaryCurrencies.getCurrency(code))){
+            out.writeByte(CURRENCY_CODE);
+            out.writeUTF(code);
+        }else{
+            out.writeByte(CURRENCY_OBJECT);
+            out.writeObject(currency);
+        }
+    }
+
+    private static CurrencyUnit readCurrency(ObjectInput in) throws IOException, ClassNotFoundException{
+        byte type = in.readByte();
+        switch(type){
+            case CURRENCY_CODE:
+                return MonetaryCurrencies.getCurrency(in.readUTF());
+            case CURRENCY_OBJECT:
+                return (CurrencyUnit) in.readObject();
+            default:
+                throw new StreamCorruptedException("Unknown currency type: " + type);
+        }
+    }
+
+    private static void writeContext(ObjectOutput out, MonetaryContext context, MonetaryContext defaultContext)
+            throws IOException{
+        if(defaultContext.equals(context)){
+            out.writeBoolean(false);
+        }else{
+            out.writeBoolean(true);
+            out.writeObject(context);
+        }
+    }
+
+    private static MonetaryContext readContext(ObjectInput in, MonetaryContext defaultContext)
+            throws IOException, ClassNotFoundException{
+        if(in.readBoolean()){
+            return (MonetaryContext) in.readObject();
+        }
+        return defaultContext;
+    }
+
+    /**
+     * Writes a decimal as zig-zag encoded scale, combined with a flag, if the unscaled value is written as variable
+     * length long, or as two's complement byte array.
+     */
+    private static void writeDecimal(ObjectOutput out, BigDecimal number) throws IOException{
+        BigInteger unscaled = number.unscaledValue();
+        boolean isLong = unscaled.bitLength() < 64;
+        VarLongs.write(out, ((long) number.scale() << 1) | (isLong ? 0L : 1L));
+        if(isLong){
+            VarLongs.write(out, unscaled.longValue());
+        }else{
+            byte[] bytes = unscaled.toByteArray();
+            VarLongs.write(out, bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static BigDecimal readDecimal(ObjectInput in) throws IOException{
+        long header = VarLongs.read(in);
+        int scale = (int) (header >> 1);
+        if((header & 1L) == 0L){
+            return BigDecimal.valueOf(VarLongs.read(in), scale);
+        }
+        long length = VarLongs.read(in);
+        if(length <= 0 || length > Integer.MAX_VALUE){
+            throw new StreamCorruptedException("Invalid length: " + length);
+        }
+        byte[] bytes = new byte[(int) length];
+        in.readFully(bytes);
+        return new BigDecimal(new BigInteger(bytes), scale);
+    }
+
+}
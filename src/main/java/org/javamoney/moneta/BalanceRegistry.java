@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import org.javamoney.moneta.spi.LongRounding;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe registry of running balances, keyed by account and currency. The balances are kept as scaled longs,
+ * using the scale and overflow semantics of {@link FastMoney}, in cells of shared {@link AtomicLongArray}s, so
+ * updates are performed by compare and set on a long, without creating any amount instances. Neighbouring cells
+ * are assigned to balances created far apart, so balances created together do not share a cache line. Reading a
+ * balance returns a {@link FastMoney} snapshot.
+ * <p/>
+ * Balances are created on their first update and are never removed.
+ *
+ * @param <K> the account key type, must implement {@link Object#equals(Object)} and {@link Object#hashCode()}.
+ * @author Anatole Tresch
+ */
+public final class BalanceRegistry<K>{
+
+    /**
+     * The number of cells of a segment, a power of two.
+     */
+    private static final int SEGMENT_SIZE = 1024;
+
+    /**
+     * The number of longs per cache line.
+     */
+    private static final int LINE_SIZE = 8;
+
+    /**
+     * The cells, by account and currency code.
+     */
+    private final ConcurrentMap<K, ConcurrentMap<String, Cell>> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * The segments holding the balances.
+     */
+    private volatile AtomicLongArray[] segments = new AtomicLongArray[0];
+
+    /**
+     * The number of cells assigned, guarded by this instance.
+     */
+    private int size;
+
+    /**
+     * Evaluates the cell index of the given balance.
+     *
+     * @param account  the account, not null.
+     * @param currency the currency, not null.
+     * @param create   if true, a new cell is assigned, if the balance does not yet exist.
+     * @return the cell index, or -1, if not existing.
+     */
+    private int getIndex(K account, CurrencyUnit currency, boolean create){
+        Objects.requireNonNull(account, "Account is required.");
+        Objects.requireNonNull(currency, "Currency is required.");
+        ConcurrentMap<String, Cell> accountIndexes = indexes.get(account);
+        if(accountIndexes != null){
+            Cell cell = accountIndexes.get(currency.getCurrencyCode());
+            if(cell != null){
+                return cell.index;
+            }
+        }
+        if(!create){
+            return -1;
+        }
+        return createIndex(account, currency);
+    }
+
+    /**
+     * Assigns a new cell to the given balance, if not yet done.
+     *
+     * @param account  the account, not null.
+     * @param currency the currency, not null.
+     * @return the cell index.
+     */
+    private synchronized int createIndex(K account, CurrencyUnit currency){
+        ConcurrentMap<String, Cell> accountIndexes = indexes.get(account);
+        if(accountIndexes == null){
+            accountIndexes = new ConcurrentHashMap<>();
+            indexes.put(account, accountIndexes);
+        }
+        Cell cell = accountIndexes.get(currency.getCurrencyCode());
+        if(cell != null){
+            return cell.index;
+        }
+        int newIndex = size;
+        if(newIndex / SEGMENT_SIZE == segments.length){
+            AtomicLongArray[] newSegments = Arrays.copyOf(segments, segments.length + 1);
+            newSegments[segments.length] = new AtomicLongArray(SEGMENT_SIZE);
+            segments = newSegments;
+        }
+        size++;
+        accountIndexes.put(currency.getCurrencyCode(), new Cell(currency, newIndex));
+        return newIndex;
+    }
+
+    /**
+     * Access the segment of the given cell.
+     */
+    private AtomicLongArray getSegment(int index){
+        return segments[index / SEGMENT_SIZE];
+    }
+
+    /**
+     * Evaluates the position of a cell within its segment, spreading consecutive cells over different cache lines.
+     */
+    private static int getPosition(int index){
+        int offset = index % SEGMENT_SIZE;
+        return (offset % (SEGMENT_SIZE / LINE_SIZE)) * LINE_SIZE + offset / (SEGMENT_SIZE / LINE_SIZE);
+    }
+
+    /**
+     * Access the balance of the given account and currency.
+     *
+     * @param account  the account, not null.
+     * @param currency the currency, not null.
+     * @return the balance, zero if no balance was created yet.
+     */
+    public FastMoney get(K account, CurrencyUnit currency){
+        return FastMoney.ofScaled(getScaled(account, currency), currency);
+    }
+
+    /**
+     * Access the balance of the given account and currency, as scaled long as used by
+     * {@link FastMoney#getScaledNumber()}.
+     *
+     * @param account  the account, not null.
+     * @param currency the currency, not null.
+     * @return the scaled balance, 0 if no balance was created yet.
+     */
+    public long getScaled(K account, CurrencyUnit currency){
+        int index = getIndex(account, currency, false);
+        if(index < 0){
+            return 0L;
+        }
+        return getSegment(index).get(getPosition(index));
+    }
+
+    /**
+     * Atomically adds the given amount to the balance of the given account, in the amount's currency.
+     *
+     * @param account the account, not null.
+     * @param amount  the amount, not null.
+     * @return the updated balance.
+     * @throws ArithmeticException if the amount or the result is not representable as {@link FastMoney}, the
+     *                             balance is not changed in this case.
+     */
+    public FastMoney addAndGet(K account, MonetaryAmount amount){
+        Objects.requireNonNull(amount, "Amount must not be null.");
+        return FastMoney.ofScaled(addAndGetScaled(account, amount.getCurrency(),
+                                                  MonetaryAccumulator.getScaledNumber(amount)),
+                                  amount.getCurrency());
+    }
+
+    /**
+     * Atomically adds the given scaled value to the balance of the given account and currency.
+     *
+     * @param account  the account, not null.
+     * @param currency the currency, not null.
+     * @param scaled   the value to be added, scaled as {@link FastMoney#getScaledNumber()}.
+     * @return the updated scaled balance.
+     * @throws ArithmeticException if the result is not representable as {@link FastMoney}, the balance is not
+     *                             changed in this case.
+     */
+    public long addAndGetScaled(K account, CurrencyUnit currency, long scaled){
+        int index = getIndex(account, currency, true);
+        AtomicLongArray segment = getSegment(index);
+        int position = getPosition(index);
+        while(true){
+            long current = segment.get(position);
+            long updated = LongRounding.addExact(current, scaled);
+            if(segment.compareAndSet(position, current, updated)){
+                return updated;
+            }
+        }
+    }
+
+    /**
+     * Atomically sets the balance of the given account to {@code update}, if it currently equals {@code expected}.
+     *
+     * @param account  the account, not null.
+     * @param expected the expected balance, not null.
+     * @param update   the new balance, in the same currency, not null.
+     * @return true, if the balance was updated.
+     * @throws MonetaryException   if the currencies differ.
+     * @throws ArithmeticException if an amount is not representable as {@link FastMoney}.
+     */
+    public boolean compareAndSet(K account, MonetaryAmount expected, MonetaryAmount update){
+        Objects.requireNonNull(expected, "Expected amount must not be null.");
+        Objects.requireNonNull(update, "Update amount must not be null.");
+        if(!expected.getCurrency().getCurrencyCode().equals(update.getCurrency().getCurrencyCode())){
+            throw new MonetaryException("Currency mismatch: " + expected.getCurrency() + '/' + update.getCurrency());
+        }
+        long expectedScaled = MonetaryAccumulator.getScaledNumber(expected);
+        long updateScaled = MonetaryAccumulator.getScaledNumber(update);
+        int index = getIndex(account, expected.getCurrency(), false);
+        if(index < 0){
+            // no balance yet, so it is zero
+            if(expectedScaled != 0L){
+                return false;
+            }
+            if(updateScaled == 0L){
+                return true;
+            }
+            index = getIndex(account, expected.getCurrency(), true);
+        }
+        return getSegment(index).compareAndSet(getPosition(index), expectedScaled, updateScaled);
+    }
+
+    /**
+     * Access all balances of the given account.
+     *
+     * @param account the account, not null.
+     * @return the balances, by currency, never null.
+     */
+    public Map<CurrencyUnit, FastMoney> getBalances(K account){
+        Objects.requireNonNull(account, "Account is required.");
+        Map<CurrencyUnit, FastMoney> result = new HashMap<>();
+        ConcurrentMap<String, Cell> accountIndexes = indexes.get(account);
+        if(accountIndexes != null){
+            for(Cell cell : accountIndexes.values()){
+                result.put(cell.currency,
+                           FastMoney.ofScaled(getSegment(cell.index).get(getPosition(cell.index)), cell.currency));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Access the accounts with balances.
+     *
+     * @return the accounts, never null.
+     */
+    public Set<K> getAccounts(){
+        return Collections.unmodifiableSet(indexes.keySet());
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString(){
+        return "BalanceRegistry [accounts=" + indexes.size() + ']';
+    }
+
+    /**
+     * The cell of a balance, together with the currency it was created with.
+     */
+    private static final class Cell{
+        private final CurrencyUnit currency;
+        private final int index;
+
+        Cell(CurrencyUnit currency, int index){
+            this.currency = currency;
+            this.index = index;
+        }
+    }
+
+}
@@ -0,0 +1,871 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import org.javamoney.moneta.internal.CompactMoneyAmountFactory;
+import org.javamoney.moneta.spi.AbstractMoney;
+import org.javamoney.moneta.spi.ContextCache;
+import org.javamoney.moneta.spi.DefaultNumberValue;
+import org.javamoney.moneta.spi.LongRounding;
+
+import javax.money.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Immutable implementation of {@link MonetaryAmount} with the same semantics as {@link Money}: arbitrary scale and
+ * exact results for addition, subtraction and multiplication. Different to {@link Money} the numeric value is stored
+ * as <type>long</type> unscaled value plus a scale of at most 18 digits, whenever it fits. Only values not
+ * representable this way are transparently promoted to {@link BigDecimal}. Since most monetary values fit into a
+ * long at their currency's fraction digits, this gives the correctness of {@link BigDecimal} at costs close to
+ * {@link FastMoney} for the common case.
+ * <p/>
+ * The numeric value is normalized on creation: trailing fractional zeros are removed, as done by {@link Money}.
+ * Divisions are rounded using the {@link MathContext} of the {@link MonetaryContext}, by default
+ * {@link MathContext#DECIMAL64}.
+ * <p/>
+ * As required by {@link MonetaryAmount} this class is final, thread-safe, immutable and serializable.
+ *
+ * @author Anatole Tresch
+ */
+public final class CompactMoney extends AbstractMoney implements Comparable<MonetaryAmount>, Serializable{
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The maximal scale kept in compact form.
+     */
+    private static final int MAX_COMPACT_SCALE = 18;
+
+    /**
+     * The maximal number of decimal digits of a long.
+     */
+    private static final int MAX_LONG_DIGITS = 19;
+
+    /**
+     * The default {@link MonetaryContext} applied, if not set explicitly on creation.
+     */
+    public static final MonetaryContext DEFAULT_MONETARY_CONTEXT = ContextCache.intern(
+            new MonetaryContext.Builder(CompactMoney.class).setPrecision(0).setMaxScale(-1)
+                    .setObject(RoundingMode.HALF_EVEN).setObject(MathContext.DECIMAL64)
+                    .setFlavor(AmountFlavor.PRECISION).build());
+
+    /**
+     * The {@link MathContext} used for divisions with {@link #DEFAULT_MONETARY_CONTEXT}.
+     */
+    private static final MathContext DEFAULT_MATH_CONTEXT = MathContext.DECIMAL64;
+
+    /**
+     * The unscaled value, valid if {@link #number} is null.
+     */
+    private final long unscaled;
+
+    /**
+     * The scale of {@link #unscaled}, 0 to 18.
+     */
+    private final byte scale;
+
+    /**
+     * The numeric value, if it is not representable in compact form, else null.
+     */
+    private final BigDecimal number;
+
+    /**
+     * The number value, created lazily.
+     */
+    private transient NumberValue numberValue;
+
+    /**
+     * Creates a new instance, the values passed must be normalized already.
+     *
+     * @param unscaled        the unscaled value, used if number is null.
+     * @param scale           the scale, 0 to 18.
+     * @param number          the promoted number, or null.
+     * @param currency        the currency, not null.
+     * @param monetaryContext the {@link MonetaryContext}, if null the default is used.
+     */
+    private CompactMoney(long unscaled, int scale, BigDecimal number, CurrencyUnit currency,
+                         MonetaryContext monetaryContext){
+        super(currency, monetaryContext);
+        this.unscaled = unscaled;
+        this.scale = (byte) scale;
+        this.number = number;
+    }
+
+    /**
+     * Creates a new instance from an unscaled value, normalizing it.
+     *
+     * @param unscaled        the unscaled value.
+     * @param scale           the scale.
+     * @param currency        the currency, not null.
+     * @param monetaryContext the {@link MonetaryContext}, if null the default is used.
+     * @return the new instance.
+     */
+    private static CompactMoney create(long unscaled, int scale, CurrencyUnit currency,
+                                       MonetaryContext monetaryContext){
+        if(unscaled == 0L){
+            return new CompactMoney(0L, 0, null, currency, monetaryContext);
+        }
+        while(scale > 0 && unscaled % 10L == 0L){
+            unscaled /= 10L;
+            scale--;
+        }
+        if(scale < 0){
+            if(-scale <= MAX_COMPACT_SCALE){
+                long factor = LongRounding.powerOfTen(-scale);
+                long result = unscaled * factor;
+                if(result / factor == unscaled){
+                    return new CompactMoney(result, 0, null, currency, monetaryContext);
+                }
+            }
+            return create(BigDecimal.valueOf(unscaled, scale), currency, monetaryContext);
+        }
+        if(scale > MAX_COMPACT_SCALE){
+            return create(BigDecimal.valueOf(unscaled, scale), currency, monetaryContext);
+        }
+        return new CompactMoney(unscaled, scale, null, currency, monetaryContext);
+    }
+
+    /**
+     * Creates a new instance from a {@link BigDecimal}, normalizing it and using the compact form, if possible.
+     *
+     * @param number          the number, not null.
+     * @param currency        the currency, not null.
+     * @param monetaryContext the {@link MonetaryContext}, if null the default is used.
+     * @return the new instance.
+     */
+    private static CompactMoney create(BigDecimal number, CurrencyUnit currency, MonetaryContext monetaryContext){
+        Objects.requireNonNull(number, "Number is required.");
+        if(number.signum() == 0){
+            return new CompactMoney(0L, 0, null, currency, monetaryContext);
+        }
+        if(number.scale() > 0){
+            number = number.stripTrailingZeros();
+        }
+        if(number.scale() < 0){
+            number = number.setScale(0);
+        }
+        if(number.scale() <= MAX_COMPACT_SCALE && number.precision() <= MAX_LONG_DIGITS){
+            BigInteger unscaledValue = number.unscaledValue();
+            if(unscaledValue.bitLength() < Long.SIZE){
+                return new CompactMoney(unscaledValue.longValue(), number.scale(), null, currency, monetaryContext);
+            }
+        }
+        return new CompactMoney(0L, 0, number, currency, monetaryContext);
+    }
+
+    /**
+     * Creates a new instance with the currency and {@link MonetaryContext} of this instance.
+     */
+    private CompactMoney create(long unscaled, int scale){
+        return create(unscaled, scale, getCurrency(), this.monetaryContext);
+    }
+
+    /**
+     * Creates a new instance with the currency and {@link MonetaryContext} of this instance.
+     */
+    private CompactMoney create(BigDecimal number){
+        return create(number, getCurrency(), this.monetaryContext);
+    }
+
+    /**
+     * Static factory method for creating a new instance of {@link CompactMoney}.
+     *
+     * @param number   The numeric part, not null.
+     * @param currency The target currency, not null.
+     * @return A new instance of {@link CompactMoney}.
+     */
+    public static CompactMoney of(BigDecimal number, CurrencyUnit currency){
+        return create(number, currency, null);
+    }
+
+    /**
+     * Static factory method for creating a new instance of {@link CompactMoney}.
+     *
+     * @param number   The numeric part, not null.
+     * @param currency The target currency, not null.
+     * @return A new instance of {@link CompactMoney}.
+     */
+    public static CompactMoney of(Number number, CurrencyUnit currency){
+        return of(number, currency, null);
+    }
+
+    /**
+     * Static factory method for creating a new instance of {@link CompactMoney}.
+     *
+     * @param number          The numeric part, not null.
+     * @param currency        The target currency, not null.
+     * @param monetaryContext the {@link MonetaryContext} to be used, if {@code null} the default
+     *                        {@link MonetaryContext} is used.
+     * @return A new instance of {@link CompactMoney}.
+     */
+    public static CompactMoney of(Number number, CurrencyUnit currency, MonetaryContext monetaryContext){
+        checkNumberParameter(number);
+        monetaryContext = ContextCache.intern(monetaryContext);
+        Class<?> type = number.getClass();
+        if(type == Long.class || type == Integer.class || type == Short.class || type == Byte.class){
+            return create(number.longValue(), 0, currency, monetaryContext);
+        }
+        return create(getBigDecimal(number), currency, monetaryContext);
+    }
+
+    /**
+     * Static factory method for creating a new instance of {@link CompactMoney}.
+     *
+     * @param number       The numeric part, not null.
+     * @param currencyCode The target currency as currency code.
+     * @return A new instance of {@link CompactMoney}.
+     */
+    public static CompactMoney of(Number number, String currencyCode){
+        return of(number, MonetaryCurrencies.getCurrency(currencyCode));
+    }
+
+    /**
+     * Static factory method for creating a new instance of {@link CompactMoney} from its unscaled value and scale,
+     * without creating any intermediate objects.
+     *
+     * @param unscaled The unscaled numeric value.
+     * @param scale    The scale, the numeric value is {@code unscaled * 10^-scale}.
+     * @param currency The target currency, not null.
+     * @return A new instance of {@link CompactMoney}.
+     */
+    public static CompactMoney ofUnscaled(long unscaled, int scale, CurrencyUnit currency){
+        return create(unscaled, scale, currency, null);
+    }
+
+    /**
+     * Converts (if necessary) the given {@link MonetaryAmount} to a {@link CompactMoney} instance.
+     *
+     * @param amount the amount to be converted
+     * @return an according {@link CompactMoney} instance.
+     */
+    public static CompactMoney from(MonetaryAmount amount){
+        if(amount.getClass() == CompactMoney.class){
+            return (CompactMoney) amount;
+        }
+        if(amount.getClass() == FastMoney.class){
+            return create(((FastMoney) amount).getScaledNumber(), 5, amount.getCurrency(), null);
+        }
+        return create(amount.getNumber().numberValue(BigDecimal.class), amount.getCurrency(), null);
+    }
+
+    /**
+     * Checks if the numeric value is held in compact form.
+     *
+     * @return true, if the numeric value is represented by a long unscaled value and a scale of at most 18.
+     */
+    public boolean isCompact(){
+        return this.number == null;
+    }
+
+    /**
+     * Access the unscaled value of the compact representation.
+     *
+     * @return the unscaled value.
+     * @throws ArithmeticException if the value is not in compact form.
+     * @see #isCompact()
+     */
+    public long getUnscaledValue(){
+        if(this.number != null){
+            throw new ArithmeticException("Value not representable as long: " + this.number);
+        }
+        return this.unscaled;
+    }
+
+    /**
+     * Access the scale of the numeric value.
+     *
+     * @return the scale, which is always positive or zero.
+     */
+    public int getScale(){
+        if(this.number != null){
+            return this.number.scale();
+        }
+        return this.scale;
+    }
+
+    /**
+     * Access the numeric value as {@link BigDecimal}.
+     *
+     * @return the numeric value, never null.
+     */
+    private BigDecimal getBigDecimal(){
+        if(this.number != null){
+            return this.number;
+        }
+        return BigDecimal.valueOf(this.unscaled, this.scale);
+    }
+
+    /**
+     * Access the numeric value of the given amount as {@link BigDecimal}.
+     */
+    private static BigDecimal getBigDecimal(MonetaryAmount amount){
+        if(amount.getClass() == CompactMoney.class){
+            return ((CompactMoney) amount).getBigDecimal();
+        }
+        return amount.getNumber().numberValue(BigDecimal.class);
+    }
+
+    /**
+     * Evaluates the {@link MathContext} to be used for divisions.
+     */
+    private MathContext getDivisionContext(){
+        if(this.monetaryContext == DEFAULT_MONETARY_CONTEXT){
+            return DEFAULT_MATH_CONTEXT;
+        }
+        MathContext mathContext = getMathContext(this.monetaryContext, RoundingMode.HALF_EVEN);
+        if(mathContext.getPrecision() == 0){
+            return new MathContext(DEFAULT_MATH_CONTEXT.getPrecision(), mathContext.getRoundingMode());
+        }
+        return mathContext;
+    }
+
+    /**
+     * Adds the given compact values, aligning their scales.
+     *
+     * @throws ArithmeticException on overflow.
+     */
+    private CompactMoney addCompact(long otherUnscaled, int otherScale){
+        int resultScale = Math.max(this.scale, otherScale);
+        long a = LongRounding.multiplyExact(this.unscaled, LongRounding.powerOfTen(resultScale - this.scale));
+        long b = LongRounding.multiplyExact(otherUnscaled, LongRounding.powerOfTen(resultScale - otherScale));
+        return create(LongRounding.addExact(a, b), resultScale);
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#add(javax.money.MonetaryAmount)
+     */
+    @Override
+    public CompactMoney add(MonetaryAmount amount){
+        checkAmountParameter(amount);
+        if(amount.isZero()){
+            return this;
+        }
+        if(this.number == null && amount.getClass() == CompactMoney.class){
+            CompactMoney other = (CompactMoney) amount;
+            if(other.number == null){
+                try{
+                    return addCompact(other.unscaled, other.scale);
+                }
+                catch(ArithmeticException e){
+                    // overflow, promote to BigDecimal below
+                }
+            }
+        }
+        return create(getBigDecimal().add(getBigDecimal(amount)));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#subtract(javax.money.MonetaryAmount)
+     */
+    @Override
+    public CompactMoney subtract(MonetaryAmount amount){
+        checkAmountParameter(amount);
+        if(amount.isZero()){
+            return this;
+        }
+        if(this.number == null && amount.getClass() == CompactMoney.class){
+            CompactMoney other = (CompactMoney) amount;
+            if(other.number == null && other.unscaled != Long.MIN_VALUE){
+                try{
+                    return addCompact(-other.unscaled, other.scale);
+                }
+                catch(ArithmeticException e){
+                    // overflow, promote to BigDecimal below
+                }
+            }
+        }
+        return create(getBigDecimal().subtract(getBigDecimal(amount)));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#multiply(long)
+     */
+    @Override
+    public CompactMoney multiply(long multiplicand){
+        if(multiplicand == 1L){
+            return this;
+        }
+        if(this.number == null){
+            try{
+                return create(LongRounding.multiplyExact(this.unscaled, multiplicand), this.scale);
+            }
+            catch(ArithmeticException e){
+                // overflow, promote to BigDecimal below
+            }
+        }
+        return create(getBigDecimal().multiply(BigDecimal.valueOf(multiplicand)));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#multiply(double)
+     */
+    @Override
+    public CompactMoney multiply(double multiplicand){
+        if(multiplicand == 1.0d){
+            return this;
+        }
+        return multiply(getBigDecimal(multiplicand));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#multiply(java.lang.Number)
+     */
+    @Override
+    public CompactMoney multiply(Number multiplicand){
+        BigDecimal bd = getBigDecimal(multiplicand);
+        if(this.number == null && bd.scale() >= 0 && bd.precision() <= MAX_COMPACT_SCALE &&
+                this.scale + bd.scale() <= MAX_COMPACT_SCALE){
+            try{
+                return create(LongRounding.multiplyExact(this.unscaled, bd.unscaledValue().longValue()), this.scale + bd.scale());
+            }
+            catch(ArithmeticException e){
+                // overflow, promote to BigDecimal below
+            }
+        }
+        return create(getBigDecimal().multiply(bd));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#divide(long)
+     */
+    @Override
+    public CompactMoney divide(long divisor){
+        if(divisor == 1L){
+            return this;
+        }
+        return divide(BigDecimal.valueOf(divisor));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#divide(double)
+     */
+    @Override
+    public CompactMoney divide(double divisor){
+        if(divisor == 1.0d){
+            return this;
+        }
+        return divide(getBigDecimal(divisor));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#divide(java.lang.Number)
+     */
+    @Override
+    public CompactMoney divide(Number divisor){
+        BigDecimal bd = getBigDecimal(divisor);
+        if(bd.compareTo(BigDecimal.ONE) == 0){
+            return this;
+        }
+        return create(getBigDecimal().divide(bd, getDivisionContext()));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#divideAndRemainder(long)
+     */
+    @Override
+    public CompactMoney[] divideAndRemainder(long divisor){
+        return divideAndRemainder(BigDecimal.valueOf(divisor));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#divideAndRemainder(double)
+     */
+    @Override
+    public CompactMoney[] divideAndRemainder(double divisor){
+        return divideAndRemainder(getBigDecimal(divisor));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#divideAndRemainder(java.lang.Number)
+     */
+    @Override
+    public CompactMoney[] divideAndRemainder(Number divisor){
+        BigDecimal[] result = getBigDecimal().divideAndRemainder(getBigDecimal(divisor));
+        return new CompactMoney[]{create(result[0]), create(result[1])};
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#divideToIntegralValue(long)
+     */
+    @Override
+    public CompactMoney divideToIntegralValue(long divisor){
+        if(divisor == 1L && this.scale == 0 && this.number == null){
+            return this;
+        }
+        return divideToIntegralValue(BigDecimal.valueOf(divisor));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#divideToIntegralValue(double)
+     */
+    @Override
+    public CompactMoney divideToIntegralValue(double divisor){
+        return divideToIntegralValue(getBigDecimal(divisor));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#divideToIntegralValue(java.lang.Number)
+     */
+    @Override
+    public CompactMoney divideToIntegralValue(Number divisor){
+        return create(getBigDecimal().divideToIntegralValue(getBigDecimal(divisor)));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#remainder(long)
+     */
+    @Override
+    public CompactMoney remainder(long divisor){
+        if(this.number == null && this.scale == 0 && divisor != 0L){
+            return create(this.unscaled % divisor, 0);
+        }
+        return remainder(BigDecimal.valueOf(divisor));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#remainder(double)
+     */
+    @Override
+    public CompactMoney remainder(double divisor){
+        return remainder(getBigDecimal(divisor));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#remainder(java.lang.Number)
+     */
+    @Override
+    public CompactMoney remainder(Number divisor){
+        return create(getBigDecimal().remainder(getBigDecimal(divisor)));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#scaleByPowerOfTen(int)
+     */
+    @Override
+    public CompactMoney scaleByPowerOfTen(int n){
+        if(n == 0){
+            return this;
+        }
+        if(this.number == null){
+            return create(this.unscaled, this.scale - n);
+        }
+        return create(this.number.scaleByPowerOfTen(n));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#abs()
+     */
+    @Override
+    public CompactMoney abs(){
+        if(isPositiveOrZero()){
+            return this;
+        }
+        return negate();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#negate()
+     */
+    @Override
+    public CompactMoney negate(){
+        if(this.number == null && this.unscaled != Long.MIN_VALUE){
+            return new CompactMoney(-this.unscaled, this.scale, null, getCurrency(), this.monetaryContext);
+        }
+        return create(getBigDecimal().negate());
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#plus()
+     */
+    @Override
+    public CompactMoney plus(){
+        return this;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#stripTrailingZeros()
+     */
+    @Override
+    public CompactMoney stripTrailingZeros(){
+        // the numeric value is always normalized
+        return this;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#signum()
+     */
+    @Override
+    public int signum(){
+        if(this.number != null){
+            return this.number.signum();
+        }
+        return Long.signum(this.unscaled);
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#isZero()
+     */
+    @Override
+    public boolean isZero(){
+        return signum() == 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#isPositive()
+     */
+    @Override
+    public boolean isPositive(){
+        return signum() > 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#isPositiveOrZero()
+     */
+    @Override
+    public boolean isPositiveOrZero(){
+        return signum() >= 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#isNegative()
+     */
+    @Override
+    public boolean isNegative(){
+        return signum() < 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#isNegativeOrZero()
+     */
+    @Override
+    public boolean isNegativeOrZero(){
+        return signum() <= 0;
+    }
+
+    /**
+     * Compares the numeric value with the one of the given amount, ignoring the currency.
+     */
+    private int compareNumber(MonetaryAmount amount){
+        if(this.number == null && amount.getClass() == CompactMoney.class){
+            CompactMoney other = (CompactMoney) amount;
+            if(other.number == null && other.scale == this.scale){
+                return Long.compare(this.unscaled, other.unscaled);
+            }
+        }
+        return getBigDecimal().compareTo(getBigDecimal(amount));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#isLessThan(javax.money.MonetaryAmount)
+     */
+    @Override
+    public boolean isLessThan(MonetaryAmount amount){
+        checkAmountParameter(amount);
+        return compareNumber(amount) < 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#isLessThanOrEqualTo(javax.money.MonetaryAmount)
+     */
+    @Override
+    public boolean isLessThanOrEqualTo(MonetaryAmount amount){
+        checkAmountParameter(amount);
+        return compareNumber(amount) <= 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#isGreaterThan(javax.money.MonetaryAmount)
+     */
+    @Override
+    public boolean isGreaterThan(MonetaryAmount amount){
+        checkAmountParameter(amount);
+        return compareNumber(amount) > 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#isGreaterThanOrEqualTo(javax.money.MonetaryAmount)
+     */
+    @Override
+    public boolean isGreaterThanOrEqualTo(MonetaryAmount amount){
+        checkAmountParameter(amount);
+        return compareNumber(amount) >= 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#isEqualTo(javax.money.MonetaryAmount)
+     */
+    @Override
+    public boolean isEqualTo(MonetaryAmount amount){
+        checkAmountParameter(amount);
+        return compareNumber(amount) == 0;
+    }
+
+    /*
+     * @see java.lang.Comparable#compareTo(java.lang.Object)
+     */
+    @Override
+    public int compareTo(MonetaryAmount o){
+        Objects.requireNonNull(o);
+        int compare = getCurrency().getCurrencyCode().compareTo(o.getCurrency().getCurrencyCode());
+        if(compare == 0){
+            compare = compareNumber(o);
+        }
+        return compare;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#getNumber()
+     */
+    @Override
+    public NumberValue getNumber(){
+        NumberValue value = this.numberValue;
+        if(value == null){
+            value = new DefaultNumberValue(getBigDecimal());
+            this.numberValue = value;
+        }
+        return value;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#query(javax.money.MonetaryQuery)
+     */
+    @Override
+    public <R> R query(MonetaryQuery<R> query){
+        Objects.requireNonNull(query);
+        try{
+            return query.queryFrom(this);
+        }
+        catch(Exception e){
+            throw new MonetaryException("Query failed: " + query, e);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#with(javax.money.MonetaryOperator)
+     */
+    @Override
+    public CompactMoney with(MonetaryOperator operator){
+        Objects.requireNonNull(operator);
+        try{
+            return CompactMoney.from(operator.apply(this));
+        }
+        catch(Exception e){
+            throw new MonetaryException("Operator failed: " + operator, e);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmount#getFactory()
+     */
+    @Override
+    public MonetaryAmountFactory<CompactMoney> getFactory(){
+        return new CompactMoneyAmountFactory().setAmount(this);
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.javamoney.moneta.spi.AbstractMoney#getDefaultMonetaryContext()
+     */
+    @Override
+    protected MonetaryContext getDefaultMonetaryContext(){
+        return DEFAULT_MONETARY_CONTEXT;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals(Object obj){
+        if(this == obj){
+            return true;
+        }
+        if(obj == null || getClass() != obj.getClass()){
+            return false;
+        }
+        CompactMoney other = (CompactMoney) obj;
+        if(!getCurrency().equals(other.getCurrency())){
+            return false;
+        }
+        // values are normalized, so compact and promoted values are never equal
+        if(this.number == null){
+            return other.number == null && this.unscaled == other.unscaled && this.scale == other.scale;
+        }
+        return this.number.equals(other.number);
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode(){
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + getCurrency().hashCode();
+        if(this.number == null){
+            result = prime * result + (int) (this.unscaled ^ (this.unscaled >>> 32));
+            return prime * result + this.scale;
+        }
+        return prime * result + this.number.hashCode();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString(){
+        return getCurrency().getCurrencyCode() + ' ' + getBigDecimal().toString();
+    }
+
+}
@@ -12,6 +12,7 @@ package org.javamoney.moneta;
 
 import org.javamoney.moneta.internal.FastMoneyAmountFactory;
 import org.javamoney.moneta.spi.AbstractMoney;
+import org.javamoney.moneta.spi.ContextCache;
 import org.javamoney.moneta.spi.DefaultNumberValue;
 
 import javax.money.*;
@@ -91,9 +92,9 @@ public final class FastMoney extends AbstractMoney implements Comparable<Monetar
     /**
      * the {@link MonetaryContext} used by this instance, e.g. on division.
      */
-    private static final MonetaryContext MONETARY_CONTEXT =
+    private static final MonetaryContext MONETARY_CONTEXT = ContextCache.intern(
             new MonetaryContext.Builder(FastMoney.class).setFlavor(AmountFlavor.PERFORMANCE).setMaxScale(SCALE)
-                    .setFixedScale(true).setPrecision(14).build();
+                    .setFixedScale(true).setPrecision(14).build());
 
     /**
      * Maximum possible value supported, using XX (no currency).
@@ -197,6 +198,32 @@ public final class FastMoney extends AbstractMoney implements Comparable<Monetar
         return of(number, currency);
     }
 
+    /**
+     * Static factory method for creating a new instance of {@link FastMoney} from its internal
+     * representation, which is the numeric value multiplied by 10^5 (the scale of this class).
+     * No rounding or conversion is performed, so this is the cheapest way of creating an instance.
+     *
+     * @param scaledNumber The numeric part, multiplied by 10^5.
+     * @param currency     The target currency, not null.
+     * @return A new instance of {@link FastMoney}.
+     * @see #getScaledNumber()
+     */
+    public static FastMoney ofScaled(long scaledNumber, CurrencyUnit currency){
+        return new FastMoney(scaledNumber, currency);
+    }
+
+    /**
+     * Access the internal representation of the numeric value, which is the numeric value
+     * multiplied by 10^5 (the scale of this class). This allows calculating on the long value
+     * without creating any intermediate objects.
+     *
+     * @return the numeric value, multiplied by 10^5.
+     * @see #ofScaled(long, CurrencyUnit)
+     */
+    public long getScaledNumber(){
+        return this.number;
+    }
+
     /*
      * @see java.lang.Comparable#compareTo(java.lang.Object)
      */
@@ -741,4 +768,13 @@ public final class FastMoney extends AbstractMoney implements Comparable<Monetar
         return new FastMoneyAmountFactory().setAmount(this);
     }
 
+    /**
+     * Serializes this instance in its compact form.
+     *
+     * @see AmountSerializationProxy
+     */
+    private Object writeReplace(){
+        return new AmountSerializationProxy(this);
+    }
+
 }
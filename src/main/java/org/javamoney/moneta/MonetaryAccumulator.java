@@ -0,0 +1,428 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import org.javamoney.moneta.spi.LongRounding;
+
+import javax.money.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Objects;
+
+/**
+ * Mutable accumulator for summing up {@link MonetaryAmount}s of one currency, without creating a new amount
+ * instance for each operation. This is useful for hot aggregation loops, e.g.
+ * <p/>
+ * <pre>
+ * MonetaryAccumulator&lt;FastMoney&gt; sum = MonetaryAccumulator.ofFastMoney(currency);
+ * for(FastMoney amount : amounts){
+ *     sum.add(amount);
+ * }
+ * FastMoney total = sum.toAmount();
+ * </pre>
+ * <p/>
+ * The accumulators returned by {@link #ofFastMoney(CurrencyUnit)} work on the scaled long representation of
+ * {@link FastMoney} and fail with an {@link ArithmeticException} on overflow. The accumulators returned by
+ * {@link #ofMoney(CurrencyUnit)} keep an unscaled long and switch to {@link BigDecimal}, when the value is not
+ * representable as long anymore, the {@link MonetaryContext} is only applied when calling {@link #toAmount()}.
+ * <p/>
+ * These instances are mutable and not thread-safe, use {@link StripedMonetaryAccumulator} for accumulating
+ * concurrently.
+ *
+ * @param <T> the amount type created by {@link #toAmount()}.
+ * @author Anatole Tresch
+ */
+public abstract class MonetaryAccumulator<T extends MonetaryAmount>{
+
+    /**
+     * The scale of {@link FastMoney}.
+     */
+    static final int FAST_MONEY_SCALE = 5;
+
+    /**
+     * The currency accumulated.
+     */
+    private final CurrencyUnit currency;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param currency the currency, not null.
+     */
+    MonetaryAccumulator(CurrencyUnit currency){
+        Objects.requireNonNull(currency, "Currency is required.");
+        this.currency = currency;
+    }
+
+    /**
+     * Creates a new accumulator, summing up on the scaled long representation of {@link FastMoney}.
+     *
+     * @param currency the currency, not null.
+     * @return a new accumulator, with value zero.
+     */
+    public static MonetaryAccumulator<FastMoney> ofFastMoney(CurrencyUnit currency){
+        return new FastMoneyAccumulator(currency);
+    }
+
+    /**
+     * Creates a new accumulator, summing up exactly and creating {@link Money} instances with the default
+     * {@link MonetaryContext}.
+     *
+     * @param currency the currency, not null.
+     * @return a new accumulator, with value zero.
+     */
+    public static MonetaryAccumulator<Money> ofMoney(CurrencyUnit currency){
+        return new MoneyAccumulator(currency, null);
+    }
+
+    /**
+     * Creates a new accumulator, summing up exactly and creating {@link Money} instances with the given
+     * {@link MonetaryContext}.
+     *
+     * @param currency        the currency, not null.
+     * @param monetaryContext the {@link MonetaryContext} used for the amounts created, not null.
+     * @return a new accumulator, with value zero.
+     */
+    public static MonetaryAccumulator<Money> ofMoney(CurrencyUnit currency, MonetaryContext monetaryContext){
+        Objects.requireNonNull(monetaryContext, "MonetaryContext is required.");
+        return new MoneyAccumulator(currency, monetaryContext);
+    }
+
+    /**
+     * Access the currency accumulated.
+     *
+     * @return the currency, never null.
+     */
+    public CurrencyUnit getCurrency(){
+        return currency;
+    }
+
+    /**
+     * Adds the given amount.
+     *
+     * @param amount the amount, with the same currency, not null.
+     * @return this instance, for chaining.
+     * @throws MonetaryException   if the currency is not compatible.
+     * @throws ArithmeticException if the value is not representable by this accumulator.
+     */
+    public abstract MonetaryAccumulator<T> add(MonetaryAmount amount);
+
+    /**
+     * Subtracts the given amount.
+     *
+     * @param amount the amount, with the same currency, not null.
+     * @return this instance, for chaining.
+     * @throws MonetaryException   if the currency is not compatible.
+     * @throws ArithmeticException if the value is not representable by this accumulator.
+     */
+    public abstract MonetaryAccumulator<T> subtract(MonetaryAmount amount);
+
+    /**
+     * Adds the given amount multiplied by the given factor, e.g. a price multiplied by a quantity.
+     *
+     * @param amount the amount, with the same currency, not null.
+     * @param factor the factor.
+     * @return this instance, for chaining.
+     * @throws MonetaryException   if the currency is not compatible.
+     * @throws ArithmeticException if the value is not representable by this accumulator.
+     */
+    public abstract MonetaryAccumulator<T> multiplyAdd(MonetaryAmount amount, long factor);
+
+    /**
+     * Adds the given amount multiplied by the given factor.
+     *
+     * @param amount the amount, with the same currency, not null.
+     * @param factor the factor, not null.
+     * @return this instance, for chaining.
+     * @throws MonetaryException   if the currency is not compatible.
+     * @throws ArithmeticException if the value is not representable by this accumulator.
+     */
+    public abstract MonetaryAccumulator<T> multiplyAdd(MonetaryAmount amount, Number factor);
+
+    /**
+     * Resets the value to zero.
+     *
+     * @return this instance, for chaining.
+     */
+    public abstract MonetaryAccumulator<T> reset();
+
+    /**
+     * Creates an amount with the current value.
+     *
+     * @return the amount, never null.
+     */
+    public abstract T toAmount();
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString(){
+        return getClass().getSimpleName() + " [" + toAmount() + ']';
+    }
+
+    /**
+     * Checks the currency of the given amount.
+     *
+     * @param amount the amount, not null.
+     * @throws MonetaryException if the currency is not compatible.
+     */
+    final void checkAmount(MonetaryAmount amount){
+        Objects.requireNonNull(amount, "Amount must not be null.");
+        if(!this.currency.getCurrencyCode().equals(amount.getCurrency().getCurrencyCode())){
+            throw new MonetaryException("Currency mismatch: " + this.currency + '/' + amount.getCurrency());
+        }
+    }
+
+    /**
+     * Converts a number into a {@link BigDecimal}.
+     *
+     * @param number the number, not null.
+     * @return the corresponding {@link BigDecimal}.
+     */
+    static BigDecimal getBigDecimal(Number number){
+        Objects.requireNonNull(number, "Number is required.");
+        if(number instanceof BigDecimal){
+            return (BigDecimal) number;
+        }
+        if(number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte){
+            return BigDecimal.valueOf(number.longValue());
+        }
+        if(number instanceof BigInteger){
+            return new BigDecimal((BigInteger) number);
+        }
+        if(number instanceof NumberValue){
+            return ((NumberValue) number).numberValue(BigDecimal.class);
+        }
+        return new BigDecimal(number.toString());
+    }
+
+    /**
+     * Evaluates the scaled long representation, as used by {@link FastMoney}, of the given amount.
+     *
+     * @param amount the amount, not null.
+     * @return the amount's number, multiplied by 10^5.
+     * @throws ArithmeticException if the number has a larger scale, or is out of range.
+     */
+    static long getScaledNumber(MonetaryAmount amount){
+        if(amount.getClass() == FastMoney.class){
+            return ((FastMoney) amount).getScaledNumber();
+        }
+        BigDecimal number = amount.getNumber().numberValue(BigDecimal.class);
+        if(number.scale() > FAST_MONEY_SCALE){
+            number = number.stripTrailingZeros();
+            if(number.scale() > FAST_MONEY_SCALE){
+                throw new ArithmeticException(number + " can not be represented, scale > " + FAST_MONEY_SCALE);
+            }
+        }
+        return number.movePointRight(FAST_MONEY_SCALE).longValueExact();
+    }
+
+    /**
+     * Evaluates the scaled long representation of the given amount multiplied by the given factor.
+     *
+     * @param amount the amount, not null.
+     * @param factor the factor, not null.
+     * @return the product's number, multiplied by 10^5.
+     * @throws ArithmeticException if the product has a larger scale, or is out of range.
+     */
+    static long getScaledProduct(MonetaryAmount amount, Number factor){
+        BigDecimal product =
+                BigDecimal.valueOf(getScaledNumber(amount)).multiply(getBigDecimal(factor)).stripTrailingZeros();
+        if(product.scale() > 0){
+            throw new ArithmeticException(
+                    product.movePointLeft(FAST_MONEY_SCALE) + " can not be represented, scale > " +
+                            FAST_MONEY_SCALE);
+        }
+        return product.longValueExact();
+    }
+
+    /**
+     * Accumulator on the scaled long representation of {@link FastMoney}.
+     */
+    private static final class FastMoneyAccumulator extends MonetaryAccumulator<FastMoney>{
+
+        private long value;
+
+        FastMoneyAccumulator(CurrencyUnit currency){
+            super(currency);
+        }
+
+        @Override
+        public MonetaryAccumulator<FastMoney> add(MonetaryAmount amount){
+            checkAmount(amount);
+            this.value = LongRounding.addExact(this.value, getScaledNumber(amount));
+            return this;
+        }
+
+        @Override
+        public MonetaryAccumulator<FastMoney> subtract(MonetaryAmount amount){
+            checkAmount(amount);
+            long scaled = getScaledNumber(amount);
+            if(scaled == Long.MIN_VALUE){
+                throw new ArithmeticException("Overflow: " + this.value + " - " + scaled);
+            }
+            this.value = LongRounding.addExact(this.value, -scaled);
+            return this;
+        }
+
+        @Override
+        public MonetaryAccumulator<FastMoney> multiplyAdd(MonetaryAmount amount, long factor){
+            checkAmount(amount);
+            this.value = LongRounding.addExact(this.value, LongRounding.multiplyExact(getScaledNumber(amount), factor));
+            return this;
+        }
+
+        @Override
+        public MonetaryAccumulator<FastMoney> multiplyAdd(MonetaryAmount amount, Number factor){
+            checkAmount(amount);
+            this.value = LongRounding.addExact(this.value, getScaledProduct(amount, factor));
+            return this;
+        }
+
+        @Override
+        public MonetaryAccumulator<FastMoney> reset(){
+            this.value = 0L;
+            return this;
+        }
+
+        @Override
+        public FastMoney toAmount(){
+            return FastMoney.ofScaled(this.value, getCurrency());
+        }
+    }
+
+    /**
+     * Accumulator using an unscaled long value, switching to {@link BigDecimal} if required.
+     */
+    private static final class MoneyAccumulator extends MonetaryAccumulator<Money>{
+
+        private final MonetaryContext monetaryContext;
+        private long unscaled;
+        private int scale;
+        /**
+         * The value, if not representable by {@link #unscaled} and {@link #scale}, else null.
+         */
+        private BigDecimal value;
+
+        MoneyAccumulator(CurrencyUnit currency, MonetaryContext monetaryContext){
+            super(currency);
+            this.monetaryContext = monetaryContext;
+        }
+
+        /**
+         * Adds the given unscaled value, switching to {@link BigDecimal} if the result is not representable.
+         */
+        private void add(long otherUnscaled, int otherScale){
+            if(this.value == null && otherScale >= 0){
+                try{
+                    int resultScale = Math.max(this.scale, otherScale);
+                    long a = LongRounding
+                            .multiplyExact(this.unscaled, LongRounding.powerOfTen(resultScale - this.scale));
+                    long b = LongRounding
+                            .multiplyExact(otherUnscaled, LongRounding.powerOfTen(resultScale - otherScale));
+                    this.unscaled = LongRounding.addExact(a, b);
+                    this.scale = resultScale;
+                    return;
+                }
+                catch(ArithmeticException e){
+                    // not representable as long, continue with BigDecimal
+                }
+            }
+            promote();
+            this.value = this.value.add(BigDecimal.valueOf(otherUnscaled, otherScale));
+        }
+
+        private void add(BigDecimal number){
+            if(this.value == null && number.scale() >= 0 && number.precision() <= 18){
+                add(number.unscaledValue().longValue(), number.scale());
+                return;
+            }
+            promote();
+            this.value = this.value.add(number);
+        }
+
+        /**
+         * Switches to the {@link BigDecimal} representation.
+         */
+        private void promote(){
+            if(this.value == null){
+                this.value = BigDecimal.valueOf(this.unscaled, this.scale);
+            }
+        }
+
+        @Override
+        public MonetaryAccumulator<Money> add(MonetaryAmount amount){
+            checkAmount(amount);
+            if(amount.getClass() == FastMoney.class){
+                add(((FastMoney) amount).getScaledNumber(), FAST_MONEY_SCALE);
+            }else{
+                add(amount.getNumber().numberValue(BigDecimal.class));
+            }
+            return this;
+        }
+
+        @Override
+        public MonetaryAccumulator<Money> subtract(MonetaryAmount amount){
+            checkAmount(amount);
+            if(amount.getClass() == FastMoney.class && ((FastMoney) amount).getScaledNumber() != Long.MIN_VALUE){
+                add(-((FastMoney) amount).getScaledNumber(), FAST_MONEY_SCALE);
+            }else{
+                add(amount.getNumber().numberValue(BigDecimal.class).negate());
+            }
+            return this;
+        }
+
+        @Override
+        public MonetaryAccumulator<Money> multiplyAdd(MonetaryAmount amount, long factor){
+            checkAmount(amount);
+            if(amount.getClass() == FastMoney.class){
+                try{
+                    add(LongRounding.multiplyExact(((FastMoney) amount).getScaledNumber(), factor), FAST_MONEY_SCALE);
+                    return this;
+                }
+                catch(ArithmeticException e){
+                    // not representable as long, continue with BigDecimal
+                }
+            }
+            add(amount.getNumber().numberValue(BigDecimal.class).multiply(BigDecimal.valueOf(factor)));
+            return this;
+        }
+
+        @Override
+        public MonetaryAccumulator<Money> multiplyAdd(MonetaryAmount amount, Number factor){
+            checkAmount(amount);
+            add(amount.getNumber().numberValue(BigDecimal.class).multiply(getBigDecimal(factor)));
+            return this;
+        }
+
+        @Override
+        public MonetaryAccumulator<Money> reset(){
+            this.unscaled = 0L;
+            this.scale = 0;
+            this.value = null;
+            return this;
+        }
+
+        @Override
+        public Money toAmount(){
+            BigDecimal number = this.value;
+            if(number == null){
+                number = BigDecimal.valueOf(this.unscaled, this.scale);
+            }
+            if(this.monetaryContext == null){
+                return Money.of(number, getCurrency());
+            }
+            return Money.of(number, getCurrency(), this.monetaryContext);
+        }
+    }
+
+}
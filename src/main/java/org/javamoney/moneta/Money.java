@@ -11,6 +11,7 @@ package org.javamoney.moneta;
 
 import org.javamoney.moneta.internal.MoneyAmountFactory;
 import org.javamoney.moneta.spi.AbstractMoney;
+import org.javamoney.moneta.spi.ContextCache;
 import org.javamoney.moneta.spi.DefaultNumberValue;
 import org.javamoney.moneta.spi.MonetaryConfig;
 
@@ -63,13 +64,25 @@ public final class Money extends AbstractMoney implements Comparable<MonetaryAmo
      * The default {@link MonetaryContext} applied, if not set explicitly on
      * creation.
      */
-    public static final MonetaryContext DEFAULT_MONETARY_CONTEXT = initDefaultMathContext();
+    public static final MonetaryContext DEFAULT_MONETARY_CONTEXT = ContextCache.intern(initDefaultMathContext());
+
+    /**
+     * The {@link MathContext} of {@link #DEFAULT_MONETARY_CONTEXT}, evaluated once.
+     */
+    private static final MathContext DEFAULT_MATH_CONTEXT =
+            getMathContext(DEFAULT_MONETARY_CONTEXT, RoundingMode.HALF_EVEN);
 
     /**
      * The numeric part of this amount.
      */
     private BigDecimal number;
 
+    /**
+     * The {@link NumberValue} returned by {@link #getNumber()}, created lazily. Since {@link DefaultNumberValue} is
+     * immutable, concurrent initialization is harmless.
+     */
+    private transient NumberValue numberValue;
+
     /**
      * Required for deserialization only.
      */
@@ -191,11 +204,42 @@ public final class Money extends AbstractMoney implements Comparable<MonetaryAmo
     private Money(BigDecimal number, CurrencyUnit currency, MonetaryContext monetaryContext){
         super(currency, monetaryContext);
         Objects.requireNonNull(number, "Number is required.");
-        if(monetaryContext != null){
-            this.number = getBigDecimal(number, monetaryContext);
+        MathContext mathContext;
+        if(monetaryContext == null || monetaryContext == DEFAULT_MONETARY_CONTEXT){
+            mathContext = DEFAULT_MATH_CONTEXT;
         }else{
-            this.number = getBigDecimal(number, DEFAULT_MONETARY_CONTEXT);
+            mathContext = getMathContext(monetaryContext, RoundingMode.HALF_EVEN);
+        }
+        this.number = round(getBigDecimal(number), mathContext);
+    }
+
+    /**
+     * Applies the given {@link MathContext}. Numbers fitting into the precision are returned as they are, since
+     * rounding would not change them.
+     *
+     * @param number      the number, not null.
+     * @param mathContext the {@link MathContext}, not null.
+     * @return the number, rounded if required.
+     */
+    private static BigDecimal round(BigDecimal number, MathContext mathContext){
+        if(mathContext.getPrecision() == 0 || number.precision() <= mathContext.getPrecision()){
+            return number;
+        }
+        return number.round(mathContext);
+    }
+
+    /**
+     * Access the numeric value of the given amount as {@link BigDecimal}, reading it directly if the amount is a
+     * {@link Money} instance.
+     *
+     * @param amount the amount, not null.
+     * @return the numeric value.
+     */
+    private static BigDecimal getBigDecimal(MonetaryAmount amount){
+        if(amount.getClass() == Money.class){
+            return ((Money) amount).number;
         }
+        return amount.getNumber().numberValue(BigDecimal.class);
     }
 
     /*
@@ -204,7 +248,12 @@ public final class Money extends AbstractMoney implements Comparable<MonetaryAmo
      * @see javax.money.MonetaryAmount#getNumber()
      */
     public NumberValue getNumber(){
-        return new DefaultNumberValue(number);
+        NumberValue value = this.numberValue;
+        if(value == null){
+            value = new DefaultNumberValue(number);
+            this.numberValue = value;
+        }
+        return value;
     }
 
     /**
@@ -228,7 +277,7 @@ public final class Money extends AbstractMoney implements Comparable<MonetaryAmo
         Objects.requireNonNull(o);
         int compare = getCurrency().getCurrencyCode().compareTo(o.getCurrency().getCurrencyCode());
         if(compare == 0){
-            compare = this.number.compareTo(Money.from(o).number);
+            compare = this.number.compareTo(getBigDecimal(o));
         }
         return compare;
     }
@@ -442,7 +491,7 @@ public final class Money extends AbstractMoney implements Comparable<MonetaryAmo
         if(amount.isZero()){
             return this;
         }
-        return new Money(this.number.add(amount.getNumber().numberValue(BigDecimal.class)), getCurrency());
+        return new Money(this.number.add(getBigDecimal(amount)), getCurrency());
     }
 
     /*
@@ -540,7 +589,7 @@ public final class Money extends AbstractMoney implements Comparable<MonetaryAmo
         if(subtrahend.isZero()){
             return this;
         }
-        return new Money(this.number.subtract(subtrahend.getNumber().numberValue(BigDecimal.class)), getCurrency());
+        return new Money(this.number.subtract(getBigDecimal(subtrahend)), getCurrency());
     }
 
     /*
@@ -595,8 +644,7 @@ public final class Money extends AbstractMoney implements Comparable<MonetaryAmo
     @Override
     public boolean isLessThan(MonetaryAmount amount){
         checkAmountParameter(amount);
-        return number.stripTrailingZeros()
-                .compareTo(amount.getNumber().numberValue(BigDecimal.class).stripTrailingZeros()) < 0;
+        return number.compareTo(getBigDecimal(amount)) < 0;
     }
 
     /*
@@ -609,8 +657,7 @@ public final class Money extends AbstractMoney implements Comparable<MonetaryAmo
     @Override
     public boolean isLessThanOrEqualTo(MonetaryAmount amount){
         checkAmountParameter(amount);
-        return number.stripTrailingZeros()
-                .compareTo(amount.getNumber().numberValue(BigDecimal.class).stripTrailingZeros()) <= 0;
+        return number.compareTo(getBigDecimal(amount)) <= 0;
     }
 
     /*
@@ -621,8 +668,7 @@ public final class Money extends AbstractMoney implements Comparable<MonetaryAmo
     @Override
     public boolean isGreaterThan(MonetaryAmount amount){
         checkAmountParameter(amount);
-        return number.stripTrailingZeros()
-                .compareTo(amount.getNumber().numberValue(BigDecimal.class).stripTrailingZeros()) > 0;
+        return number.compareTo(getBigDecimal(amount)) > 0;
     }
 
     /*
@@ -635,8 +681,7 @@ public final class Money extends AbstractMoney implements Comparable<MonetaryAmo
     @Override
     public boolean isGreaterThanOrEqualTo(MonetaryAmount amount){
         checkAmountParameter(amount);
-        return number.stripTrailingZeros()
-                .compareTo(amount.getNumber().numberValue(BigDecimal.class).stripTrailingZeros()) >= 0;
+        return number.compareTo(getBigDecimal(amount)) >= 0;
     }
 
     /*
@@ -647,8 +692,7 @@ public final class Money extends AbstractMoney implements Comparable<MonetaryAmo
     @Override
     public boolean isEqualTo(MonetaryAmount amount){
         checkAmountParameter(amount);
-        return number.stripTrailingZeros()
-                .compareTo(amount.getNumber().numberValue(BigDecimal.class).stripTrailingZeros()) == 0;
+        return number.compareTo(getBigDecimal(amount)) == 0;
     }
 
     /*
@@ -672,12 +716,12 @@ public final class Money extends AbstractMoney implements Comparable<MonetaryAmo
     }
 
     /**
-     * Implement serialization explicitly.
+     * Serializes this instance in its compact form.
+     *
+     * @see AmountSerializationProxy
      */
-    private void writeObject(ObjectOutputStream oos) throws IOException{
-        oos.writeObject(this.number);
-        oos.writeObject(this.currency);
-        oos.writeObject(this.monetaryContext);
+    private Object writeReplace(){
+        return new AmountSerializationProxy(this);
     }
 
     /*
@@ -714,7 +758,7 @@ public final class Money extends AbstractMoney implements Comparable<MonetaryAmo
     }
 
     /**
-     * Implement deserialization explicitly.
+     * Implement deserialization explicitly, for instances serialized before the compact form was introduced.
      */
     private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException{
         this.number = (BigDecimal) ois.readObject();
@@ -773,7 +817,7 @@ public final class Money extends AbstractMoney implements Comparable<MonetaryAmo
      *                             {@link MonetaryContext} used.
      */
     public static Money of(BigDecimal number, CurrencyUnit currency, MonetaryContext monetaryContext){
-        return new Money(number, currency, monetaryContext);
+        return new Money(number, currency, ContextCache.intern(monetaryContext));
     }
 
     /**
@@ -803,7 +847,7 @@ public final class Money extends AbstractMoney implements Comparable<MonetaryAmo
      *                             {@link MonetaryContext} used.
      */
     public static Money of(Number number, CurrencyUnit currency, MonetaryContext monetaryContext){
-        return new Money(getBigDecimal(number), currency, monetaryContext);
+        return new Money(getBigDecimal(number), currency, ContextCache.intern(monetaryContext));
     }
 
     /**
@@ -838,7 +882,8 @@ public final class Money extends AbstractMoney implements Comparable<MonetaryAmo
      * @return A new instance of {@link Money}.
      */
     public static Money of(Number number, String currencyCode, MonetaryContext monetaryContext){
-        return new Money(getBigDecimal(number), MonetaryCurrencies.getCurrency(currencyCode), monetaryContext);
+        return new Money(getBigDecimal(number), MonetaryCurrencies.getCurrency(currencyCode),
+                         ContextCache.intern(monetaryContext));
     }
 
     /**
@@ -851,7 +896,7 @@ public final class Money extends AbstractMoney implements Comparable<MonetaryAmo
      * @return A new instance of {@link Money}.
      */
     public static Money of(BigDecimal number, String currencyCode, MonetaryContext monetaryContext){
-        return new Money(number, MonetaryCurrencies.getCurrency(currencyCode), monetaryContext);
+        return new Money(number, MonetaryCurrencies.getCurrency(currencyCode), ContextCache.intern(monetaryContext));
     }
 
     /**
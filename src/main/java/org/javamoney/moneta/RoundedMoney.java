@@ -11,6 +11,7 @@ package org.javamoney.moneta;
 
 import org.javamoney.moneta.internal.RoundedMoneyAmountFactory;
 import org.javamoney.moneta.spi.AbstractMoney;
+import org.javamoney.moneta.spi.ContextCache;
 import org.javamoney.moneta.spi.DefaultNumberValue;
 
 import javax.money.*;
@@ -42,7 +43,7 @@ public final class RoundedMoney extends AbstractMoney implements Comparable<Mone
      * The default {@link MonetaryContext} applied.
      */
     public static final MonetaryContext DEFAULT_MONETARY_CONTEXT =
-            MonetaryContext.from(Money.DEFAULT_MONETARY_CONTEXT, RoundedMoney.class);
+            ContextCache.intern(Money.DEFAULT_MONETARY_CONTEXT, RoundedMoney.class);
 
     /**
      * The numeric part of this amount.
@@ -117,7 +118,7 @@ public final class RoundedMoney extends AbstractMoney implements Comparable<Mone
      * @return a {@code Money} combining the numeric value and currency unit.
      */
     public static RoundedMoney of(BigDecimal number, CurrencyUnit currency, MonetaryContext monetaryContext){
-        return new RoundedMoney(number, currency, MonetaryContext.from(monetaryContext, RoundedMoney.class), null);
+        return new RoundedMoney(number, currency, ContextCache.intern(monetaryContext, RoundedMoney.class), null);
     }
 
     /**
@@ -131,7 +132,7 @@ public final class RoundedMoney extends AbstractMoney implements Comparable<Mone
      */
     public static RoundedMoney of(BigDecimal number, CurrencyUnit currency, MonetaryContext monetaryContext,
                                   MonetaryOperator rounding){
-        return new RoundedMoney(number, currency, MonetaryContext.from(monetaryContext, RoundedMoney.class), rounding);
+        return new RoundedMoney(number, currency, ContextCache.intern(monetaryContext, RoundedMoney.class), rounding);
     }
 
     /**
@@ -165,7 +166,7 @@ public final class RoundedMoney extends AbstractMoney implements Comparable<Mone
      * @return A new instance of {@link RoundedMoney}.
      */
     public static RoundedMoney of(Number number, CurrencyUnit currency, MonetaryContext monetaryContext){
-        return new RoundedMoney(number, currency, MonetaryContext.from(monetaryContext, RoundedMoney.class), null);
+        return new RoundedMoney(number, currency, ContextCache.intern(monetaryContext, RoundedMoney.class), null);
     }
 
     /**
@@ -179,7 +180,7 @@ public final class RoundedMoney extends AbstractMoney implements Comparable<Mone
      */
     public static RoundedMoney of(CurrencyUnit currency, Number number, MonetaryContext monetaryContext,
                                   MonetaryOperator rounding){
-        return new RoundedMoney(number, currency, MonetaryContext.from(monetaryContext, RoundedMoney.class), rounding);
+        return new RoundedMoney(number, currency, ContextCache.intern(monetaryContext, RoundedMoney.class), rounding);
     }
 
     /**
@@ -216,7 +217,7 @@ public final class RoundedMoney extends AbstractMoney implements Comparable<Mone
      */
     public static RoundedMoney of(Number number, String currencyCode, MonetaryContext monetaryContext){
         return new RoundedMoney(number, MonetaryCurrencies.getCurrency(currencyCode),
-                                MonetaryContext.from(monetaryContext, RoundedMoney.class),
+                                ContextCache.intern(monetaryContext, RoundedMoney.class),
                                 MonetaryRoundings.getRounding());
     }
 
@@ -231,7 +232,7 @@ public final class RoundedMoney extends AbstractMoney implements Comparable<Mone
     public static RoundedMoney of(String currencyCode, Number number, MonetaryContext monetaryContext,
                                   MonetaryOperator rounding){
         return new RoundedMoney(number, MonetaryCurrencies.getCurrency(currencyCode),
-                                MonetaryContext.from(monetaryContext, RoundedMoney.class), rounding);
+                                ContextCache.intern(monetaryContext, RoundedMoney.class), rounding);
     }
 
     /*
@@ -641,16 +642,23 @@ public final class RoundedMoney extends AbstractMoney implements Comparable<Mone
         return amount.asType(type);
     }
 
-    private void writeObject(ObjectOutputStream oos) throws IOException{
-        oos.writeObject(this.number);
-        oos.writeObject(this.monetaryContext);
-        oos.writeObject(this.currency);
+    /**
+     * Serializes this instance in its compact form.
+     *
+     * @see AmountSerializationProxy
+     */
+    private Object writeReplace(){
+        return new AmountSerializationProxy(this);
     }
 
+    /**
+     * Implement deserialization explicitly, for instances serialized before the compact form was introduced.
+     */
     private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException{
         this.number = (BigDecimal) ois.readObject();
         this.monetaryContext = (MonetaryContext) ois.readObject();
         this.currency = (CurrencyUnit) ois.readObject();
+        this.rounding = MonetaryRoundings.getRounding(this.currency);
     }
 
     @SuppressWarnings("unused")
@@ -835,6 +843,25 @@ public final class RoundedMoney extends AbstractMoney implements Comparable<Mone
         return DEFAULT_MONETARY_CONTEXT;
     }
 
+    /**
+     * Access the rounding applied by this instance.
+     *
+     * @return the rounding, never null.
+     */
+    MonetaryOperator getRounding(){
+        return this.rounding;
+    }
+
+    /**
+     * Starts a {@link RoundedMoneyExpression} with this amount as initial value. The operations recorded on the
+     * expression are evaluated exactly, the rounding of this instance is only applied at the commit points defined.
+     *
+     * @return a new expression, never null.
+     */
+    public RoundedMoneyExpression expression(){
+        return new RoundedMoneyExpression(this);
+    }
+
     @Override
     public MonetaryAmountFactory<RoundedMoney> getFactory(){
         return new RoundedMoneyAmountFactory().setAmount(this);
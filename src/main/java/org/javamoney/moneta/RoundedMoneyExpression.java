@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import javax.money.*;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Records a chain of operations on a {@link RoundedMoney} and evaluates it in one pass. Different to the operations
+ * on {@link RoundedMoney}, which round after each step, additions, subtractions and multiplications are evaluated
+ * exactly and the rounding of the initial amount is only applied at the commit points defined by
+ * {@link #commit()}, and finally by {@link #evaluate()}. E.g.
+ * <p/>
+ * <pre>
+ * RoundedMoney total = price.expression().multiply(quantity).add(tax).subtract(discount).evaluate();
+ * </pre>
+ * <p/>
+ * rounds only once, whereas recording a commit after each step gives the same results as the step-wise
+ * operations, as long as they round as well. Divisions can not be exact in general, so they use the
+ * {@link MathContext} of the amount's {@link MonetaryContext}, by default {@link MathContext#DECIMAL64}.
+ * <p/>
+ * Instances of this class are mutable and not thread-safe, the expression can be evaluated several times.
+ *
+ * @author Anatole Tresch
+ * @see RoundedMoney#expression()
+ */
+public final class RoundedMoneyExpression{
+
+    /**
+     * The operations supported.
+     */
+    private enum Operation{
+        ADD, SUBTRACT, MULTIPLY, DIVIDE, NEGATE, COMMIT
+    }
+
+    /**
+     * A single step recorded.
+     */
+    private static final class Step{
+        final Operation operation;
+        final BigDecimal operand;
+
+        Step(Operation operation, BigDecimal operand){
+            this.operation = operation;
+            this.operand = operand;
+        }
+    }
+
+    /**
+     * Context used for applying the rounding on intermediate results, so they are not rounded to the precision of
+     * {@link Money#DEFAULT_MONETARY_CONTEXT} before.
+     */
+    private static final MonetaryContext UNLIMITED_CONTEXT =
+            new MonetaryContext.Builder(Money.class).setObject(MathContext.UNLIMITED).build();
+
+    /**
+     * The initial amount.
+     */
+    private final RoundedMoney initial;
+
+    /**
+     * The steps recorded.
+     */
+    private final List<Step> steps = new ArrayList<>();
+
+    /**
+     * Creates a new expression.
+     *
+     * @param initial the initial amount, not null.
+     */
+    RoundedMoneyExpression(RoundedMoney initial){
+        Objects.requireNonNull(initial, "Initial amount required.");
+        this.initial = initial;
+    }
+
+    private static BigDecimal getBigDecimal(MonetaryAmount amount){
+        return amount.getNumber().numberValue(BigDecimal.class);
+    }
+
+    private static BigDecimal getBigDecimal(Number number){
+        Objects.requireNonNull(number, "Number is required.");
+        if(number.getClass() == BigDecimal.class){
+            return (BigDecimal) number;
+        }
+        if(number.getClass() == Long.class || number.getClass() == Integer.class){
+            return BigDecimal.valueOf(number.longValue());
+        }
+        if(number instanceof NumberValue){
+            return ((NumberValue) number).numberValue(BigDecimal.class);
+        }
+        return new BigDecimal(number.toString());
+    }
+
+    private void checkCurrency(MonetaryAmount amount){
+        Objects.requireNonNull(amount, "Amount must not be null.");
+        if(!this.initial.getCurrency().getCurrencyCode().equals(amount.getCurrency().getCurrencyCode())){
+            throw new MonetaryException("Currency mismatch: " + this.initial.getCurrency() + '/' +
+                                                amount.getCurrency());
+        }
+    }
+
+    /**
+     * Records an addition.
+     *
+     * @param amount the amount to be added, with the same currency, not null.
+     * @return this instance, for chaining.
+     * @throws MonetaryException if the currency is not compatible.
+     */
+    public RoundedMoneyExpression add(MonetaryAmount amount){
+        checkCurrency(amount);
+        steps.add(new Step(Operation.ADD, getBigDecimal(amount)));
+        return this;
+    }
+
+    /**
+     * Records a subtraction.
+     *
+     * @param amount the amount to be subtracted, with the same currency, not null.
+     * @return this instance, for chaining.
+     * @throws MonetaryException if the currency is not compatible.
+     */
+    public RoundedMoneyExpression subtract(MonetaryAmount amount){
+        checkCurrency(amount);
+        steps.add(new Step(Operation.SUBTRACT, getBigDecimal(amount)));
+        return this;
+    }
+
+    /**
+     * Records a multiplication.
+     *
+     * @param multiplicand the multiplicand, not null.
+     * @return this instance, for chaining.
+     */
+    public RoundedMoneyExpression multiply(Number multiplicand){
+        steps.add(new Step(Operation.MULTIPLY, getBigDecimal(multiplicand)));
+        return this;
+    }
+
+    /**
+     * Records a multiplication.
+     *
+     * @param multiplicand the multiplicand.
+     * @return this instance, for chaining.
+     */
+    public RoundedMoneyExpression multiply(long multiplicand){
+        steps.add(new Step(Operation.MULTIPLY, BigDecimal.valueOf(multiplicand)));
+        return this;
+    }
+
+    /**
+     * Records a division, evaluated using the {@link MathContext} of the initial amount.
+     *
+     * @param divisor the divisor, not null.
+     * @return this instance, for chaining.
+     */
+    public RoundedMoneyExpression divide(Number divisor){
+        BigDecimal bd = getBigDecimal(divisor);
+        if(bd.signum() == 0){
+            throw new ArithmeticException("Division by zero");
+        }
+        steps.add(new Step(Operation.DIVIDE, bd));
+        return this;
+    }
+
+    /**
+     * Records a negation.
+     *
+     * @return this instance, for chaining.
+     */
+    public RoundedMoneyExpression negate(){
+        steps.add(new Step(Operation.NEGATE, null));
+        return this;
+    }
+
+    /**
+     * Records a commit point, where the rounding of the initial amount is applied on the intermediate result.
+     *
+     * @return this instance, for chaining.
+     */
+    public RoundedMoneyExpression commit(){
+        steps.add(new Step(Operation.COMMIT, null));
+        return this;
+    }
+
+    /**
+     * Evaluates the expression and applies the rounding of the initial amount on the result.
+     *
+     * @return the resulting amount, with the currency, {@link MonetaryContext} and rounding of the initial amount.
+     */
+    public RoundedMoney evaluate(){
+        BigDecimal result = round(evaluateUnrounded());
+        return RoundedMoney.of(result, this.initial.getCurrency(), this.initial.getMonetaryContext(),
+                               this.initial.getRounding());
+    }
+
+    /**
+     * Evaluates the expression, without applying the rounding on the final result. Commit points recorded are
+     * still rounded.
+     *
+     * @return the numeric result.
+     */
+    public BigDecimal evaluateUnrounded(){
+        MathContext mathContext =
+                this.initial.getMonetaryContext().getAttribute(MathContext.class, MathContext.DECIMAL64);
+        BigDecimal value = this.initial.getNumber().numberValue(BigDecimal.class);
+        for(Step step : steps){
+            switch(step.operation){
+                case ADD:
+                    value = value.add(step.operand);
+                    break;
+                case SUBTRACT:
+                    value = value.subtract(step.operand);
+                    break;
+                case MULTIPLY:
+                    value = value.multiply(step.operand);
+                    break;
+                case DIVIDE:
+                    value = value.divide(step.operand, mathContext);
+                    break;
+                case NEGATE:
+                    value = value.negate();
+                    break;
+                case COMMIT:
+                    value = round(value);
+                    break;
+                default:
+                    throw new IllegalStateException("Unsupported operation: " + step.operation);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Applies the rounding of the initial amount.
+     *
+     * @param value the value, not null.
+     * @return the rounded value.
+     */
+    private BigDecimal round(BigDecimal value){
+        MonetaryAmount rounded =
+                Money.of(value, this.initial.getCurrency(), UNLIMITED_CONTEXT).with(this.initial.getRounding());
+        return rounded.getNumber().numberValue(BigDecimal.class);
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString(){
+        StringBuilder b = new StringBuilder("RoundedMoneyExpression [").append(this.initial);
+        for(Step step : steps){
+            b.append(", ").append(step.operation);
+            if(step.operand != null){
+                b.append(' ').append(step.operand);
+            }
+        }
+        return b.append(']').toString();
+    }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import org.javamoney.moneta.spi.LongRounding;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe {@link MonetaryAccumulator} on the scaled long representation of {@link FastMoney}, for
+ * accumulating from many threads concurrently, e.g. into running balances. The value is spread over several
+ * cells, each thread updates the cell selected by its id, so concurrent updates do not contend on a single value.
+ * {@link #toAmount()} sums up the cells, so it is not an atomic snapshot, if updates are performed concurrently.
+ * <p/>
+ * Overflows are detected for each cell, as well as when summing up the cells, both fail with an
+ * {@link ArithmeticException}.
+ *
+ * @author Anatole Tresch
+ */
+public final class StripedMonetaryAccumulator extends MonetaryAccumulator<FastMoney>{
+
+    /**
+     * The number of longs between two cells, so each cell is on its own cache line.
+     */
+    private static final int PADDING = 8;
+
+    /**
+     * The cells, only every {@link #PADDING}th element is used.
+     */
+    private final AtomicLongArray cells;
+
+    /**
+     * The mask for selecting a cell.
+     */
+    private final int mask;
+
+    /**
+     * Creates a new instance, with a number of cells depending on the available processors.
+     *
+     * @param currency the currency, not null.
+     */
+    public StripedMonetaryAccumulator(CurrencyUnit currency){
+        this(currency, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param currency the currency, not null.
+     * @param stripes  the minimal number of cells, rounded up to the next power of two.
+     */
+    public StripedMonetaryAccumulator(CurrencyUnit currency, int stripes){
+        super(currency);
+        if(stripes <= 0){
+            throw new IllegalArgumentException("Stripes must be positive: " + stripes);
+        }
+        int size = 1;
+        while(size < stripes && size < 1024){
+            size <<= 1;
+        }
+        this.cells = new AtomicLongArray(size * PADDING);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Evaluates the index of the cell used by the current thread.
+     *
+     * @return the index within {@link #cells}.
+     */
+    private int getCellIndex(){
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return ((int) (id >>> 32) & mask) * PADDING;
+    }
+
+    /**
+     * Adds the given scaled value to the cell of the current thread.
+     *
+     * @param scaled the scaled value.
+     * @throws ArithmeticException on overflow.
+     */
+    private void addScaled(long scaled){
+        if(scaled == 0L){
+            return;
+        }
+        int index = getCellIndex();
+        while(true){
+            long current = cells.get(index);
+            if(cells.compareAndSet(index, current, LongRounding.addExact(current, scaled))){
+                return;
+            }
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.javamoney.moneta.MonetaryAccumulator#add(javax.money.MonetaryAmount)
+     */
+    @Override
+    public StripedMonetaryAccumulator add(MonetaryAmount amount){
+        checkAmount(amount);
+        addScaled(getScaledNumber(amount));
+        return this;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.javamoney.moneta.MonetaryAccumulator#subtract(javax.money.MonetaryAmount)
+     */
+    @Override
+    public StripedMonetaryAccumulator subtract(MonetaryAmount amount){
+        checkAmount(amount);
+        addScaled(LongRounding.multiplyExact(getScaledNumber(amount), -1L));
+        return this;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.javamoney.moneta.MonetaryAccumulator#multiplyAdd(javax.money.MonetaryAmount, long)
+     */
+    @Override
+    public StripedMonetaryAccumulator multiplyAdd(MonetaryAmount amount, long factor){
+        checkAmount(amount);
+        addScaled(LongRounding.multiplyExact(getScaledNumber(amount), factor));
+        return this;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.javamoney.moneta.MonetaryAccumulator#multiplyAdd(javax.money.MonetaryAmount, java.lang.Number)
+     */
+    @Override
+    public StripedMonetaryAccumulator multiplyAdd(MonetaryAmount amount, Number factor){
+        checkAmount(amount);
+        addScaled(getScaledProduct(amount, factor));
+        return this;
+    }
+
+    /**
+     * Resets all cells to zero. Updates performed concurrently may get lost, use {@link #toAmountAndReset()} for
+     * taking over the values.
+     *
+     * @return this instance, for chaining.
+     */
+    @Override
+    public StripedMonetaryAccumulator reset(){
+        for(int i = 0; i < cells.length(); i += PADDING){
+            cells.set(i, 0L);
+        }
+        return this;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.javamoney.moneta.MonetaryAccumulator#toAmount()
+     */
+    @Override
+    public FastMoney toAmount(){
+        long sum = 0L;
+        for(int i = 0; i < cells.length(); i += PADDING){
+            sum = LongRounding.addExact(sum, cells.get(i));
+        }
+        return FastMoney.ofScaled(sum, getCurrency());
+    }
+
+    /**
+     * Sums up the cells and resets them to zero. Each cell is taken over atomically, so no concurrent update is
+     * lost, it is either contained in the result, or in the value after the call.
+     *
+     * @return the value accumulated.
+     * @throws ArithmeticException if the sum is out of range, the values taken over are added back to their cells
+     *                             then, so the balance is kept.
+     */
+    public FastMoney toAmountAndReset(){
+        long[] drained = new long[cells.length() / PADDING];
+        long sum = 0L;
+        for(int i = 0; i < drained.length; i++){
+            drained[i] = cells.getAndSet(i * PADDING, 0L);
+            try{
+                sum = LongRounding.addExact(sum, drained[i]);
+            }
+            catch(ArithmeticException e){
+                for(int j = 0; j <= i; j++){
+                    restore(j * PADDING, drained[j]);
+                }
+                throw new ArithmeticException("Overflow summing up " + getCurrency() + " cells.");
+            }
+        }
+        return FastMoney.ofScaled(sum, getCurrency());
+    }
+
+    /**
+     * Adds a value taken over back to its cell, which may have been updated concurrently in the meantime.
+     *
+     * @param index the index within {@link #cells}.
+     * @param value the value taken over.
+     * @throws ArithmeticException if concurrent updates have driven the cell out of range meanwhile.
+     */
+    private void restore(int index, long value){
+        while(true){
+            long current = cells.get(index);
+            if(cells.compareAndSet(index, current, LongRounding.addExact(current, value))){
+                return;
+            }
+        }
+    }
+
+}
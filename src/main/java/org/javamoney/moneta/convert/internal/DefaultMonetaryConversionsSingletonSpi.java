@@ -17,6 +17,7 @@
  */
 package org.javamoney.moneta.convert.internal;
 
+import org.javamoney.moneta.spi.AbstractRateProvider;
 import org.javamoney.moneta.spi.CompoundRateProvider;
 import org.javamoney.moneta.spi.MonetaryConfig;
 
@@ -28,10 +29,15 @@ import javax.money.convert.ProviderContext;
 import javax.money.spi.Bootstrap;
 import javax.money.spi.MonetaryConversionsSingletonSpi;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -44,6 +50,12 @@ public class DefaultMonetaryConversionsSingletonSpi implements MonetaryConversio
      */
     private static final Logger LOG = Logger.getLogger(DefaultMonetaryConversionsSingletonSpi.class.getName());
 
+    /**
+     * Config key for the time in ms to wait on {@link #reload()} for the default provider chain to become warm. If
+     * not set, the providers are not awaited.
+     */
+    private static final String WARMUP_TIMEOUT_KEY = "conversion.default-chain.warmup-timeout";
+
     /**
      * The providers loaded.
      */
@@ -65,6 +77,88 @@ public class DefaultMonetaryConversionsSingletonSpi implements MonetaryConversio
             newProviders.put(prov.getProviderContext().getProvider(), prov);
         }
         this.conversionProviders = newProviders;
+        String warmupTimeout = MonetaryConfig.getConfig().get(WARMUP_TIMEOUT_KEY);
+        if(warmupTimeout != null){
+            try{
+                if(!awaitWarm(Long.parseLong(warmupTimeout.trim()), TimeUnit.MILLISECONDS)){
+                    LOG.warning("Default provider chain not warm after " + warmupTimeout + " ms.");
+                }
+            }
+            catch(NumberFormatException e){
+                LOG.log(Level.SEVERE, "Invalid " + WARMUP_TIMEOUT_KEY + ": " + warmupTimeout, e);
+            }
+        }
+    }
+
+    /**
+     * Checks if the given providers are warm, meaning their rate data is loaded and lookups can be served.
+     * Providers not extending {@link AbstractRateProvider} are considered to be always warm.
+     *
+     * @param providers the provider names, if empty the default provider chain is checked.
+     * @return true, if all providers are warm.
+     * @throws IllegalArgumentException if a provider is not available.
+     */
+    public boolean isWarm(String... providers){
+        for(ExchangeRateProvider prov : getProviders(providers)){
+            if(prov instanceof AbstractRateProvider && !((AbstractRateProvider) prov).isWarm()){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Waits until the given providers are warm, meaning their rate data is loaded and lookups can be served, or the
+     * timeout elapsed. Providers not extending {@link AbstractRateProvider} are considered to be always warm.
+     *
+     * @param timeout   the maximal time to wait for all providers.
+     * @param unit      the time unit, not null.
+     * @param providers the provider names, if empty the default provider chain is awaited.
+     * @return true, if all providers are warm, false if the timeout elapsed or the current thread was interrupted.
+     * @throws IllegalArgumentException if a provider is not available.
+     */
+    public boolean awaitWarm(long timeout, TimeUnit unit, String... providers){
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for(ExchangeRateProvider prov : getProviders(providers)){
+            if(prov instanceof AbstractRateProvider){
+                try{
+                    ((AbstractRateProvider) prov).getReadiness()
+                            .get(Math.max(deadline - System.nanoTime(), 0L), TimeUnit.NANOSECONDS);
+                }
+                catch(TimeoutException e){
+                    return false;
+                }
+                catch(InterruptedException e){
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                catch(ExecutionException e){
+                    LOG.log(Level.SEVERE, "Error awaiting provider: " + prov.getProviderContext().getProvider(), e);
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates the providers with the given names.
+     *
+     * @param providers the provider names, if empty the default provider chain is used.
+     * @return the providers, in order.
+     * @throws IllegalArgumentException if a provider is not available.
+     */
+    private List<ExchangeRateProvider> getProviders(String... providers){
+        List<String> provNames = providers.length == 0 ? getDefaultProviderChain() : Arrays.asList(providers);
+        List<ExchangeRateProvider> provInstances = new ArrayList<>();
+        for(String provName : provNames){
+            ExchangeRateProvider prov = this.conversionProviders.get(provName);
+            if(prov == null){
+                throw new IllegalArgumentException("Unsupported conversion/rate provider: " + provName);
+            }
+            provInstances.add(prov);
+        }
+        return provInstances;
     }
 
     @Override
@@ -103,7 +197,7 @@ public class DefaultMonetaryConversionsSingletonSpi implements MonetaryConversio
         String[] items = defaultChain.split(",");
         for(String item : items){
             if(isProviderAvailable(item.trim())){
-                provList.add(item);
+                provList.add(item.trim());
             }else{
                 LOG.warning("Ignoring non existing default provider: " + item);
             }
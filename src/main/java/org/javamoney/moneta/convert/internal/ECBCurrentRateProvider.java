@@ -12,6 +12,7 @@ package org.javamoney.moneta.convert.internal;
 import static org.javamoney.moneta.convert.internal.ProviderConstants.TIMESTAMP;
 
 import org.javamoney.moneta.spi.AbstractRateProvider;
+import org.javamoney.moneta.spi.ContextCache;
 import org.javamoney.moneta.spi.DefaultNumberValue;
 import org.javamoney.moneta.spi.LoaderService;
 import org.javamoney.moneta.spi.LoaderService.LoaderListener;
@@ -83,7 +84,7 @@ public class ECBCurrentRateProvider extends AbstractRateProvider implements Load
      * @throws MalformedURLException
      */
     public ECBCurrentRateProvider() throws MalformedURLException{
-        super(CONTEXT);
+        super(CONTEXT, false);
         saxParserFactory.setNamespaceAware(false);
         saxParserFactory.setValidating(false);
         LoaderService loader = Bootstrap.getService(LoaderService.class);
@@ -109,6 +110,9 @@ public class ECBCurrentRateProvider extends AbstractRateProvider implements Load
             SAXParser parser = saxParserFactory.newSAXParser();
             parser.parse(is, new RateReadingHandler());
             LOGGER.info("Loaded current " + DATA_ID + " exchange rates.");
+            if(!currentRates.isEmpty()){
+                setWarm();
+            }
         }
         catch(Exception e){
             LOGGER.log(Level.SEVERE, "Error reading resource for ECB currencies: ", e);
@@ -120,7 +124,8 @@ public class ECBCurrentRateProvider extends AbstractRateProvider implements Load
             return null;
         }
         ExchangeRate.Builder builder =
-                new ExchangeRate.Builder(new ConversionContext.Builder(CONTEXT, RateType.DEFERRED).build());
+                new ExchangeRate.Builder(
+                        ContextCache.intern(new ConversionContext.Builder(CONTEXT, RateType.DEFERRED).build()));
         builder.setBase(base);
         builder.setTerm(term);
         ExchangeRate sourceRate = null;
@@ -247,8 +252,8 @@ public class ECBCurrentRateProvider extends AbstractRateProvider implements Load
      */
     void addRate(CurrencyUnit term, Long timestamp, Number factor){
         ExchangeRate.Builder builder = new ExchangeRate.Builder(
-                new ConversionContext.Builder(CONTEXT, RateType.DEFERRED)
-                        .setAttribute(TIMESTAMP, timestamp).build());
+                ContextCache.intern(new ConversionContext.Builder(CONTEXT, RateType.DEFERRED)
+                        .setAttribute(TIMESTAMP, timestamp).build()));
         builder.setBase(BASE_CURRENCY);
         builder.setTerm(term);
         builder.setFactor(new DefaultNumberValue(factor));
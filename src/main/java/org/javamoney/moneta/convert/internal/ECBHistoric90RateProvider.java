@@ -20,6 +20,7 @@ package org.javamoney.moneta.convert.internal;
 import static org.javamoney.moneta.convert.internal.ProviderConstants.TIMESTAMP;
 
 import org.javamoney.moneta.spi.AbstractRateProvider;
+import org.javamoney.moneta.spi.ContextCache;
 import org.javamoney.moneta.spi.DefaultNumberValue;
 import org.javamoney.moneta.spi.LoaderService;
 import org.javamoney.moneta.spi.LoaderService.LoaderListener;
@@ -90,7 +91,7 @@ public class ECBHistoric90RateProvider extends AbstractRateProvider implements L
      * @throws MalformedURLException
      */
     public ECBHistoric90RateProvider() throws MalformedURLException{
-        super(CONTEXT);
+        super(CONTEXT, false);
         saxParserFactory.setNamespaceAware(false);
         saxParserFactory.setValidating(false);
         LoaderService loader = Bootstrap.getService(LoaderService.class);
@@ -117,6 +118,9 @@ public class ECBHistoric90RateProvider extends AbstractRateProvider implements L
         }
         int newSize = this.rates.size();
         LOGGER.info("Loaded " + DATA_ID + " exchange rates for days:" + (newSize - oldSize));
+        if(newSize > 0){
+            setWarm();
+        }
     }
 
     protected ExchangeRate getExchangeRateInternal(CurrencyUnit base, CurrencyUnit term, ConversionContext context){
@@ -126,8 +130,8 @@ public class ECBHistoric90RateProvider extends AbstractRateProvider implements L
             return null;
         }
         ExchangeRate.Builder builder = new ExchangeRate.Builder(
-                new ConversionContext.Builder(CONTEXT, RateType.HISTORIC)
-                        .setAttribute(TIMESTAMP, context.getNamedAttribute(TIMESTAMP, Long.class)).build()
+                ContextCache.intern(new ConversionContext.Builder(CONTEXT, RateType.HISTORIC)
+                        .setAttribute(TIMESTAMP, context.getNamedAttribute(TIMESTAMP, Long.class)).build())
         );
         if(rates.isEmpty()){
             return null;
@@ -256,9 +260,11 @@ public class ECBHistoric90RateProvider extends AbstractRateProvider implements L
                 rateType = RateType.DEFERRED;
             }
             builder = new ExchangeRate.Builder(
-                    new ConversionContext.Builder(CONTEXT, rateType).setAttribute(TIMESTAMP, timestamp).build());
+                    ContextCache.intern(new ConversionContext.Builder(CONTEXT, rateType)
+                                                .setAttribute(TIMESTAMP, timestamp).build()));
         }else{
-            builder = new ExchangeRate.Builder(ConversionContext.of(CONTEXT.getProvider(), rateType));
+            builder = new ExchangeRate.Builder(
+                    ContextCache.intern(ConversionContext.of(CONTEXT.getProvider(), rateType)));
         }
         builder.setBase(BASE_CURRENCY);
         builder.setTerm(term);
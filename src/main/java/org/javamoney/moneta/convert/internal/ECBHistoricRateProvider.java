@@ -20,6 +20,7 @@ package org.javamoney.moneta.convert.internal;
 import static org.javamoney.moneta.convert.internal.ProviderConstants.TIMESTAMP;
 
 import org.javamoney.moneta.spi.AbstractRateProvider;
+import org.javamoney.moneta.spi.ContextCache;
 import org.javamoney.moneta.spi.DefaultNumberValue;
 import org.javamoney.moneta.spi.LoaderService;
 import org.javamoney.moneta.spi.LoaderService.LoaderListener;
@@ -89,7 +90,7 @@ public class ECBHistoricRateProvider extends AbstractRateProvider implements Loa
      * @throws MalformedURLException
      */
     public ECBHistoricRateProvider() throws MalformedURLException{
-        super(CONTEXT);
+        super(CONTEXT, false);
         saxParserFactory.setNamespaceAware(false);
         saxParserFactory.setValidating(false);
         LoaderService loader = Bootstrap.getService(LoaderService.class);
@@ -109,6 +110,9 @@ public class ECBHistoricRateProvider extends AbstractRateProvider implements Loa
         }
         int newSize = this.historicRates.size();
         LOGGER.info("Loaded " + DATA_ID + " exchange rates for days:" + (newSize - oldSize));
+        if(newSize > 0){
+            setWarm();
+        }
     }
 
     /*
@@ -127,8 +131,8 @@ public class ECBHistoricRateProvider extends AbstractRateProvider implements Loa
             return null;
         }
         ExchangeRate.Builder builder = new ExchangeRate.Builder(
-                new ConversionContext.Builder(CONTEXT, RateType.HISTORIC)
-                        .setAttribute(TIMESTAMP, context.getNamedAttribute(TIMESTAMP, Long.class)).build());
+                ContextCache.intern(new ConversionContext.Builder(CONTEXT, RateType.HISTORIC)
+                        .setAttribute(TIMESTAMP, context.getNamedAttribute(TIMESTAMP, Long.class)).build()));
         builder.setBase(base);
         builder.setTerm(term);
         ExchangeRate sourceRate = null;
@@ -264,9 +268,11 @@ public class ECBHistoricRateProvider extends AbstractRateProvider implements Loa
             if(timestamp.longValue() > System.currentTimeMillis()){
                 rateType = RateType.DEFERRED;
             }
-            builder = new ExchangeRate.Builder(new ConversionContext.Builder(CONTEXT, rateType).setAttribute(TIMESTAMP, timestamp).build());
+            builder = new ExchangeRate.Builder(ContextCache.intern(
+                    new ConversionContext.Builder(CONTEXT, rateType).setAttribute(TIMESTAMP, timestamp).build()));
         }else{
-            builder = new ExchangeRate.Builder(new ConversionContext.Builder(CONTEXT, rateType).build());
+            builder = new ExchangeRate.Builder(
+                    ContextCache.intern(new ConversionContext.Builder(CONTEXT, rateType).build()));
         }
         builder.setBase(BASE_CURRENCY);
         builder.setTerm(term);
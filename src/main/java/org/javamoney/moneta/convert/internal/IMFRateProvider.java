@@ -21,6 +21,7 @@ import static org.javamoney.moneta.convert.internal.ProviderConstants.TIMESTAMP;
 
 import org.javamoney.moneta.BuildableCurrencyUnit;
 import org.javamoney.moneta.spi.AbstractRateProvider;
+import org.javamoney.moneta.spi.ContextCache;
 import org.javamoney.moneta.spi.DefaultNumberValue;
 import org.javamoney.moneta.spi.LoaderService;
 import org.javamoney.moneta.spi.LoaderService.LoaderListener;
@@ -97,16 +98,31 @@ public class IMFRateProvider extends AbstractRateProvider implements LoaderListe
     }
 
     public IMFRateProvider() throws MalformedURLException{
-        super(CONTEXT);
-        LoaderService loader = Bootstrap.getService(LoaderService.class);
-        loader.addLoaderListener(this, DATA_ID);
-        loader.loadDataAsync(DATA_ID);
+        this(true);
+    }
+
+    /**
+     * Creates a new provider.
+     *
+     * @param register if true, the provider registers with the {@link LoaderService} and triggers loading its data,
+     *                 else the data must be passed to {@link #newDataLoaded(String, InputStream)}.
+     */
+    IMFRateProvider(boolean register){
+        super(CONTEXT, false);
+        if(register){
+            LoaderService loader = Bootstrap.getService(LoaderService.class);
+            loader.addLoaderListener(this, DATA_ID);
+            loader.loadDataAsync(DATA_ID);
+        }
     }
 
     @Override
     public void newDataLoaded(String data, InputStream is){
         try{
             loadRatesTSV(is);
+            if(!currencyToSdr.isEmpty() && !sdrToCurrency.isEmpty()){
+                setWarm();
+            }
         }
         catch(Exception e){
             LOGGER.log(Level.SEVERE, "Error", e);
@@ -172,23 +188,25 @@ public class IMFRateProvider extends AbstractRateProvider implements LoaderListe
                     rateType = RateType.DEFERRED;
                 }
                 if(currencyToSdr){ // Currency -> SDR
-                    List<ExchangeRate> rates = this.currencyToSdr.get(currency);
+                    List<ExchangeRate> rates = newCurrencyToSdr.get(currency);
                     if(rates == null){
                         rates = new ArrayList<ExchangeRate>(5);
                         newCurrencyToSdr.put(currency, rates);
                     }
                     ExchangeRate rate = new ExchangeRate.Builder(
-                            new ConversionContext.Builder(CONTEXT, rateType).setAttribute(TIMESTAMP, toTS).build())
+                            ContextCache.intern(new ConversionContext.Builder(CONTEXT, rateType)
+                                                        .setAttribute(TIMESTAMP, toTS).build()))
                             .setBase(currency).setTerm(SDR).setFactor(new DefaultNumberValue(values[i])).build();
                     rates.add(rate);
                 }else{ // SDR -> Currency
-                    List<ExchangeRate> rates = this.sdrToCurrency.get(currency);
+                    List<ExchangeRate> rates = newSdrToCurrency.get(currency);
                     if(rates == null){
                         rates = new ArrayList<ExchangeRate>(5);
                         newSdrToCurrency.put(currency, rates);
                     }
                     ExchangeRate rate = new ExchangeRate.Builder(
-                            new ConversionContext.Builder(CONTEXT, rateType).setAttribute(TIMESTAMP, fromTS).build())
+                            ContextCache.intern(new ConversionContext.Builder(CONTEXT, rateType)
+                                                        .setAttribute(TIMESTAMP, fromTS).build()))
                             .setBase(SDR).setTerm(currency).setFactor(DefaultNumberValue.of(values[i])).build();
                     rates.add(rate);
                 }
@@ -240,7 +258,8 @@ public class IMFRateProvider extends AbstractRateProvider implements LoaderListe
             return null;
         }
         ExchangeRate.Builder builder =
-                new ExchangeRate.Builder(ConversionContext.of(CONTEXT.getProvider(), RateType.HISTORIC));
+                new ExchangeRate.Builder(
+                        ContextCache.intern(ConversionContext.of(CONTEXT.getProvider(), RateType.HISTORIC)));
         builder.setBase(base);
         builder.setTerm(term);
         builder.setFactor(multiply(rate1.getFactor(), rate2.getFactor()));
@@ -20,6 +20,7 @@ package org.javamoney.moneta.convert.internal;
 import static org.javamoney.moneta.convert.internal.ProviderConstants.TIMESTAMP;
 
 import org.javamoney.moneta.spi.AbstractRateProvider;
+import org.javamoney.moneta.spi.ContextCache;
 import org.javamoney.moneta.spi.DefaultNumberValue;
 
 import javax.money.CurrencyUnit;
@@ -58,9 +59,9 @@ public class IdentityRateProvider extends AbstractRateProvider{
     protected ExchangeRate getExchangeRateInternal(CurrencyUnit base, CurrencyUnit term, ConversionContext context){
         if(base.getCurrencyCode().equals(term.getCurrencyCode())){
             ExchangeRate.Builder builder = new ExchangeRate.Builder(
-                    new ConversionContext.Builder(CONTEXT, RateType.DEFERRED)
+                    ContextCache.intern(new ConversionContext.Builder(CONTEXT, RateType.DEFERRED)
                             .setAttribute(TIMESTAMP, context.getNamedAttribute(TIMESTAMP, Long.class)
-                            ).build()
+                            ).build())
             );
             builder.setBase(base);
             builder.setTerm(term);
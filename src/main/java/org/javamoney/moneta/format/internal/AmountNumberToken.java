@@ -20,6 +20,9 @@ import javax.money.format.AmountFormatContext;
 
 import javax.money.format.MonetaryParseException;
 
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.spi.LongRounding;
+
 /**
  * {@link FormatToken} which allows to format a {@link Number} type.
  * 
@@ -31,7 +34,9 @@ final class AmountNumberToken implements FormatToken {
 	private String partialNumberPattern;
 	private DecimalFormat parseFormat;
     private DecimalFormat formatFormat;
-	private StringGrouper numberGroup;
+	private DecimalFormatSymbols formatSymbols;
+	/** The grouper, if group sizes are configured, else {@code null}. */
+	private DigitGrouper digitGrouper;
 
 	public AmountNumberToken(AmountFormatContext amountFormatContext, String partialNumberPattern) {
 		if (amountFormatContext == null) {
@@ -53,6 +58,15 @@ final class AmountNumberToken implements FormatToken {
 		}
         formatFormat.applyPattern(this.partialNumberPattern);
         parseFormat.applyPattern(this.partialNumberPattern.trim());
+        formatSymbols = formatFormat.getDecimalFormatSymbols();
+		int[] groupSizes = amountFormatContext.getNamedAttribute("groupingSizes", int[].class, new int[0]);
+		if (groupSizes.length > 0) {
+			char[] groupChars = amountFormatContext.getNamedAttribute("groupingSeparators", char[].class, new char[0]);
+			if (groupChars.length == 0) {
+				groupChars = new char[] { formatSymbols.getGroupingSeparator() };
+			}
+			digitGrouper = new DigitGrouper(groupChars, groupSizes);
+		}
 	}
 
 	/**
@@ -77,47 +91,91 @@ final class AmountNumberToken implements FormatToken {
 	@Override
 	public void print(Appendable appendable, MonetaryAmount amount)
 			throws IOException {
-		int digits = amount.getCurrency().getDefaultFractionDigits();
+		int digits = Math.max(amount.getCurrency().getDefaultFractionDigits(), 0);
 		this.formatFormat.setMinimumFractionDigits(digits);
 		this.formatFormat.setMaximumFractionDigits(digits);
-		if (amountFormatContext.getNamedAttribute("groupingSizes", int[].class, new int[0]).length == 0) {
+		if (digitGrouper == null) {
 			appendable.append(this.formatFormat.format(amount.getNumber()
 					.numberValue(BigDecimal.class)));
 			return;
 		}
-		this.formatFormat.setGroupingUsed(false);
-		String preformattedValue = this.formatFormat.format(amount.getNumber()
-				.numberValue(BigDecimal.class));
-		String[] numberParts = splitNumberParts(this.formatFormat,
-				preformattedValue);
-		if (numberParts.length != 2) {
-			appendable.append(preformattedValue);
-		} else {
-			if (numberGroup == null) {
-				char[] groupChars = amountFormatContext.getNamedAttribute("groupingSeparators", char[].class, new char[0]);
-				if (groupChars.length == 0) {
-					groupChars = new char[] { this.formatFormat
-							.getDecimalFormatSymbols().getGroupingSeparator() };
+		if (amount.getClass() == FastMoney.class
+				&& this.formatFormat.getMultiplier() == 1) {
+			// round the scaled long directly, without any BigDecimal
+			FastMoney money = (FastMoney) amount;
+			if (digits <= money.getScale()) {
+				long unscaled = LongRounding.divide(money.getScaledNumber(),
+						LongRounding.powerOfTen(money.getScale() - digits),
+						this.formatFormat.getRoundingMode());
+				if (unscaled != Long.MIN_VALUE) {
+					printGrouped(appendable, unscaled < 0L, Math.abs(unscaled),
+							digits);
+					return;
 				}
-				numberGroup = new StringGrouper(groupChars,
-                                                amountFormatContext.getNamedAttribute("groupingSizes", int[].class, new int[0]));
 			}
-			preformattedValue = numberGroup.group(numberParts[0])
-					+ this.formatFormat.getDecimalFormatSymbols()
-							.getDecimalSeparator() + numberParts[1];
-			appendable.append(preformattedValue);
 		}
+		BigDecimal number = amount.getNumber().numberValue(BigDecimal.class);
+		if (this.formatFormat.getMultiplier() != 1) {
+			number = number.multiply(BigDecimal.valueOf(this.formatFormat
+					.getMultiplier()));
+		}
+		number = number.setScale(digits, this.formatFormat.getRoundingMode());
+		boolean negative = number.signum() < 0;
+		BigDecimal abs = number.abs();
+		if (abs.precision() <= LongRounding.MAX_POWER_OF_TEN
+				&& digits <= LongRounding.MAX_POWER_OF_TEN) {
+			printGrouped(appendable, negative, abs.unscaledValue().longValue(),
+					digits);
+			return;
+		}
+		char zeroDigit = formatSymbols.getZeroDigit();
+		appendPrefix(appendable, negative);
+		String unscaled = abs.unscaledValue().toString();
+		int fractionStart = unscaled.length() - digits;
+		digitGrouper.appendGrouped(appendable, unscaled, 0,
+				Math.max(fractionStart, 0),
+				this.formatFormat.getMinimumIntegerDigits(), zeroDigit);
+		appendDecimalSeparator(appendable, digits);
+		for (int i = fractionStart; i < unscaled.length(); i++) {
+			appendable.append(i < 0 ? zeroDigit
+					: (char) (zeroDigit + unscaled.charAt(i) - '0'));
+		}
+		appendSuffix(appendable, negative);
+	}
+
+	/**
+	 * Prints the given number, not negative, with the given number of
+	 * fraction digits, using the {@link DigitGrouper}.
+	 */
+	private void printGrouped(Appendable appendable, boolean negative,
+			long unscaled, int digits) throws IOException {
+		char zeroDigit = formatSymbols.getZeroDigit();
+		long unit = LongRounding.powerOfTen(digits);
+		appendPrefix(appendable, negative);
+		digitGrouper.appendGrouped(appendable, unscaled / unit,
+				this.formatFormat.getMinimumIntegerDigits(), zeroDigit);
+		appendDecimalSeparator(appendable, digits);
+		DigitGrouper.appendDigits(appendable, unscaled % unit, digits, zeroDigit);
+		appendSuffix(appendable, negative);
+	}
+
+	private void appendPrefix(Appendable appendable, boolean negative)
+			throws IOException {
+		appendable.append(negative ? this.formatFormat.getNegativePrefix()
+				: this.formatFormat.getPositivePrefix());
 	}
 
-	private String[] splitNumberParts(DecimalFormat format,
-			String preformattedValue) {
-		int index = preformattedValue.indexOf(format.getDecimalFormatSymbols()
-				.getDecimalSeparator());
-		if (index < 0) {
-			return new String[] { preformattedValue };
+	private void appendSuffix(Appendable appendable, boolean negative)
+			throws IOException {
+		appendable.append(negative ? this.formatFormat.getNegativeSuffix()
+				: this.formatFormat.getPositiveSuffix());
+	}
+
+	private void appendDecimalSeparator(Appendable appendable, int digits)
+			throws IOException {
+		if (digits > 0 || this.formatFormat.isDecimalSeparatorAlwaysShown()) {
+			appendable.append(formatSymbols.getDecimalSeparator());
 		}
-		return new String[] { preformattedValue.substring(0, index),
-				preformattedValue.substring(index + 1) };
 	}
 
 	@Override
@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.format.internal;
+
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryCurrencies;
+
+import org.javamoney.moneta.format.CurrencyStyle;
+import org.javamoney.moneta.internal.ConfigurableCurrencyUnitProvider;
+import org.javamoney.moneta.spi.MonetaryConfig;
+
+/**
+ * Cache of the localized symbols and display names of currencies, as
+ * evaluated by {@link Currency#getSymbol(Locale)} and
+ * {@link Currency#getDisplayName(Locale)}, which are comparatively expensive
+ * resource bundle lookups. For each locale also a reverse index, from symbol
+ * and display name to currency, is provided for parsing, as well as an index
+ * of the currency codes and numeric codes. The indexes are prefix tries, see
+ * {@link CurrencyTrie}, so the longest entry at a given input position is
+ * found in a single pass.
+ * <p>
+ * Entries are evaluated lazily on first access, the reverse index of a locale
+ * is built on first reverse lookup, and rebuilt, when the currencies registered
+ * with {@link ConfigurableCurrencyUnitProvider} change. Locales can be preloaded by calling
+ * {@link #preload(Locale...)}, or by configuring the key
+ * {@code format.currency.preload-locales} in {@code javamoney.properties}
+ * with a comma separated list of locales, e.g. {@code en_US,de_CH}.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @author Anatole Tresch
+ */
+public final class CurrencyDisplayCache {
+
+	private static final Logger LOG = Logger
+			.getLogger(CurrencyDisplayCache.class.getName());
+
+	/** Config key for the locales to be preloaded. */
+	private static final String PRELOAD_KEY = "format.currency.preload-locales";
+
+	/** The cached data, by locale. */
+	private static final ConcurrentMap<Locale, LocaleData> LOCALES = new ConcurrentHashMap<>();
+
+	/** The index of codes and numeric codes, rebuilt on changes. */
+	private static volatile CodeIndex codeIndex;
+
+	static {
+		String preload = MonetaryConfig.getConfig().get(PRELOAD_KEY);
+		if (preload != null) {
+			for (String locale : preload.split(",")) {
+				if (!locale.trim().isEmpty()) {
+					try {
+						getLocaleData(toLocale(locale.trim())).getReverseIndex();
+					} catch (Exception e) {
+						LOG.log(Level.SEVERE, "Failed to preload currency data for "
+								+ locale, e);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Singleton constructor.
+	 */
+	private CurrencyDisplayCache() {
+	}
+
+	/**
+	 * Loads the symbols, display names and the reverse index of all JDK
+	 * currencies for the given locales.
+	 *
+	 * @param locales
+	 *            the locales, not {@code null}.
+	 */
+	public static void preload(Locale... locales) {
+		for (Locale locale : locales) {
+			getLocaleData(locale).getReverseIndex();
+		}
+	}
+
+	/**
+	 * Access the localized symbol of the given currency.
+	 *
+	 * @param currency
+	 *            the currency, not {@code null}.
+	 * @param locale
+	 *            the target locale, not {@code null}.
+	 * @return the symbol, or the currency code, if the currency is not known
+	 *         to the JDK.
+	 */
+	public static String getSymbol(CurrencyUnit currency, Locale locale) {
+		LocaleData data = getLocaleData(locale);
+		String code = currency.getCurrencyCode();
+		String symbol = data.symbols.get(code);
+		if (symbol == null) {
+			Currency jdkCurrency = getJDKCurrency(code);
+			symbol = jdkCurrency == null ? code : jdkCurrency.getSymbol(locale);
+			data.symbols.put(code, symbol);
+		}
+		return symbol;
+	}
+
+	/**
+	 * Access the localized display name of the given currency.
+	 *
+	 * @param currency
+	 *            the currency, not {@code null}.
+	 * @param locale
+	 *            the target locale, not {@code null}.
+	 * @return the display name, or the currency code, if the currency is not
+	 *         known to the JDK.
+	 */
+	public static String getName(CurrencyUnit currency, Locale locale) {
+		LocaleData data = getLocaleData(locale);
+		String code = currency.getCurrencyCode();
+		String name = data.names.get(code);
+		if (name == null) {
+			Currency jdkCurrency = getJDKCurrency(code);
+			name = jdkCurrency == null ? code : jdkCurrency.getDisplayName(locale);
+			data.names.put(code, name);
+		}
+		return name;
+	}
+
+	/**
+	 * Access the currency with the given localized symbol. If several
+	 * currencies share a symbol, the locale's currency is preferred, else the
+	 * one with the lowest currency code.
+	 *
+	 * @param symbol
+	 *            the symbol, not {@code null}.
+	 * @param locale
+	 *            the locale, not {@code null}.
+	 * @return the currency, or {@code null}.
+	 */
+	static CurrencyUnit getCurrencyBySymbol(String symbol, Locale locale) {
+		return getLocaleData(locale).getReverseIndex().symbols.get(symbol);
+	}
+
+	/**
+	 * Access the currency with the given localized display name, ignoring
+	 * case. If several currencies share a name, the locale's currency is
+	 * preferred, else the one with the lowest currency code.
+	 *
+	 * @param name
+	 *            the name, not {@code null}.
+	 * @param locale
+	 *            the locale, not {@code null}.
+	 * @return the currency, or {@code null}.
+	 */
+	static CurrencyUnit getCurrencyByName(String name, Locale locale) {
+		return getLocaleData(locale).getReverseIndex().names.get(name);
+	}
+
+	/**
+	 * Access the trie for parsing currencies of the given style. Codes and
+	 * numeric codes are not localized, they cover the JDK currencies and the
+	 * currencies registered with {@link ConfigurableCurrencyUnitProvider}, and
+	 * are rebuilt, when the latter change.
+	 *
+	 * @param style
+	 *            the currency style, not {@code null}.
+	 * @param locale
+	 *            the locale, not {@code null}.
+	 * @return the trie, never {@code null}.
+	 */
+	static CurrencyTrie getTrie(CurrencyStyle style, Locale locale) {
+		switch (style) {
+		case SYMBOL:
+			return getLocaleData(locale).getReverseIndex().symbols;
+		case NAME:
+			return getLocaleData(locale).getReverseIndex().names;
+		case NUMERIC_CODE:
+			return getCodeIndex().numericCodes;
+		case CODE:
+		default:
+			return getCodeIndex().codes;
+		}
+	}
+
+	private static CodeIndex getCodeIndex() {
+		CodeIndex index = codeIndex;
+		ConfigurableCurrencyUnitProvider.Snapshot snapshot = ConfigurableCurrencyUnitProvider
+				.getSnapshot();
+		if (index == null || index.version != snapshot.getVersion()) {
+			index = new CodeIndex(snapshot);
+			codeIndex = index;
+		}
+		return index;
+	}
+
+	private static LocaleData getLocaleData(Locale locale) {
+		Objects.requireNonNull(locale, "Locale required.");
+		LocaleData data = LOCALES.get(locale);
+		if (data == null) {
+			data = new LocaleData(locale);
+			LocaleData existing = LOCALES.putIfAbsent(locale, data);
+			if (existing != null) {
+				data = existing;
+			}
+		}
+		return data;
+	}
+
+	private static CurrencyUnit getCurrencyUnit(String currencyCode) {
+		try {
+			return MonetaryCurrencies.getCurrency(currencyCode);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private static Currency getJDKCurrency(String currencyCode) {
+		try {
+			return Currency.getInstance(currencyCode);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private static Locale toLocale(String locale) {
+		String[] parts = locale.split("_", 3);
+		switch (parts.length) {
+		case 1:
+			return new Locale(parts[0]);
+		case 2:
+			return new Locale(parts[0], parts[1]);
+		default:
+			return new Locale(parts[0], parts[1], parts[2]);
+		}
+	}
+
+	/**
+	 * The cached data of a locale.
+	 */
+	private static final class LocaleData {
+		private final Locale locale;
+		/** The symbols, by currency code. */
+		private final ConcurrentMap<String, String> symbols = new ConcurrentHashMap<>();
+		/** The display names, by currency code. */
+		private final ConcurrentMap<String, String> names = new ConcurrentHashMap<>();
+		/** The reverse index, built on first access and on changes. */
+		private volatile ReverseIndex reverseIndex;
+
+		LocaleData(Locale locale) {
+			this.locale = locale;
+		}
+
+		ReverseIndex getReverseIndex() {
+			ConfigurableCurrencyUnitProvider.Snapshot snapshot = ConfigurableCurrencyUnitProvider
+					.getSnapshot();
+			ReverseIndex index = this.reverseIndex;
+			if (index == null || index.version != snapshot.getVersion()) {
+				synchronized (this) {
+					index = this.reverseIndex;
+					if (index == null || index.version != snapshot.getVersion()) {
+						index = new ReverseIndex(locale, snapshot);
+						this.reverseIndex = index;
+					}
+				}
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Immutable index of the currencies of a locale, by symbol and by display
+	 * name, ignoring case, for the given version of the currencies registered
+	 * with {@link ConfigurableCurrencyUnitProvider}. Registered currencies not
+	 * known to the JDK are indexed by their currency code, as returned by
+	 * {@link CurrencyDisplayCache#getSymbol(CurrencyUnit, Locale)} and
+	 * {@link CurrencyDisplayCache#getName(CurrencyUnit, Locale)}.
+	 */
+	private static final class ReverseIndex {
+		private final long version;
+		private final CurrencyTrie symbols;
+		private final CurrencyTrie names;
+
+		ReverseIndex(Locale locale,
+				ConfigurableCurrencyUnitProvider.Snapshot snapshot) {
+			this.version = snapshot.getVersion();
+			CurrencyTrie.Builder symbolsBuilder = new CurrencyTrie.Builder(false);
+			CurrencyTrie.Builder namesBuilder = new CurrencyTrie.Builder(true);
+			// sorted by code, the locale's currency first, so this order
+			// decides for ambiguous entries
+			Map<String, Currency> currencies = new TreeMap<>();
+			for (Currency currency : Currency.getAvailableCurrencies()) {
+				currencies.put(currency.getCurrencyCode(), currency);
+			}
+			Currency localeCurrency = null;
+			if (!locale.getCountry().isEmpty()) {
+				try {
+					localeCurrency = Currency.getInstance(locale);
+				} catch (Exception e) {
+					// no currency for this locale
+				}
+			}
+			if (localeCurrency != null) {
+				index(localeCurrency, locale, symbolsBuilder, namesBuilder);
+			}
+			for (Currency currency : currencies.values()) {
+				if (!currency.equals(localeCurrency)) {
+					index(currency, locale, symbolsBuilder, namesBuilder);
+				}
+			}
+			Map<String, CurrencyUnit> registered = new TreeMap<>();
+			for (CurrencyUnit unit : snapshot.getCurrencies()) {
+				if (!currencies.containsKey(unit.getCurrencyCode())) {
+					registered.put(unit.getCurrencyCode(), unit);
+				}
+			}
+			for (CurrencyUnit unit : registered.values()) {
+				symbolsBuilder.add(unit.getCurrencyCode(), unit);
+				namesBuilder.add(unit.getCurrencyCode(), unit);
+			}
+			this.symbols = symbolsBuilder.build();
+			this.names = namesBuilder.build();
+		}
+
+		/**
+		 * Adds the currency to the indexes, if not yet present, and fills the
+		 * forward caches.
+		 */
+		private static void index(Currency currency, Locale locale,
+				CurrencyTrie.Builder symbols, CurrencyTrie.Builder names) {
+			CurrencyUnit unit = getCurrencyUnit(currency.getCurrencyCode());
+			String symbol = currency.getSymbol(locale);
+			String name = currency.getDisplayName(locale);
+			LocaleData data = getLocaleData(locale);
+			data.symbols.putIfAbsent(currency.getCurrencyCode(), symbol);
+			data.names.putIfAbsent(currency.getCurrencyCode(), name);
+			if (unit != null) {
+				symbols.add(symbol, unit);
+				names.add(name, unit);
+			}
+		}
+	}
+
+	/**
+	 * Immutable index of the currencies of the JDK and of
+	 * {@link ConfigurableCurrencyUnitProvider}, by currency code and by
+	 * numeric code, for the given version of the registered currencies.
+	 */
+	private static final class CodeIndex {
+		private final long version;
+		private final CurrencyTrie codes;
+		private final CurrencyTrie numericCodes;
+
+		CodeIndex(ConfigurableCurrencyUnitProvider.Snapshot snapshot) {
+			this.version = snapshot.getVersion();
+			// sorted by currency code, so the lowest one wins for ambiguous
+			// numeric codes
+			Map<String, CurrencyUnit> byCode = new TreeMap<>();
+			for (Currency currency : Currency.getAvailableCurrencies()) {
+				CurrencyUnit unit = getCurrencyUnit(currency.getCurrencyCode());
+				if (unit != null) {
+					byCode.put(unit.getCurrencyCode(), unit);
+				}
+			}
+			for (CurrencyUnit unit : snapshot.getCurrencies()) {
+				if (!byCode.containsKey(unit.getCurrencyCode())) {
+					byCode.put(unit.getCurrencyCode(), unit);
+				}
+			}
+			Map<Integer, CurrencyUnit> byNumericCode = new TreeMap<>();
+			CurrencyTrie.Builder codesBuilder = new CurrencyTrie.Builder(false);
+			for (CurrencyUnit unit : byCode.values()) {
+				codesBuilder.add(unit.getCurrencyCode(), unit);
+				if (unit.getNumericCode() >= 0
+						&& !byNumericCode.containsKey(unit.getNumericCode())) {
+					byNumericCode.put(unit.getNumericCode(), unit);
+				}
+			}
+			CurrencyTrie.Builder numericCodesBuilder = new CurrencyTrie.Builder(
+					false);
+			for (Map.Entry<Integer, CurrencyUnit> en : byNumericCode.entrySet()) {
+				numericCodesBuilder.add(String.valueOf(en.getKey()), en.getValue());
+				numericCodesBuilder.add(String.format("%03d", en.getKey()),
+						en.getValue());
+			}
+			this.codes = codesBuilder.build();
+			this.numericCodes = numericCodesBuilder.build();
+		}
+	}
+
+}
@@ -15,6 +15,8 @@ import java.util.Currency;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.money.CurrencyUnit;
 import javax.money.MonetaryAmount;
@@ -32,6 +34,9 @@ import javax.money.format.MonetaryParseException;
  *            The concrete type.
  */
 final class CurrencyToken implements FormatToken {
+	/** The logger used. */
+	private static final Logger LOG = Logger.getLogger(CurrencyToken.class
+			.getName());
 	/** The style defining, how the currency should be localized. */
 	private CurrencyStyle style = CurrencyStyle.CODE;
 	/** The target locale. */
@@ -102,7 +107,8 @@ final class CurrencyToken implements FormatToken {
 	/**
 	 * This method tries to evaluate the localized display name for a
 	 * {@link CurrencyUnit}. It uses {@link Currency#getDisplayName(Locale)} if
-	 * the given currency code maps to a JDK {@link Currency} instance.
+	 * the given currency code maps to a JDK {@link Currency} instance, cached by
+	 * {@link CurrencyDisplayCache}.
 	 * <p>
 	 * If not found {@code currency.getCurrencyCode()} is returned.
 	 * 
@@ -111,25 +117,14 @@ final class CurrencyToken implements FormatToken {
 	 * @return the formatted currency name.
 	 */
 	private String getCurrencyName(CurrencyUnit currency) {
-		Currency jdkCurrency = getCurrency(currency.getCurrencyCode());
-		if (jdkCurrency != null) {
-			return jdkCurrency.getDisplayName(locale);
-		}
-		return currency.getCurrencyCode();
-	}
-
-	private Currency getCurrency(String currencyCode) {
-		try {
-			return Currency.getInstance(currencyCode);
-		} catch (Exception e) {
-			return null;
-		}
+		return CurrencyDisplayCache.getName(currency, locale);
 	}
 
 	/**
 	 * This method tries to evaluate the localized symbol name for a
 	 * {@link CurrencyUnit}. It uses {@link Currency#getSymbol(Locale)} if the
-	 * given currency code maps to a JDK {@link Currency} instance.
+	 * given currency code maps to a JDK {@link Currency} instance, cached by
+	 * {@link CurrencyDisplayCache}.
 	 * <p>
 	 * If not found {@code currency.getCurrencyCode()} is returned.
 	 * 
@@ -138,73 +133,56 @@ final class CurrencyToken implements FormatToken {
 	 * @return the formatted currency symbol.
 	 */
 	private String getCurrencySymbol(CurrencyUnit currency) {
-		Currency jdkCurrency = getCurrency(currency.getCurrencyCode());
-		if (jdkCurrency != null) {
-			return jdkCurrency.getSymbol(locale);
-		}
-		return currency.getCurrencyCode();
+		return CurrencyDisplayCache.getSymbol(currency, locale);
 	}
 
 	/**
-	 * Parses a currency from the given {@link ParseContext}. Depending on the
-	 * current {@link CurrencyStyle} it interprets the next non empty token,
-	 * either as
+	 * Parses a currency from the given {@link ParseContext}. After skipping
+	 * whitespaces, depending on the current {@link CurrencyStyle} the longest
+	 * of the following the remaining input starts with is parsed:
 	 * <ul>
 	 * <li>currency code
-	 * <li>currency symbol
+	 * <li>currency symbol of the locale
+	 * <li>currency name of the locale, ignoring case
+	 * <li>numeric currency code, optionally zero padded to three digits
 	 * </ul>
-	 * Parsing of localized currency names or numeric code is not supported.
-	 * 
-	 * @throws UnsupportedOperationException
-	 *             if the {@link CurrencyStyle} is configured to us currency
-	 *             names, or numeric codes for formatting.
+	 * The entries are matched in one pass over the input using the tries of
+	 * {@link CurrencyDisplayCache}. For the styles other than
+	 * {@link CurrencyStyle#CODE} a currency code is accepted as well. If none
+	 * matches, the next token is interpreted as currency code. If still no
+	 * currency is found, the input is not consumed and no currency is set.
 	 */
 	@Override
 	public void parse(ParseContext context)
 			throws MonetaryParseException {
+		int index = context.skipWhitespace();
+		CharSequence input = context.getOriginalInput();
+		CurrencyTrie.Node match = CurrencyDisplayCache.getTrie(style, locale)
+				.match(input, index);
+		if (match == null && style != CurrencyStyle.CODE) {
+			match = CurrencyDisplayCache.getTrie(CurrencyStyle.CODE, locale)
+					.match(input, index);
+		}
+		if (match != null) {
+			context.setParsedCurrency(match.getCurrency());
+			context.skip(match.getLength());
+			return;
+		}
 		String token = context.lookupNextToken();
-		while (token != null) {
-			if (token.trim().isEmpty()) {
+		if (token != null) {
+			try {
+				context.setParsedCurrency(MonetaryCurrencies.getCurrency(token));
 				context.consume(token);
-				token = context.lookupNextToken();
-				continue;
+				return;
+			} catch (Exception e) {
+				// not a currency code
 			}
-			break;
 		}
-		try {
-			CurrencyUnit cur = null;
-			switch (style) {
-			case CODE:
-				cur = MonetaryCurrencies.getCurrency(token);
-				context.consume(token);
-				break;
-			case SYMBOL:
-				if (token.startsWith("$")) {
-					cur = MonetaryCurrencies.getCurrency("USD");
-					context.consume("$");
-				}
-				else if (token.startsWith("€")) {
-					cur = MonetaryCurrencies.getCurrency("EUR");
-					context.consume("€");
-				}
-				else if (token.startsWith("£")) {
-					cur = MonetaryCurrencies.getCurrency("GBP");
-					context.consume("£");
-				}
-				cur = MonetaryCurrencies.getCurrency(token);
-				context.consume(token);
-				break;
-			case NAME:
-			case NUMERIC_CODE:
-			default:
-				throw new UnsupportedOperationException("Not yet implemented");
-			}
-			if (cur != null) {
-				context.setParsedCurrency(cur);
-			}
-		} catch (Exception e) {
-			e.printStackTrace();
+		if (LOG.isLoggable(Level.FINEST)) {
+			LOG.finest("Could not parse currency at index " + index + " from: "
+					+ input);
 		}
+		context.setErrorMessage("Currency expected.");
 	}
 
 	/**
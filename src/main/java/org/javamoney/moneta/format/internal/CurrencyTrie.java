@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.format.internal;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.money.CurrencyUnit;
+
+/**
+ * Immutable prefix trie mapping strings, e.g. currency symbols or names, to
+ * currencies. {@link #match(CharSequence, int)} finds the longest key at a
+ * given position of the input in a single pass, without creating any objects.
+ * Optionally keys are matched ignoring case, by comparing the characters
+ * converted by {@link Character#toLowerCase(char)}.
+ * <p>
+ * This class is immutable and thread-safe.
+ *
+ * @author Anatole Tresch
+ */
+final class CurrencyTrie {
+
+	private final Node root;
+	private final boolean ignoreCase;
+
+	private CurrencyTrie(Node root, boolean ignoreCase) {
+		this.root = root;
+		this.ignoreCase = ignoreCase;
+	}
+
+	/**
+	 * Access the currency with exactly the given key.
+	 *
+	 * @param key
+	 *            the key, not {@code null}.
+	 * @return the currency, or {@code null}.
+	 */
+	CurrencyUnit get(CharSequence key) {
+		Node node = root;
+		for (int i = 0; i < key.length() && node != null; i++) {
+			node = node.getChild(fold(key.charAt(i)));
+		}
+		return node == null ? null : node.currency;
+	}
+
+	/**
+	 * Finds the longest key starting at the given position, which ends at a
+	 * token boundary: a key ending with a letter must not be followed by a
+	 * letter, a key ending with a digit must not be followed by a digit, e.g.
+	 * {@code Euro} is not matched in {@code Euros}, and {@code 978} is not
+	 * matched in {@code 97812.50}. Other keys, e.g. the symbol {@code $}, may
+	 * be followed by any character.
+	 *
+	 * @param input
+	 *            the input, not {@code null}.
+	 * @param start
+	 *            the start position.
+	 * @return the node of the longest key found, giving the currency and the
+	 *         key's length, or {@code null}.
+	 */
+	Node match(CharSequence input, int start) {
+		Node node = root;
+		Node match = null;
+		for (int i = start; i < input.length(); i++) {
+			node = node.getChild(fold(input.charAt(i)));
+			if (node == null) {
+				break;
+			}
+			if (node.currency != null && isBoundary(input, i)) {
+				match = node;
+			}
+		}
+		return match;
+	}
+
+	/**
+	 * Checks if a key ending at the given index ends at a token boundary.
+	 */
+	private static boolean isBoundary(CharSequence input, int last) {
+		if (last + 1 >= input.length()) {
+			return true;
+		}
+		char lastChar = input.charAt(last);
+		char next = input.charAt(last + 1);
+		if (Character.isLetter(lastChar)) {
+			return !Character.isLetter(next);
+		}
+		if (Character.isDigit(lastChar)) {
+			return !Character.isDigit(next);
+		}
+		return true;
+	}
+
+	private char fold(char c) {
+		return ignoreCase ? Character.toLowerCase(c) : c;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "CurrencyTrie [ignoreCase=" + ignoreCase + ']';
+	}
+
+	/**
+	 * A node of the trie, representing the key leading to it.
+	 */
+	static final class Node {
+		private final char[] keys;
+		private final Node[] children;
+		private final CurrencyUnit currency;
+		private final int length;
+
+		private Node(char[] keys, Node[] children, CurrencyUnit currency,
+				int length) {
+			this.keys = keys;
+			this.children = children;
+			this.currency = currency;
+			this.length = length;
+		}
+
+		private Node getChild(char c) {
+			int index = Arrays.binarySearch(keys, c);
+			return index < 0 ? null : children[index];
+		}
+
+		/**
+		 * Access the currency of the key leading to this node.
+		 *
+		 * @return the currency, or {@code null}, if the key is only a prefix of
+		 *         other keys.
+		 */
+		CurrencyUnit getCurrency() {
+			return currency;
+		}
+
+		/**
+		 * Access the length of the key leading to this node.
+		 *
+		 * @return the key length.
+		 */
+		int getLength() {
+			return length;
+		}
+	}
+
+	/**
+	 * Builder for creating new instances of {@link CurrencyTrie}.
+	 */
+	static final class Builder {
+		private final boolean ignoreCase;
+		private final MutableNode root = new MutableNode();
+
+		/**
+		 * Creates a new builder.
+		 *
+		 * @param ignoreCase
+		 *            true, if keys should be matched ignoring case.
+		 */
+		Builder(boolean ignoreCase) {
+			this.ignoreCase = ignoreCase;
+		}
+
+		/**
+		 * Adds the given key, if not yet present, so keys added first take
+		 * precedence. Empty keys are ignored.
+		 *
+		 * @param key
+		 *            the key, not {@code null}.
+		 * @param currency
+		 *            the currency, not {@code null}.
+		 * @return this builder, for chaining.
+		 */
+		Builder add(String key, CurrencyUnit currency) {
+			if (key.isEmpty()) {
+				return this;
+			}
+			MutableNode node = root;
+			for (int i = 0; i < key.length(); i++) {
+				char c = ignoreCase ? Character.toLowerCase(key.charAt(i)) : key
+						.charAt(i);
+				MutableNode child = node.children.get(c);
+				if (child == null) {
+					child = new MutableNode();
+					node.children.put(c, child);
+				}
+				node = child;
+			}
+			if (node.currency == null) {
+				node.currency = currency;
+			}
+			return this;
+		}
+
+		/**
+		 * Creates a new trie of the keys added.
+		 *
+		 * @return the new trie, never {@code null}.
+		 */
+		CurrencyTrie build() {
+			return new CurrencyTrie(root.toNode(0), ignoreCase);
+		}
+	}
+
+	private static final class MutableNode {
+		private final Map<Character, MutableNode> children = new TreeMap<>();
+		private CurrencyUnit currency;
+
+		Node toNode(int length) {
+			char[] keys = new char[children.size()];
+			Node[] nodes = new Node[children.size()];
+			int i = 0;
+			for (Map.Entry<Character, MutableNode> en : children.entrySet()) {
+				keys[i] = en.getKey();
+				nodes[i] = en.getValue().toNode(length + 1);
+				i++;
+			}
+			return new Node(keys, nodes, currency, length);
+		}
+	}
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.format.internal;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.javamoney.moneta.spi.LongRounding;
+
+/**
+ * Writes the digits of integer values to an {@link Appendable}, inserting
+ * grouping separators with flexible group sizes, e.g. {@code 3, 2} for the
+ * indian style {@code 12,34,56,789}. The first group size and separator apply
+ * to the rightmost group, the last group size is repeated for all remaining
+ * digits, as is the last separator.
+ * <p>
+ * The separator positions are precomputed on creation, so digits are written
+ * from left to right directly to the target, without creating intermediate
+ * objects.
+ * <p>
+ * This class is immutable and thread-safe.
+ *
+ * @author Anatole Tresch
+ */
+final class DigitGrouper {
+
+	/** The separators, the first one for the rightmost group. */
+	private final char[] separators;
+	/**
+	 * The number of digits to the right of each separator with an explicit
+	 * group size, ascending.
+	 */
+	private final int[] boundaries;
+	/** The size of the groups left of the last boundary, 0 for no grouping. */
+	private final int repeatSize;
+
+	/**
+	 * Creates a new instance. If no separators or group sizes are given, or
+	 * any group size is not positive, digits are not grouped.
+	 *
+	 * @param separators
+	 *            the separators, not {@code null}.
+	 * @param groupSizes
+	 *            the group sizes, not {@code null}.
+	 */
+	DigitGrouper(char[] separators, int[] groupSizes) {
+		boolean grouping = separators.length > 0 && groupSizes.length > 0;
+		for (int size : groupSizes) {
+			grouping = grouping && size > 0;
+		}
+		if (grouping) {
+			this.separators = separators.clone();
+			this.boundaries = new int[groupSizes.length];
+			int digits = 0;
+			for (int i = 0; i < groupSizes.length; i++) {
+				digits += groupSizes[i];
+				this.boundaries[i] = digits;
+			}
+			this.repeatSize = groupSizes[groupSizes.length - 1];
+		} else {
+			this.separators = new char[0];
+			this.boundaries = new int[0];
+			this.repeatSize = 0;
+		}
+	}
+
+	/**
+	 * Evaluates the separator following the digit with the given number of
+	 * digits to its right.
+	 *
+	 * @param digitsRight
+	 *            the number of digits to the right.
+	 * @return the index of the separator, counted from the right, or -1, if
+	 *         no separator follows.
+	 */
+	int getSeparatorIndex(int digitsRight) {
+		if (repeatSize == 0 || digitsRight <= 0) {
+			return -1;
+		}
+		int last = boundaries[boundaries.length - 1];
+		if (digitsRight > last) {
+			int remainder = digitsRight - last;
+			return remainder % repeatSize == 0 ? boundaries.length - 1
+					+ remainder / repeatSize : -1;
+		}
+		int index = Arrays.binarySearch(boundaries, digitsRight);
+		return index < 0 ? -1 : index;
+	}
+
+	/**
+	 * Writes the digits of the given value, grouped.
+	 *
+	 * @param appendable
+	 *            the target, not {@code null}.
+	 * @param value
+	 *            the value, not negative.
+	 * @param minDigits
+	 *            the minimal number of digits, padded with leading zeros.
+	 * @param zeroDigit
+	 *            the character for the digit zero, following digits are
+	 *            represented by the subsequent characters.
+	 * @throws IOException
+	 *             may be thrown by the {@link Appendable}.
+	 */
+	void appendGrouped(Appendable appendable, long value, int minDigits,
+			char zeroDigit) throws IOException {
+		int count = 0;
+		while (count <= LongRounding.MAX_POWER_OF_TEN
+				&& value >= LongRounding.powerOfTen(count)) {
+			count++;
+		}
+		for (int i = Math.max(count, minDigits) - 1; i >= 0; i--) {
+			int digit = i < count ? (int) (value / LongRounding.powerOfTen(i) % 10L)
+					: 0;
+			appendable.append((char) (zeroDigit + digit));
+			appendSeparator(appendable, i);
+		}
+	}
+
+	/**
+	 * Writes the given decimal digits, grouped.
+	 *
+	 * @param appendable
+	 *            the target, not {@code null}.
+	 * @param digits
+	 *            the digits {@code '0'} to {@code '9'}, not {@code null}.
+	 * @param start
+	 *            the start index of the digits to be written.
+	 * @param end
+	 *            the end index, exclusive, of the digits to be written.
+	 * @param minDigits
+	 *            the minimal number of digits, padded with leading zeros.
+	 * @param zeroDigit
+	 *            the character for the digit zero, following digits are
+	 *            represented by the subsequent characters.
+	 * @throws IOException
+	 *             may be thrown by the {@link Appendable}.
+	 */
+	void appendGrouped(Appendable appendable, CharSequence digits, int start,
+			int end, int minDigits, char zeroDigit) throws IOException {
+		int count = end - start;
+		for (int i = Math.max(count, minDigits) - 1; i >= 0; i--) {
+			int digit = i < count ? digits.charAt(end - 1 - i) - '0' : 0;
+			appendable.append((char) (zeroDigit + digit));
+			appendSeparator(appendable, i);
+		}
+	}
+
+	/**
+	 * Writes the given number of the lowest digits of the given value,
+	 * ungrouped, e.g. for fraction digits.
+	 *
+	 * @param appendable
+	 *            the target, not {@code null}.
+	 * @param value
+	 *            the value, not negative.
+	 * @param count
+	 *            the number of digits, at most 19.
+	 * @param zeroDigit
+	 *            the character for the digit zero, following digits are
+	 *            represented by the subsequent characters.
+	 * @throws IOException
+	 *             may be thrown by the {@link Appendable}.
+	 */
+	static void appendDigits(Appendable appendable, long value, int count,
+			char zeroDigit) throws IOException {
+		for (int i = count - 1; i >= 0; i--) {
+			appendable.append((char) (zeroDigit + (int) (value
+					/ LongRounding.powerOfTen(i) % 10L)));
+		}
+	}
+
+	private void appendSeparator(Appendable appendable, int digitsRight)
+			throws IOException {
+		int index = getSeparatorIndex(digitsRight);
+		if (index >= 0) {
+			appendable.append(separators[Math.min(index, separators.length - 1)]);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DigitGrouper [separators=" + Arrays.toString(separators)
+				+ ", boundaries=" + Arrays.toString(boundaries) + ", repeatSize="
+				+ repeatSize + ']';
+	}
+
+}
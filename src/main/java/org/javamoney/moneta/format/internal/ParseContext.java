@@ -89,6 +89,22 @@ public final class ParseContext {
 		return false;
 	}
 
+	/**
+	 * Consumes the given number of characters, e.g. a token already matched
+	 * against {@link #getOriginalInput()} at {@link #getIndex()}.
+	 * 
+	 * @param count
+	 *            the number of characters, not negative.
+	 * @throws IllegalArgumentException
+	 *             if the count is negative, or exceeds the remaining input.
+	 */
+	public void skip(int count) {
+		if (count < 0 || index + count > originalInput.length()) {
+			throw new IllegalArgumentException("Invalid count: " + count);
+		}
+		index += count;
+	}
+
 	/**
 	 * Tries to consume one single character.
 	 * 
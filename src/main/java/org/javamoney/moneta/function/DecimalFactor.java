@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.function;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryException;
+import javax.money.MonetaryOperator;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.spi.LongRounding;
+
+/**
+ * Decimal factor applied by the {@link Percent} and {@link Permil} operators.
+ * The factor is kept as {@link BigDecimal} and, if possible, as unscaled long
+ * with a power of ten as divisor, so {@link FastMoney} instances are
+ * multiplied on their scaled number, rounding {@link RoundingMode#HALF_EVEN}.
+ * All other amounts are multiplied by the {@link BigDecimal} value.
+ * <p>
+ * Factors are also used by {@link MonetaryOperatorPipeline} to fuse
+ * consecutive percent and permil stages.
+ * <p>
+ * This class is immutable and thread-safe.
+ *
+ * @author Anatole Tresch
+ */
+final class DecimalFactor implements MonetaryOperator {
+
+	/** The factor. */
+	private final BigDecimal value;
+	/** The unscaled factor, valid if {@link #divisor} is not zero. */
+	private final long unscaled;
+	/** Ten to the power of the factor's scale, or zero, if not representable. */
+	private final long divisor;
+
+	/**
+	 * Creates a new factor.
+	 *
+	 * @param value
+	 *            the factor, not {@code null}.
+	 */
+	DecimalFactor(BigDecimal value) {
+		this.value = value;
+		BigInteger unscaledValue = value.unscaledValue();
+		if (value.scale() >= 0 && value.scale() <= LongRounding.MAX_POWER_OF_TEN
+				&& unscaledValue.bitLength() < 64) {
+			this.unscaled = unscaledValue.longValue();
+			this.divisor = LongRounding.powerOfTen(value.scale());
+		} else {
+			this.unscaled = 0L;
+			this.divisor = 0L;
+		}
+	}
+
+	/**
+	 * Access the factor.
+	 *
+	 * @return the factor, never {@code null}.
+	 */
+	BigDecimal getValue() {
+		return value;
+	}
+
+	/**
+	 * Creates the factor applying this factor and the given one.
+	 *
+	 * @param other
+	 *            the other factor, not {@code null}.
+	 * @return the exact product of both factors.
+	 */
+	DecimalFactor multiply(DecimalFactor other) {
+		return new DecimalFactor(value.multiply(other.value));
+	}
+
+	/**
+	 * Multiplies the given amount by this factor.
+	 *
+	 * @param amount
+	 *            the amount, not {@code null}.
+	 * @return the product.
+	 */
+	// unchecked cast {@code (T)amount.multiply(Number)} is
+	// safe, if the amount is implemented as specified by this JSR.
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends MonetaryAmount> T apply(T amount) {
+		if (amount.getClass() == FastMoney.class) {
+			FastMoney money = (FastMoney) amount;
+			return (T) FastMoney.ofScaled(multiply(money.getScaledNumber()),
+					money.getCurrency());
+		}
+		return (T) amount.multiply(value);
+	}
+
+	/**
+	 * Multiplies a scaled number by this factor, keeping its scale.
+	 */
+	private long multiply(long number) {
+		if (divisor != 0L) {
+			try {
+				return LongRounding.divide(
+						LongRounding.multiplyExact(number, unscaled), divisor,
+						RoundingMode.HALF_EVEN);
+			} catch (ArithmeticException e) {
+				// overflow of the intermediate product, use BigDecimal
+			}
+		}
+		try {
+			return BigDecimal.valueOf(number).multiply(value)
+					.setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+		} catch (ArithmeticException e) {
+			throw new MonetaryException("Multiplication exceeds capabilities of "
+					+ FastMoney.class.getName(), e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DecimalFactor [" + value.toPlainString() + ']';
+	}
+
+}
@@ -13,6 +13,8 @@ import java.util.Objects;
 
 import javax.money.*;
 
+import org.javamoney.moneta.spi.LongRounding;
+
 /**
  * This class allows to extract the major part of a {@link MonetaryAmount} instance.
  * 
@@ -52,6 +54,12 @@ final class MajorPart implements MonetaryOperator {
 	@Override
 	public <T extends MonetaryAmount> T apply(T amount) {
 		Objects.requireNonNull(amount, "Amount required.");
+		if (ScaledAmounts.isCreatable(amount)) {
+			long unscaled = ScaledAmounts.getUnscaled(amount);
+			int scale = ScaledAmounts.getScale(amount);
+			return ScaledAmounts.create(amount, unscaled - unscaled
+					% LongRounding.powerOfTen(scale), scale);
+		}
 		return (T) amount.with(downRounding);
 	}
 
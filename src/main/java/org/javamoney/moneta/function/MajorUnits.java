@@ -50,8 +50,27 @@ final class MajorUnits implements MonetaryQuery<Long> {
 	 */
 	@Override
 	public Long queryFrom(MonetaryAmount amount) {
+		return Long.valueOf(getMajorUnits(amount));
+	}
+
+	/**
+	 * Gets the amount in major units as a {@code long}, see
+	 * {@link #queryFrom(MonetaryAmount)}. {@link org.javamoney.moneta.FastMoney}
+	 * and compact {@link org.javamoney.moneta.CompactMoney} instances are
+	 * evaluated using integer arithmetic only.
+	 * 
+	 * @param amount
+	 *            the amount, not {@code null}.
+	 * @return the major units part of the amount
+	 * @throws ArithmeticException
+	 *             if the amount is too large for a {@code long}
+	 */
+	long getMajorUnits(MonetaryAmount amount) {
 		Objects.requireNonNull(amount, "Amount required.");
-		return Long.valueOf(amount.with(downRounding)
-				.getNumber().longValueExact());
+		if (ScaledAmounts.isScaled(amount)) {
+			return ScaledAmounts.truncate(ScaledAmounts.getUnscaled(amount),
+					ScaledAmounts.getScale(amount));
+		}
+		return amount.with(downRounding).getNumber().longValueExact();
 	}
 }
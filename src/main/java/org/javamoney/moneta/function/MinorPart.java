@@ -17,6 +17,8 @@ import java.util.Objects;
 import javax.money.MonetaryAmount;
 import javax.money.MonetaryOperator;
 
+import org.javamoney.moneta.spi.LongRounding;
+
 /**
  * This class allows to extract the minor part of a {@link MonetaryAmount}
  * instance.
@@ -52,6 +54,11 @@ final class MinorPart implements MonetaryOperator {
 	@Override
 	public <T extends MonetaryAmount> T apply(T amount){
 		Objects.requireNonNull(amount, "Amount required.");
+		if (ScaledAmounts.isCreatable(amount)) {
+			int scale = ScaledAmounts.getScale(amount);
+			return ScaledAmounts.create(amount, ScaledAmounts.getUnscaled(amount)
+					% LongRounding.powerOfTen(scale), scale);
+		}
 		BigDecimal number = amount.getNumber().numberValue(BigDecimal.class);
 		BigDecimal wholes = number.setScale(0, RoundingMode.DOWN);
 		return (T)amount.subtract(amount.getFactory().setNumber(wholes).create());
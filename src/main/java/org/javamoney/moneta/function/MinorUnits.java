@@ -48,13 +48,33 @@ final class MinorUnits implements MonetaryQuery<Long> {
 	 */
 	@Override
 	public Long queryFrom(MonetaryAmount amount) {
+		return Long.valueOf(getMinorUnits(amount));
+	}
+
+	/**
+	 * Gets the amount in minor units as a {@code long}, see
+	 * {@link #queryFrom(MonetaryAmount)}. {@link org.javamoney.moneta.FastMoney}
+	 * and compact {@link org.javamoney.moneta.CompactMoney} instances are
+	 * evaluated using integer arithmetic only.
+	 * 
+	 * @param amount
+	 *            the amount, not {@code null}.
+	 * @return the minor units part of the amount
+	 * @throws ArithmeticException
+	 *             if the amount is too large for a {@code long}
+	 */
+	long getMinorUnits(MonetaryAmount amount) {
 		Objects.requireNonNull(amount, "Amount required.");
-		BigDecimal number = amount.getNumber().numberValue(BigDecimal.class);
 		CurrencyUnit cur = amount.getCurrency();
 		int scale = cur.getDefaultFractionDigits();
 		if(scale<0){
 			scale = 0;
 		}
+		if (ScaledAmounts.isScaled(amount)) {
+			return ScaledAmounts.rescale(ScaledAmounts.getUnscaled(amount),
+					ScaledAmounts.getScale(amount), scale);
+		}
+		BigDecimal number = amount.getNumber().numberValue(BigDecimal.class);
 		number = number.setScale(scale, RoundingMode.DOWN);
 		return number.movePointRight(number.scale()).longValueExact();
 	}
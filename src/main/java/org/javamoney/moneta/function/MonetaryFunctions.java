@@ -12,8 +12,12 @@ package org.javamoney.moneta.function;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.util.Collection;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+import javax.money.MonetaryAmount;
 import javax.money.MonetaryOperator;
 import javax.money.MonetaryQuery;
 
@@ -42,6 +46,28 @@ public final class MonetaryFunctions {
 	/** Shared major units instance. */
 	private static final MajorUnits MAJORUNITS = new MajorUnits();
 
+	/** Number of steps per unit of the cached {@link Percent} instances. */
+	private static final int PERCENT_STEPS = 100;
+	/** Largest cached {@link Percent} value. */
+	private static final int MAX_CACHED_PERCENT = 100;
+	/**
+	 * Shared {@link Percent} instances from 0 to 100 in steps of 0.01, created
+	 * on first access.
+	 */
+	private static final AtomicReferenceArray<Percent> PERCENTS = new AtomicReferenceArray<>(
+			MAX_CACHED_PERCENT * PERCENT_STEPS + 1);
+
+	/** Number of steps per unit of the cached {@link Permil} instances. */
+	private static final int PERMIL_STEPS = 10;
+	/** Largest cached {@link Permil} value. */
+	private static final int MAX_CACHED_PERMIL = 1000;
+	/**
+	 * Shared {@link Permil} instances from 0 to 1000 in steps of 0.1, created
+	 * on first access.
+	 */
+	private static final AtomicReferenceArray<Permil> PERMILS = new AtomicReferenceArray<>(
+			MAX_CACHED_PERMIL * PERMIL_STEPS + 1);
+
 	/**
 	 * Private singleton constructor.
 	 */
@@ -74,16 +100,22 @@ public final class MonetaryFunctions {
 /**
 	 * Factory method creating a new instance with the given {@code BigDecimal) permil value;
 	 * @param decimal the decimal value of the permil operator being created.
-	 * @return a new  {@code Permil} operator
+	 * Instances for values from 0 to 1000 in steps of 0.1 are shared.
+	 * @return the {@code Permil} operator
 	 */
 	public static MonetaryOperator permil(BigDecimal decimal) {
-		return new Permil(decimal);
+		int index = getCacheIndex(decimal, MAX_CACHED_PERMIL, PERMIL_STEPS);
+		if (index < 0) {
+			return new Permil(decimal);
+		}
+		return getPermil(index);
 	}
 
 /**
 	 * Factory method creating a new instance with the given {@code Number) permil value;
 	 * @param decimal the decimal value of the permil operator being created.
-	 * @return a new  {@code Permil} operator
+	 * Instances for values from 0 to 1000 in steps of 0.1 are shared.
+	 * @return the {@code Permil} operator
 	 */
 	public static MonetaryOperator permil(Number number) {
 		return permil(number, DEFAULT_MATH_CONTEXT);
@@ -92,10 +124,74 @@ public final class MonetaryFunctions {
 /**
 	 * Factory method creating a new instance with the given {@code Number) permil value;
 	 * @param decimal the decimal value of the permil operator being created.
-	 * @return a new  {@code Permil} operator
+	 * Instances for values from 0 to 1000 in steps of 0.1 are shared.
+	 * @return the {@code Permil} operator
 	 */
 	public static MonetaryOperator permil(Number number, MathContext mathContext) {
-		return new Permil(getBigDecimal(number, mathContext));
+		int index = getCacheIndex(number, MAX_CACHED_PERMIL, PERMIL_STEPS);
+		if (index >= 0) {
+			return getPermil(index);
+		}
+		return permil(getBigDecimal(number, mathContext));
+	}
+
+	/**
+	 * Access the cached {@link Permil} instance, creating it if not yet
+	 * present.
+	 */
+	private static Permil getPermil(int index) {
+		Permil permil = PERMILS.get(index);
+		if (permil == null) {
+			// concurrent creation is harmless, the instances are equivalent
+			permil = new Permil(BigDecimal.valueOf(index, 1));
+			PERMILS.set(index, permil);
+		}
+		return permil;
+	}
+
+	/**
+	 * Evaluates the index of the cached operator for the given value.
+	 * 
+	 * @param decimal
+	 *            the value.
+	 * @param max
+	 *            the maximal value cached.
+	 * @param steps
+	 *            the number of steps per unit, a power of ten.
+	 * @return the index, or -1, if the value is not cached.
+	 */
+	private static int getCacheIndex(BigDecimal decimal, int max, int steps) {
+		if (decimal.signum() < 0 || decimal.compareTo(BigDecimal.valueOf(max)) > 0) {
+			return -1;
+		}
+		BigDecimal scaled = decimal.multiply(BigDecimal.valueOf(steps));
+		if (scaled.scale() > 0 && scaled.stripTrailingZeros().scale() > 0) {
+			return -1;
+		}
+		return scaled.intValue();
+	}
+
+	/**
+	 * Evaluates the index of the cached operator for the given value, without
+	 * conversion to {@link BigDecimal} for integral values.
+	 * 
+	 * @param number
+	 *            the value.
+	 * @param max
+	 *            the maximal value cached.
+	 * @param steps
+	 *            the number of steps per unit.
+	 * @return the index, or -1, if the value is not cached, or not integral.
+	 */
+	private static int getCacheIndex(Number number, int max, int steps) {
+		if (number instanceof Integer || number instanceof Long
+				|| number instanceof Short || number instanceof Byte) {
+			long value = number.longValue();
+			if (value >= 0 && value <= max) {
+				return (int) value * steps;
+			}
+		}
+		return -1;
 	}
 
 	/**
@@ -130,23 +226,58 @@ public final class MonetaryFunctions {
 /**
 	 * Factory method creating a new instance with the given {@code BigDecimal) percent value;
 	 * @param decimal the decimal value of the percent operator being created.
-	 * @return a new  {@code Percent} operator
+	 * Instances for values from 0 to 100 in steps of 0.01 are shared.
+	 * @return the {@code Percent} operator
 	 */
 	public static MonetaryOperator percent(BigDecimal decimal) {
-		return new Percent(decimal); // TODO caching, e.g. array for 1-100 might
-										// work.
+		int index = getCacheIndex(decimal, MAX_CACHED_PERCENT, PERCENT_STEPS);
+		if (index < 0) {
+			return new Percent(decimal);
+		}
+		return getPercent(index);
+	}
+
+	/**
+	 * Access the cached {@link Percent} instance, creating it if not yet
+	 * present.
+	 */
+	private static Percent getPercent(int index) {
+		Percent percent = PERCENTS.get(index);
+		if (percent == null) {
+			// concurrent creation is harmless, the instances are equivalent
+			percent = new Percent(BigDecimal.valueOf(index, 2));
+			PERCENTS.set(index, percent);
+		}
+		return percent;
 	}
 
 /**
 	 * Factory method creating a new instance with the given {@code Number) percent value;
 	 * @param decimal the decimal value of the percent operator being created.
 	 * 
-	 * @return a new  {@code Percent} operator
+	 * Instances for values from 0 to 100 in steps of 0.01 are shared.
+	 * @return the {@code Percent} operator
 	 */
 	public static MonetaryOperator percent(Number number) {
+		int index = getCacheIndex(number, MAX_CACHED_PERCENT, PERCENT_STEPS);
+		if (index >= 0) {
+			return getPercent(index);
+		}
 		return percent(getBigDecimal(number, DEFAULT_MATH_CONTEXT));
 	}
 
+	/**
+	 * Creates a {@link MonetaryOperatorPipeline} applying the given operators
+	 * in order.
+	 * 
+	 * @param operators
+	 *            the operators, not {@code null}.
+	 * @return the new pipeline, never {@code null}.
+	 */
+	public static MonetaryOperatorPipeline pipeline(MonetaryOperator... operators) {
+		return MonetaryOperatorPipeline.of(operators);
+	}
+
 	/**
 	 * Access the shared instance of {@link MinorPart} for use.
 	 * 
@@ -183,4 +314,105 @@ public final class MonetaryFunctions {
 		return MAJORUNITS;
 	}
 
+	/**
+	 * Evaluates the minor units of all given amounts, as done by
+	 * {@link #minorUnits()}. {@link org.javamoney.moneta.FastMoney} and
+	 * compact {@link org.javamoney.moneta.CompactMoney} instances are
+	 * evaluated without creating any intermediate objects.
+	 * 
+	 * @param amounts
+	 *            the amounts, not {@code null}.
+	 * @return the minor units, in iteration order of the amounts.
+	 * @throws ArithmeticException
+	 *             if an amount is too large for a {@code long}
+	 */
+	public static long[] minorUnits(Collection<? extends MonetaryAmount> amounts) {
+		return minorUnits(amounts, new long[amounts.size()], 0);
+	}
+
+	/**
+	 * Evaluates the minor units of all given amounts into the given array, as
+	 * done by {@link #minorUnits()}.
+	 * 
+	 * @param amounts
+	 *            the amounts, not {@code null}.
+	 * @param target
+	 *            the target array, not {@code null}.
+	 * @param offset
+	 *            the index in the target array, where the first value is
+	 *            written.
+	 * @return the target array.
+	 * @throws ArithmeticException
+	 *             if an amount is too large for a {@code long}
+	 * @throws IndexOutOfBoundsException
+	 *             if the target array is too small.
+	 */
+	public static long[] minorUnits(Collection<? extends MonetaryAmount> amounts,
+			long[] target, int offset) {
+		checkTarget(amounts, target, offset);
+		int index = offset;
+		for (MonetaryAmount amount : amounts) {
+			target[index++] = MINORUNITS.getMinorUnits(amount);
+		}
+		return target;
+	}
+
+	/**
+	 * Evaluates the major units of all given amounts, as done by
+	 * {@link #majorUnits()}. {@link org.javamoney.moneta.FastMoney} and
+	 * compact {@link org.javamoney.moneta.CompactMoney} instances are
+	 * evaluated without creating any intermediate objects.
+	 * 
+	 * @param amounts
+	 *            the amounts, not {@code null}.
+	 * @return the major units, in iteration order of the amounts.
+	 * @throws ArithmeticException
+	 *             if an amount is too large for a {@code long}
+	 */
+	public static long[] majorUnits(Collection<? extends MonetaryAmount> amounts) {
+		return majorUnits(amounts, new long[amounts.size()], 0);
+	}
+
+	/**
+	 * Evaluates the major units of all given amounts into the given array, as
+	 * done by {@link #majorUnits()}.
+	 * 
+	 * @param amounts
+	 *            the amounts, not {@code null}.
+	 * @param target
+	 *            the target array, not {@code null}.
+	 * @param offset
+	 *            the index in the target array, where the first value is
+	 *            written.
+	 * @return the target array.
+	 * @throws ArithmeticException
+	 *             if an amount is too large for a {@code long}
+	 * @throws IndexOutOfBoundsException
+	 *             if the target array is too small.
+	 */
+	public static long[] majorUnits(Collection<? extends MonetaryAmount> amounts,
+			long[] target, int offset) {
+		checkTarget(amounts, target, offset);
+		int index = offset;
+		for (MonetaryAmount amount : amounts) {
+			target[index++] = MAJORUNITS.getMajorUnits(amount);
+		}
+		return target;
+	}
+
+	/**
+	 * Checks the target array of a bulk operation is large enough, so no
+	 * values are written, if not.
+	 */
+	private static void checkTarget(Collection<? extends MonetaryAmount> amounts,
+			long[] target, int offset) {
+		Objects.requireNonNull(amounts, "Amounts required.");
+		Objects.requireNonNull(target, "Target required.");
+		if (offset < 0 || offset > target.length - amounts.size()) {
+			throw new IndexOutOfBoundsException("Target too small: offset="
+					+ offset + ", size=" + amounts.size() + ", length="
+					+ target.length);
+		}
+	}
+
 }
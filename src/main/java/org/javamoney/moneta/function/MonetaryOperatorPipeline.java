@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.function;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryException;
+import javax.money.MonetaryOperator;
+
+/**
+ * A sequence of {@link MonetaryOperator} instances applied as one operator.
+ * On creation consecutive percent and permil operators of this package are
+ * fused into one stage, multiplying by the exact product of their factors, so
+ * the amount is rounded once for all of them, instead of after each operator.
+ * Factors of one are removed. All other operators are applied as they are.
+ * <p>
+ * Different to chained {@link MonetaryAmount#with(MonetaryOperator)} calls,
+ * the stages are called directly and errors are handled once for the whole
+ * pipeline. Batches of amounts are processed stage by stage, see
+ * {@link #applyAll(Collection)}.
+ * <p>
+ * Optionally the time spent in each stage is recorded, see
+ * {@link Builder#setTimingEnabled(boolean)}. Timing uses
+ * {@link System#nanoTime()} before and after each stage, so it should be
+ * enabled for analysis only.
+ * <p>
+ * This class is thread-safe, if the operators passed are thread-safe.
+ *
+ * @author Anatole Tresch
+ */
+public final class MonetaryOperatorPipeline implements MonetaryOperator {
+
+	/** The stages, after fusing. */
+	private final MonetaryOperator[] stages;
+	/** The nanoseconds spent per stage, or null, if timing is disabled. */
+	private final AtomicLongArray stageNanos;
+	/** The amounts processed per stage, or null, if timing is disabled. */
+	private final AtomicLongArray stageAmounts;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param builder
+	 *            the builder, not {@code null}.
+	 */
+	private MonetaryOperatorPipeline(Builder builder) {
+		List<MonetaryOperator> fused = new ArrayList<>(builder.operators.size());
+		DecimalFactor factor = null;
+		for (MonetaryOperator operator : builder.operators) {
+			DecimalFactor stageFactor = getFactor(operator);
+			if (stageFactor != null) {
+				factor = factor == null ? stageFactor : factor.multiply(stageFactor);
+				continue;
+			}
+			addFactor(fused, factor);
+			factor = null;
+			fused.add(operator);
+		}
+		addFactor(fused, factor);
+		this.stages = fused.toArray(new MonetaryOperator[fused.size()]);
+		if (builder.timingEnabled) {
+			this.stageNanos = new AtomicLongArray(stages.length);
+			this.stageAmounts = new AtomicLongArray(stages.length);
+		} else {
+			this.stageNanos = null;
+			this.stageAmounts = null;
+		}
+	}
+
+	/**
+	 * Creates a new pipeline applying the given operators in order, with
+	 * timing disabled.
+	 *
+	 * @param operators
+	 *            the operators, not {@code null}.
+	 * @return the new pipeline.
+	 */
+	public static MonetaryOperatorPipeline of(MonetaryOperator... operators) {
+		return new Builder().add(operators).build();
+	}
+
+	private static DecimalFactor getFactor(MonetaryOperator operator) {
+		if (operator instanceof Percent) {
+			return ((Percent) operator).getFactor();
+		}
+		if (operator instanceof Permil) {
+			return ((Permil) operator).getFactor();
+		}
+		if (operator instanceof DecimalFactor) {
+			return (DecimalFactor) operator;
+		}
+		return null;
+	}
+
+	private static void addFactor(List<MonetaryOperator> stages,
+			DecimalFactor factor) {
+		if (factor != null && factor.getValue().compareTo(BigDecimal.ONE) != 0) {
+			stages.add(factor);
+		}
+	}
+
+	/**
+	 * Applies all stages to the given amount.
+	 *
+	 * @param amount
+	 *            the amount, not {@code null}.
+	 * @return the result, of the same type as the amount.
+	 * @throws MonetaryException
+	 *             if a stage fails, or returns another amount type.
+	 */
+	@Override
+	public <T extends MonetaryAmount> T apply(T amount) {
+		Objects.requireNonNull(amount, "Amount required.");
+		T result = amount;
+		int stage = 0;
+		try {
+			if (stageNanos == null) {
+				for (; stage < stages.length; stage++) {
+					result = stages[stage].apply(result);
+				}
+			} else {
+				for (; stage < stages.length; stage++) {
+					long start = System.nanoTime();
+					result = stages[stage].apply(result);
+					record(stage, System.nanoTime() - start, 1);
+				}
+			}
+		} catch (Exception e) {
+			throw new MonetaryException("Operator failed: " + stages[stage], e);
+		}
+		checkResult(amount, result);
+		return result;
+	}
+
+	/**
+	 * Applies all stages to all given amounts. The amounts are processed stage
+	 * by stage, i.e. each stage is applied to all amounts, before the next
+	 * stage is applied.
+	 *
+	 * @param amounts
+	 *            the amounts, not {@code null}.
+	 * @return the results, in iteration order of the amounts.
+	 * @throws MonetaryException
+	 *             if a stage fails, or returns another amount type.
+	 */
+	public <T extends MonetaryAmount> List<T> applyAll(
+			Collection<? extends T> amounts) {
+		Objects.requireNonNull(amounts, "Amounts required.");
+		List<T> results = new ArrayList<>(amounts);
+		int size = results.size();
+		for (int stage = 0; stage < stages.length; stage++) {
+			MonetaryOperator operator = stages[stage];
+			long start = stageNanos == null ? 0L : System.nanoTime();
+			try {
+				for (int i = 0; i < size; i++) {
+					results.set(i, operator.apply(results.get(i)));
+				}
+			} catch (Exception e) {
+				throw new MonetaryException("Operator failed: " + operator, e);
+			}
+			if (stageNanos != null) {
+				record(stage, System.nanoTime() - start, size);
+			}
+		}
+		Iterator<? extends T> it = amounts.iterator();
+		for (int i = 0; i < size; i++) {
+			checkResult(it.next(), results.get(i));
+		}
+		return results;
+	}
+
+	private void record(int stage, long nanos, int amounts) {
+		stageNanos.addAndGet(stage, nanos);
+		stageAmounts.addAndGet(stage, amounts);
+	}
+
+	private static void checkResult(MonetaryAmount amount, MonetaryAmount result) {
+		if (result == null || result.getClass() != amount.getClass()) {
+			throw new MonetaryException("Pipeline returned "
+					+ (result == null ? null : result.getClass().getName())
+					+ " for " + amount.getClass().getName());
+		}
+	}
+
+	/**
+	 * Access the stages, after fusing.
+	 *
+	 * @return the stages, never {@code null}.
+	 */
+	public List<MonetaryOperator> getStages() {
+		return Collections.unmodifiableList(Arrays.asList(stages));
+	}
+
+	/**
+	 * Checks if timing is enabled.
+	 *
+	 * @return true, if the time spent in each stage is recorded.
+	 */
+	public boolean isTimingEnabled() {
+		return stageNanos != null;
+	}
+
+	/**
+	 * Access the time spent in each stage since creation, or the last call of
+	 * {@link #resetTiming()}.
+	 *
+	 * @return the nanoseconds per stage, in order of {@link #getStages()}.
+	 * @throws IllegalStateException
+	 *             if timing is not enabled.
+	 */
+	public long[] getStageNanos() {
+		return toArray(stageNanos);
+	}
+
+	/**
+	 * Access the number of amounts processed by each stage since creation, or
+	 * the last call of {@link #resetTiming()}.
+	 *
+	 * @return the number of amounts per stage, in order of
+	 *         {@link #getStages()}.
+	 * @throws IllegalStateException
+	 *             if timing is not enabled.
+	 */
+	public long[] getStageAmounts() {
+		return toArray(stageAmounts);
+	}
+
+	/**
+	 * Resets the recorded timing.
+	 *
+	 * @throws IllegalStateException
+	 *             if timing is not enabled.
+	 */
+	public void resetTiming() {
+		checkTimingEnabled();
+		for (int i = 0; i < stages.length; i++) {
+			stageNanos.set(i, 0L);
+			stageAmounts.set(i, 0L);
+		}
+	}
+
+	private long[] toArray(AtomicLongArray values) {
+		checkTimingEnabled();
+		long[] result = new long[values.length()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = values.get(i);
+		}
+		return result;
+	}
+
+	private void checkTimingEnabled() {
+		if (stageNanos == null) {
+			throw new IllegalStateException("Timing is not enabled.");
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "MonetaryOperatorPipeline [stages=" + Arrays.toString(stages)
+				+ ']';
+	}
+
+	/**
+	 * Builder for creating new instances of {@link MonetaryOperatorPipeline}.
+	 */
+	public static final class Builder {
+
+		private final List<MonetaryOperator> operators = new ArrayList<>();
+		private boolean timingEnabled;
+
+		/**
+		 * Adds the given operators, in order. The stages of pipelines added
+		 * are added individually, so they are fused with their neighbours.
+		 *
+		 * @param operators
+		 *            the operators, not {@code null}.
+		 * @return this builder, for chaining.
+		 */
+		public Builder add(MonetaryOperator... operators) {
+			Objects.requireNonNull(operators, "Operators required.");
+			for (MonetaryOperator operator : operators) {
+				Objects.requireNonNull(operator, "Operator required.");
+				if (operator instanceof MonetaryOperatorPipeline) {
+					this.operators.addAll(Arrays
+							.asList(((MonetaryOperatorPipeline) operator).stages));
+				} else {
+					this.operators.add(operator);
+				}
+			}
+			return this;
+		}
+
+		/**
+		 * Enables or disables recording the time spent in each stage.
+		 *
+		 * @param timingEnabled
+		 *            true, to enable timing.
+		 * @return this builder, for chaining.
+		 */
+		public Builder setTimingEnabled(boolean timingEnabled) {
+			this.timingEnabled = timingEnabled;
+			return this;
+		}
+
+		/**
+		 * Creates a new pipeline of the operators added.
+		 *
+		 * @return the new pipeline, never {@code null}.
+		 */
+		public MonetaryOperatorPipeline build() {
+			return new MonetaryOperatorPipeline(this);
+		}
+	}
+
+}
@@ -35,6 +35,8 @@ final class Percent implements MonetaryOperator {
 
 	private final BigDecimal percentValue;
 
+	private final DecimalFactor factor;
+
 	/**
 	 * Access the shared instance of {@link Percent} for use.
 	 * 
@@ -42,6 +44,7 @@ final class Percent implements MonetaryOperator {
 	 */
 	Percent(final BigDecimal decimal) {
 		percentValue = calcPercent(decimal);
+		factor = new DecimalFactor(percentValue);
 	}
 
 	/**
@@ -51,15 +54,23 @@ final class Percent implements MonetaryOperator {
 	 * 2.35' will return 0.235.
 	 * <p>
 	 * This is returned as a {@code MonetaryAmount}.
+	 * {@link org.javamoney.moneta.FastMoney} instances are multiplied on their
+	 * scaled number, rounding {@link java.math.RoundingMode#HALF_EVEN}.
 	 * 
 	 * @return the percent result of the amount, never {@code null}
 	 */
-	// unchecked cast {@code (T)amount.with(MonetaryOperator)} is
-	// safe, if the operator is implemented as specified by this JSR.
-	@SuppressWarnings("unchecked")
 	@Override
 	public <T extends MonetaryAmount> T apply(T amount) {
-		return (T)amount.multiply(percentValue);
+		return factor.apply(amount);
+	}
+
+	/**
+	 * Access the factor applied by this operator.
+	 * 
+	 * @return the factor, never {@code null}.
+	 */
+	DecimalFactor getFactor() {
+		return factor;
 	}
 
 	/*
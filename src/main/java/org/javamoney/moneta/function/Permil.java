@@ -35,6 +35,8 @@ final class Permil implements MonetaryOperator {
 
 	private final BigDecimal permilValue;
 
+	private final DecimalFactor factor;
+
 	/**
 	 * Get {@link MathContext} for {@link Permil} instances.
 	 * 
@@ -54,6 +56,7 @@ final class Permil implements MonetaryOperator {
 	 */
 	Permil(final BigDecimal decimal) {
 		permilValue = calcPermil(decimal);
+		factor = new DecimalFactor(permilValue);
 	}
 
 	/**
@@ -63,15 +66,23 @@ final class Permil implements MonetaryOperator {
 	 * 2.35' will return 0.235.
 	 * <p>
 	 * This is returned as a {@code MonetaryAmount}.
+	 * {@link org.javamoney.moneta.FastMoney} instances are multiplied on their
+	 * scaled number, rounding {@link java.math.RoundingMode#HALF_EVEN}.
 	 * 
 	 * @return the permil result of the amount, never {@code null}
 	 */
-	// unchecked cast {@code (T)amount.with(MonetaryOperator)} is
-	// safe, if the operator is implemented as specified by this JSR.
-	@SuppressWarnings("unchecked")
 	@Override
 	public <T extends MonetaryAmount> T apply(T amount) {
-		return (T)amount.multiply(permilValue);
+		return factor.apply(amount);
+	}
+
+	/**
+	 * Access the factor applied by this operator.
+	 * 
+	 * @return the factor, never {@code null}.
+	 */
+	DecimalFactor getFactor() {
+		return factor;
 	}
 
 	/*
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.function;
+
+import javax.money.MonetaryAmount;
+
+import org.javamoney.moneta.CompactMoney;
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.spi.LongRounding;
+
+/**
+ * Integer arithmetic on amounts whose numeric value is accessible as unscaled
+ * long and scale, which are {@link FastMoney} instances and
+ * {@link CompactMoney} instances in compact form. Used by the functions of
+ * this package to avoid converting such amounts to
+ * {@link java.math.BigDecimal}.
+ *
+ * @author Anatole Tresch
+ */
+final class ScaledAmounts {
+
+	/**
+	 * Singleton constructor.
+	 */
+	private ScaledAmounts() {
+	}
+
+	/**
+	 * Checks if the numeric value of the given amount is accessible as
+	 * unscaled long and scale.
+	 *
+	 * @param amount
+	 *            the amount, not {@code null}.
+	 * @return true, if {@link #getUnscaled(MonetaryAmount)} and
+	 *         {@link #getScale(MonetaryAmount)} can be called.
+	 */
+	static boolean isScaled(MonetaryAmount amount) {
+		Class<?> type = amount.getClass();
+		return type == FastMoney.class
+				|| (type == CompactMoney.class && ((CompactMoney) amount)
+						.isCompact());
+	}
+
+	/**
+	 * Checks if amounts of the same type can be created from an unscaled long
+	 * and scale by {@link #create(MonetaryAmount, long, int)}, without losing
+	 * the {@link javax.money.MonetaryContext} of the given amount.
+	 *
+	 * @param amount
+	 *            the amount, not {@code null}.
+	 * @return true, if {@link #create(MonetaryAmount, long, int)} can be
+	 *         called.
+	 */
+	static boolean isCreatable(MonetaryAmount amount) {
+		// contexts are interned, so an identity check is sufficient
+		return isScaled(amount)
+				&& (amount.getClass() == FastMoney.class || amount
+						.getMonetaryContext() == CompactMoney.DEFAULT_MONETARY_CONTEXT);
+	}
+
+	/**
+	 * Access the unscaled value, see {@link #isScaled(MonetaryAmount)}.
+	 *
+	 * @param amount
+	 *            the amount, not {@code null}.
+	 * @return the unscaled value.
+	 */
+	static long getUnscaled(MonetaryAmount amount) {
+		if (amount.getClass() == FastMoney.class) {
+			return ((FastMoney) amount).getScaledNumber();
+		}
+		return ((CompactMoney) amount).getUnscaledValue();
+	}
+
+	/**
+	 * Access the scale, see {@link #isScaled(MonetaryAmount)}.
+	 *
+	 * @param amount
+	 *            the amount, not {@code null}.
+	 * @return the scale.
+	 */
+	static int getScale(MonetaryAmount amount) {
+		if (amount.getClass() == FastMoney.class) {
+			return ((FastMoney) amount).getScale();
+		}
+		return ((CompactMoney) amount).getScale();
+	}
+
+	/**
+	 * Creates an amount of the same type and currency, see
+	 * {@link #isCreatable(MonetaryAmount)}.
+	 *
+	 * @param amount
+	 *            the template amount, not {@code null}.
+	 * @param unscaled
+	 *            the unscaled value.
+	 * @param scale
+	 *            the scale, equal to the template's scale for
+	 *            {@link FastMoney}.
+	 * @return the new amount.
+	 */
+	// unchecked cast is safe, the amount created has the template's type
+	@SuppressWarnings("unchecked")
+	static <T extends MonetaryAmount> T create(T amount, long unscaled,
+			int scale) {
+		if (amount.getClass() == FastMoney.class) {
+			return (T) FastMoney.ofScaled(unscaled, amount.getCurrency());
+		}
+		return (T) CompactMoney.ofUnscaled(unscaled, scale,
+				amount.getCurrency());
+	}
+
+	/**
+	 * Changes the scale of an unscaled value, truncating digits if the scale
+	 * is reduced.
+	 *
+	 * @param unscaled
+	 *            the unscaled value.
+	 * @param scale
+	 *            the current scale.
+	 * @param newScale
+	 *            the target scale.
+	 * @return the unscaled value at the target scale.
+	 * @throws ArithmeticException
+	 *             if the result is not representable as long.
+	 */
+	static long rescale(long unscaled, int scale, int newScale) {
+		if (newScale < scale) {
+			return truncate(unscaled, scale - newScale);
+		}
+		int digits = newScale - scale;
+		if (unscaled == 0L || digits == 0) {
+			return unscaled;
+		}
+		if (digits > LongRounding.MAX_POWER_OF_TEN) {
+			throw new ArithmeticException("Overflow: " + unscaled + "E"
+					+ digits);
+		}
+		return LongRounding.multiplyExact(unscaled,
+				LongRounding.powerOfTen(digits));
+	}
+
+	/**
+	 * Removes the given number of digits, rounding toward zero.
+	 *
+	 * @param unscaled
+	 *            the unscaled value.
+	 * @param digits
+	 *            the number of digits, not negative.
+	 * @return the truncated value.
+	 */
+	static long truncate(long unscaled, int digits) {
+		if (digits > LongRounding.MAX_POWER_OF_TEN) {
+			return 0L;
+		}
+		return unscaled / LongRounding.powerOfTen(digits);
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * CREDIT SUISSE IS WILLING TO LICENSE THIS SPECIFICATION TO YOU ONLY UPON THE CONDITION THAT YOU
+ * ACCEPT ALL OF THE TERMS CONTAINED IN THIS AGREEMENT. PLEASE READ THE TERMS AND CONDITIONS OF THIS
+ * AGREEMENT CAREFULLY. BY DOWNLOADING THIS SPECIFICATION, YOU ACCEPT THE TERMS AND CONDITIONS OF
+ * THE AGREEMENT. IF YOU ARE NOT WILLING TO BE BOUND BY IT, SELECT THE "DECLINE" BUTTON AT THE
+ * BOTTOM OF THIS PAGE. Specification: JSR-354 Money and Currency API ("Specification") Copyright
+ * (c) 2012-2014, Credit Suisse All rights reserved.
+ */
+package org.javamoney.moneta.internal;
+
+import org.javamoney.moneta.CompactMoney;
+import org.javamoney.moneta.spi.AbstractAmountFactory;
+import org.javamoney.moneta.spi.ContextCache;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryContext;
+
+/**
+ * Implementation of {@link javax.money.MonetaryAmountFactory} creating instances of {@link CompactMoney}.
+ *
+ * @author Anatole Tresch
+ */
+public class CompactMoneyAmountFactory extends AbstractAmountFactory<CompactMoney>{
+
+    static final MonetaryContext DEFAULT_CONTEXT = CompactMoney.DEFAULT_MONETARY_CONTEXT;
+    static final MonetaryContext MAX_CONTEXT = CompactMoney.DEFAULT_MONETARY_CONTEXT;
+
+    /*
+     * (non-Javadoc)
+     * @see org.javamoney.moneta.spi.AbstractAmountFactory#create(java.lang.Number, javax.money.CurrencyUnit,
+     * javax.money.MonetaryContext)
+     */
+    @Override
+    protected CompactMoney create(Number number, CurrencyUnit currency, MonetaryContext monetaryContext){
+        return CompactMoney.of(number, currency, ContextCache.intern(monetaryContext, CompactMoney.class));
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.javamoney.moneta.spi.AbstractAmountFactory#create(long, int, javax.money.CurrencyUnit)
+     */
+    @Override
+    public CompactMoney create(long unscaled, int scale, CurrencyUnit currency){
+        return CompactMoney.ofUnscaled(unscaled, scale, currency);
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see javax.money.MonetaryAmountFactory#getAmountType()
+     */
+    @Override
+    public Class<CompactMoney> getAmountType(){
+        return CompactMoney.class;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.javamoney.moneta.spi.AbstractAmountFactory#loadDefaultMonetaryContext()
+     */
+    @Override
+    protected MonetaryContext loadDefaultMonetaryContext(){
+        return DEFAULT_CONTEXT;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.javamoney.moneta.spi.AbstractAmountFactory#loadMaxMonetaryContext()
+     */
+    @Override
+    protected MonetaryContext loadMaxMonetaryContext(){
+        return MAX_CONTEXT;
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * CREDIT SUISSE IS WILLING TO LICENSE THIS SPECIFICATION TO YOU ONLY UPON THE CONDITION THAT YOU
+ * ACCEPT ALL OF THE TERMS CONTAINED IN THIS AGREEMENT. PLEASE READ THE TERMS AND CONDITIONS OF THIS
+ * AGREEMENT CAREFULLY. BY DOWNLOADING THIS SPECIFICATION, YOU ACCEPT THE TERMS AND CONDITIONS OF
+ * THE AGREEMENT. IF YOU ARE NOT WILLING TO BE BOUND BY IT, SELECT THE "DECLINE" BUTTON AT THE
+ * BOTTOM OF THIS PAGE. Specification: JSR-354 Money and Currency API ("Specification") Copyright
+ * (c) 2012-2014, Credit Suisse All rights reserved.
+ */
+package org.javamoney.moneta.internal;
+
+import javax.money.MonetaryAmountFactory;
+import javax.money.MonetaryContext;
+import javax.money.spi.MonetaryAmountFactoryProviderSpi;
+
+import org.javamoney.moneta.CompactMoney;
+
+/**
+ * Implementation of {@link MonetaryAmountFactoryProviderSpi} creating instances of
+ * {@link CompactMoneyAmountFactory}. The type is only selected, when explicitly
+ * required, so {@link org.javamoney.moneta.Money} remains the default for
+ * precision oriented queries.
+ * 
+ * @author Anatole Tresch
+ */
+public final class CompactMoneyAmountFactoryProvider implements
+		MonetaryAmountFactoryProviderSpi<CompactMoney> {
+
+	@Override
+	public Class<CompactMoney> getAmountType() {
+		return CompactMoney.class;
+	}
+
+	@Override
+	public MonetaryAmountFactory<CompactMoney> createMonetaryAmountFactory() {
+		return new CompactMoneyAmountFactory();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see javax.money.spi.MonetaryAmountFactoryProviderSpi#getQueryInclusionPolicy()
+	 */
+	@Override
+	public QueryInclusionPolicy getQueryInclusionPolicy() {
+		return QueryInclusionPolicy.DIRECT_REFERENCE_ONLY;
+	}
+
+	@Override
+	public MonetaryContext getDefaultMonetaryContext() {
+		return CompactMoneyAmountFactory.DEFAULT_CONTEXT;
+	}
+
+	@Override
+	public MonetaryContext getMaximalMonetaryContext() {
+		return CompactMoneyAmountFactory.MAX_CONTEXT;
+	}
+
+}
@@ -13,34 +13,58 @@ package org.javamoney.moneta.internal;
 import javax.money.CurrencyUnit;
 import javax.money.spi.CurrencyProviderSpi;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * This class provides a programmatic singleton for globally registering new {@link java.util.Currency}  into the
  * {@link javax.money.MonetaryCurrencies} singleton either by currency code, locale, or both.
+ * <p>
+ * The registered units are published as immutable {@link Snapshot} instances, replaced atomically on each
+ * registration or removal. Reads are lock-free and never see a partially applied change, and derived data can be
+ * cached by the {@link Snapshot#getVersion() version} of the snapshot it was derived from.
  */
 public class ConfigurableCurrencyUnitProvider implements CurrencyProviderSpi{
-    /** The currency units, identified by currency code. */
-    private static Map<String,CurrencyUnit> currencyUnits = new ConcurrentHashMap<>();
-    /** The currency units identified by Locale. */
-    private static Map<Locale,CurrencyUnit> currencyUnitsByLocale = new ConcurrentHashMap<>();
+    /** The current snapshot of the registered currency units. */
+    private static final AtomicReference<Snapshot> SNAPSHOT = new AtomicReference<>(Snapshot.EMPTY);
 
     @Override
     public CurrencyUnit getCurrencyUnit(String currencyCode){
-        return currencyUnits.get(currencyCode);
+        return SNAPSHOT.get().getCurrencyUnit(currencyCode);
     }
 
     @Override
     public CurrencyUnit getCurrencyUnit(Locale locale){
-        return currencyUnitsByLocale.get(locale);
+        return SNAPSHOT.get().getCurrencyUnit(locale);
     }
 
+    /**
+     * Access the currency units registered by currency code.
+     * @return the units of the current snapshot, not modified by later registrations or removals.
+     */
     @Override
     public Collection<CurrencyUnit> getCurrencies(){
-        return currencyUnits.values();
+        return SNAPSHOT.get().getCurrencies();
+    }
+
+    /**
+     * Access the current snapshot of the registered currency units.
+     * @return the current snapshot, never null.
+     */
+    public static Snapshot getSnapshot(){
+        return SNAPSHOT.get();
+    }
+
+    /**
+     * Access the version of the current snapshot, which is incremented on each change.
+     * @return the current version.
+     */
+    public static long getVersion(){
+        return SNAPSHOT.get().getVersion();
     }
 
     /**
@@ -50,7 +74,14 @@ public class ConfigurableCurrencyUnitProvider implements CurrencyProviderSpi{
      */
     public static CurrencyUnit registerCurrencyUnit(CurrencyUnit currencyUnit){
         Objects.requireNonNull(currencyUnit);
-        return ConfigurableCurrencyUnitProvider.currencyUnits.put(currencyUnit.getCurrencyCode(), currencyUnit);
+        while(true){
+            Snapshot snapshot = SNAPSHOT.get();
+            Map<String,CurrencyUnit> codes = new HashMap<>(snapshot.codes);
+            CurrencyUnit previous = codes.put(currencyUnit.getCurrencyCode(), currencyUnit);
+            if(SNAPSHOT.compareAndSet(snapshot, new Snapshot(snapshot, codes, snapshot.locales))){
+                return previous;
+            }
+        }
     }
 
     /**
@@ -62,7 +93,14 @@ public class ConfigurableCurrencyUnitProvider implements CurrencyProviderSpi{
     public static CurrencyUnit registerCurrencyUnit(CurrencyUnit currencyUnit, Locale locale){
         Objects.requireNonNull(locale);
         Objects.requireNonNull(currencyUnit);
-        return ConfigurableCurrencyUnitProvider.currencyUnitsByLocale.put(locale, currencyUnit);
+        while(true){
+            Snapshot snapshot = SNAPSHOT.get();
+            Map<Locale,CurrencyUnit> locales = new HashMap<>(snapshot.locales);
+            CurrencyUnit previous = locales.put(locale, currencyUnit);
+            if(SNAPSHOT.compareAndSet(snapshot, new Snapshot(snapshot, snapshot.codes, locales))){
+                return previous;
+            }
+        }
     }
 
     /**
@@ -72,7 +110,17 @@ public class ConfigurableCurrencyUnitProvider implements CurrencyProviderSpi{
      */
     public static CurrencyUnit removeCurrencyUnit(String currencyCode){
         Objects.requireNonNull(currencyCode);
-        return ConfigurableCurrencyUnitProvider.currencyUnits.remove(currencyCode);
+        while(true){
+            Snapshot snapshot = SNAPSHOT.get();
+            if(!snapshot.codes.containsKey(currencyCode)){
+                return null;
+            }
+            Map<String,CurrencyUnit> codes = new HashMap<>(snapshot.codes);
+            CurrencyUnit removed = codes.remove(currencyCode);
+            if(SNAPSHOT.compareAndSet(snapshot, new Snapshot(snapshot, codes, snapshot.locales))){
+                return removed;
+            }
+        }
     }
 
     /**
@@ -82,7 +130,17 @@ public class ConfigurableCurrencyUnitProvider implements CurrencyProviderSpi{
      */
     public static CurrencyUnit removeCurrencyUnit(Locale locale){
         Objects.requireNonNull(locale);
-        return ConfigurableCurrencyUnitProvider.currencyUnitsByLocale.remove(locale);
+        while(true){
+            Snapshot snapshot = SNAPSHOT.get();
+            if(!snapshot.locales.containsKey(locale)){
+                return null;
+            }
+            Map<Locale,CurrencyUnit> locales = new HashMap<>(snapshot.locales);
+            CurrencyUnit removed = locales.remove(locale);
+            if(SNAPSHOT.compareAndSet(snapshot, new Snapshot(snapshot, snapshot.codes, locales))){
+                return removed;
+            }
+        }
     }
 
     /*
@@ -92,8 +150,127 @@ public class ConfigurableCurrencyUnitProvider implements CurrencyProviderSpi{
      */
     @Override
     public String toString(){
-        return "ConfigurableCurrencyUnitProvider [currencyUnits=" + currencyUnits + ", currencyUnitsByLocale=" +
-                currencyUnitsByLocale + "]";
+        Snapshot snapshot = SNAPSHOT.get();
+        return "ConfigurableCurrencyUnitProvider [version=" + snapshot.version + ", currencyUnits=" +
+                snapshot.codes + ", currencyUnitsByLocale=" + snapshot.locales + "]";
+    }
+
+    /**
+     * Immutable state of the registered currency units, indexed by currency code, by locale and by numeric code.
+     * Each change creates a new snapshot with a higher version.
+     */
+    public static final class Snapshot{
+
+        /** The initial, empty snapshot. */
+        static final Snapshot EMPTY = new Snapshot();
+
+        /** The version, incremented on each change. */
+        private final long version;
+        /** The currency units, identified by currency code. */
+        private final Map<String,CurrencyUnit> codes;
+        /** The currency units identified by Locale. */
+        private final Map<Locale,CurrencyUnit> locales;
+        /** The currency units registered by currency code, identified by numeric code. */
+        private final Map<Integer,CurrencyUnit> numericCodes;
+
+        private Snapshot(){
+            this.version = 0L;
+            this.codes = Collections.emptyMap();
+            this.locales = Collections.emptyMap();
+            this.numericCodes = Collections.emptyMap();
+        }
+
+        /**
+         * Creates the snapshot following the given one.
+         *
+         * @param previous the previous snapshot, not null.
+         * @param codes    the units by currency code, not shared.
+         * @param locales  the units by locale, not shared.
+         */
+        private Snapshot(Snapshot previous, Map<String,CurrencyUnit> codes, Map<Locale,CurrencyUnit> locales){
+            this.version = previous.version + 1;
+            this.codes = codes == previous.codes ? codes : Collections.unmodifiableMap(codes);
+            this.locales = locales == previous.locales ? locales : Collections.unmodifiableMap(locales);
+            if(codes == previous.codes){
+                this.numericCodes = previous.numericCodes;
+            }else{
+                Map<Integer,CurrencyUnit> numericCodes = new HashMap<>();
+                for(CurrencyUnit unit : codes.values()){
+                    int numericCode = unit.getNumericCode();
+                    if(numericCode < 0){
+                        continue;
+                    }
+                    // if ambiguous, the unit with the lowest currency code is indexed
+                    CurrencyUnit existing = numericCodes.get(numericCode);
+                    if(existing == null || existing.getCurrencyCode().compareTo(unit.getCurrencyCode()) > 0){
+                        numericCodes.put(numericCode, unit);
+                    }
+                }
+                this.numericCodes = Collections.unmodifiableMap(numericCodes);
+            }
+        }
+
+        /**
+         * Access the version of this snapshot.
+         * @return the version, starting with 0 for the initial, empty snapshot.
+         */
+        public long getVersion(){
+            return version;
+        }
+
+        /**
+         * Access a unit registered under the given currency code.
+         * @param currencyCode the currency code.
+         * @return the unit, or null.
+         */
+        public CurrencyUnit getCurrencyUnit(String currencyCode){
+            return codes.get(currencyCode);
+        }
+
+        /**
+         * Access a unit registered under the given locale.
+         * @param locale the locale.
+         * @return the unit, or null.
+         */
+        public CurrencyUnit getCurrencyUnit(Locale locale){
+            return locales.get(locale);
+        }
+
+        /**
+         * Access a unit registered by currency code with the given numeric code.
+         * @param numericCode the numeric code.
+         * @return the unit, or null.
+         */
+        public CurrencyUnit getCurrencyUnitByNumericCode(int numericCode){
+            return numericCodes.get(numericCode);
+        }
+
+        /**
+         * Access the units registered by currency code.
+         * @return the units, not modifiable.
+         */
+        public Collection<CurrencyUnit> getCurrencies(){
+            return codes.values();
+        }
+
+        /**
+         * Access the units registered by locale.
+         * @return the units by locale, not modifiable.
+         */
+        public Map<Locale,CurrencyUnit> getCurrenciesByLocale(){
+            return locales;
+        }
+
+        /*
+         * (non-Javadoc)
+         *
+         * @see java.lang.Object#toString()
+         */
+        @Override
+        public String toString(){
+            return "Snapshot [version=" + version + ", currencyUnits=" + codes + ", currencyUnitsByLocale=" +
+                    locales + "]";
+        }
     }
 
 }
@@ -10,6 +10,10 @@
  */
 package org.javamoney.moneta.internal;
 
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.spi.LongRounding;
+
 import javax.money.CurrencyUnit;
 import javax.money.MonetaryAmount;
 import javax.money.MonetaryOperator;
@@ -22,12 +26,21 @@ import java.util.Objects;
  * instances for {@link CurrencyUnit} instances. modeling rounding based on
  * minimal minor units available for cash payments.
  * <p/>
+ * The amount is rounded in one step to the nearest multiple of the minimal minors, according to the
+ * {@link RoundingMode}. {@link FastMoney} is rounded on its scaled long, {@link Money} on the unscaled value of its
+ * number, as long as it fits into a long, so no intermediate {@link BigDecimal} instances are created.
+ * <p/>
  * This class is thread safe.
  *
  * @author Anatole Tresch
  */
 final class DefaultCashRounding implements MonetaryOperator{
 
+    /**
+     * Maximal number of digits, a value can be scaled within a long.
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
     /**
      * The {@link RoundingMode} used.
      */
@@ -39,21 +52,25 @@ final class DefaultCashRounding implements MonetaryOperator{
     /**
      * The minimal minors available in cash.
      */
-    private final int minimalMinors;
+    private final long minimalMinors;
 
     /**
      * Creates an rounding instance.
      *
-     * @param roundingMode The {@link RoundingMode} to be used, not {@code null}.
-     * @param scale        The target scale.
+     * @param roundingMode  The {@link RoundingMode} to be used, not {@code null}.
+     * @param scale         The target scale.
+     * @param minimalMinors The minimal minors available in cash, greater than 0.
      */
-    DefaultCashRounding(int scale, RoundingMode roundingMode, int minimalMinors){
+    DefaultCashRounding(int scale, RoundingMode roundingMode, long minimalMinors){
         if(scale < 0){
             throw new IllegalArgumentException("scale < 0");
         }
         if(roundingMode == null){
             throw new IllegalArgumentException("roundingMode missing");
         }
+        if(minimalMinors <= 0){
+            throw new IllegalArgumentException("minimalMinors <= 0");
+        }
         this.scale = scale;
         this.roundingMode = roundingMode;
         this.minimalMinors = minimalMinors;
@@ -69,8 +86,8 @@ final class DefaultCashRounding implements MonetaryOperator{
      * @return a new instance {@link javax.money.MonetaryOperator} implementing the
      * rounding.
      */
-    DefaultCashRounding(CurrencyUnit currency, RoundingMode roundingMode, int minimalMinors){
-        this(currency.getDefaultFractionDigits(), roundingMode, minimalMinors);
+    DefaultCashRounding(CurrencyUnit currency, RoundingMode roundingMode, long minimalMinors){
+        this(Math.max(currency.getDefaultFractionDigits(), 0), roundingMode, minimalMinors);
     }
 
     /**
@@ -83,7 +100,7 @@ final class DefaultCashRounding implements MonetaryOperator{
      * @return a new instance {@link MonetaryOperator} implementing the
      * rounding.
      */
-    DefaultCashRounding(CurrencyUnit currency, int minimalMinors){
+    DefaultCashRounding(CurrencyUnit currency, long minimalMinors){
         this(currency, RoundingMode.HALF_UP, minimalMinors);
     }
 
@@ -92,33 +109,81 @@ final class DefaultCashRounding implements MonetaryOperator{
      *
      * @see javax.money.MonetaryFunction#apply(java.lang.Object)
      */
+    @SuppressWarnings("unchecked")
     @Override
     public <T extends MonetaryAmount> T apply(T value){
         Objects.requireNonNull(value, "Amount required.");
-        // 1 extract BD value, round according the default fraction units
-        BigDecimal num = value.getNumber().numberValue(BigDecimal.class).setScale(scale, roundingMode);
-        // 2 evaluate minor units and remainder
-        long minors = num.movePointRight(num.scale()).longValueExact();
-        long factor = minors / minimalMinors;
-        long low = minimalMinors * factor;
-        long high = minimalMinors * (factor + 1);
-        if(minors - low > high - minors){
-            minors = high;
-        }else if(minors - low < high - minors){
-            minors = low;
-        }else{
-            switch(roundingMode){
-                case HALF_UP:
-                case UP:
-                case HALF_EVEN:
-                    minors = high;
-                    break;
-                default:
-                    minors = low;
+        if(value.getClass() == FastMoney.class){
+            return (T) round((FastMoney) value);
+        }
+        BigDecimal num = value.getNumber().numberValue(BigDecimal.class);
+        BigDecimal rounded = round(num);
+        if(value.getClass() == Money.class){
+            if(rounded.equals(num)){
+                return value;
             }
+            return (T) Money.of(rounded, value.getCurrency(), value.getMonetaryContext());
+        }
+        return (T) value.getFactory().setCurrency(value.getCurrency()).setNumber(rounded).create();
+    }
+
+    /**
+     * Rounds a {@link FastMoney} on its scaled long.
+     *
+     * @param amount the amount, not null.
+     * @return the rounded amount.
+     */
+    private FastMoney round(FastMoney amount){
+        int digits = amount.getScale() - this.scale;
+        if(digits < 0){
+            return amount;
+        }
+        long scaled = amount.getScaledNumber();
+        long unit = LongRounding.multiplyExact(minimalMinors, LongRounding.powerOfTen(digits));
+        long rounded = LongRounding.round(scaled, unit, roundingMode);
+        if(rounded == scaled){
+            return amount;
         }
-        return (T) value.getFactory().setCurrency(value.getCurrency())
-                .setNumber(BigDecimal.valueOf(minors).movePointLeft(scale)).create();
+        return FastMoney.ofScaled(rounded, amount.getCurrency());
+    }
+
+    /**
+     * Rounds the given number to the minimal minors, with the target scale.
+     *
+     * @param number the number, not null.
+     * @return the rounded number, with the target scale.
+     */
+    BigDecimal round(BigDecimal number){
+        int digits = number.scale() - this.scale;
+        if(number.precision() <= MAX_LONG_DIGITS && Math.abs(digits) <= MAX_LONG_DIGITS){
+            long unscaled = number.unscaledValue().longValue();
+            try{
+                if(digits >= 0){
+                    long factor = LongRounding.powerOfTen(digits);
+                    long rounded = LongRounding.round(unscaled, LongRounding.multiplyExact(minimalMinors, factor), roundingMode);
+                    return BigDecimal.valueOf(rounded / factor, this.scale);
+                }
+                long minors = LongRounding.multiplyExact(unscaled, LongRounding.powerOfTen(-digits));
+                return BigDecimal.valueOf(LongRounding.round(minors, minimalMinors, roundingMode), this.scale);
+            }
+            catch(ArithmeticException e){
+                if(roundingMode == RoundingMode.UNNECESSARY){
+                    throw e;
+                }
+                // overflow, use BigDecimal arithmetics below
+            }
+        }
+        BigDecimal unit = BigDecimal.valueOf(minimalMinors, this.scale);
+        return number.divide(unit, 0, roundingMode).multiply(unit).setScale(this.scale);
+    }
+
+    /**
+     * Access the minimal minors available in cash.
+     *
+     * @return the minimal minors.
+     */
+    long getMinimalMinors(){
+        return minimalMinors;
     }
 
 }
@@ -21,11 +21,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Default implementation ot {@link javax.money.spi.MonetaryAmountsSingletonSpi} loading the SPIs on startup
  * initially once, using the
- * JSR's {@link javax.money.spi.Bootstrap} mechanism.
+ * JSR's {@link javax.money.spi.Bootstrap} mechanism. The amount types resolved are cached by the required
+ * {@link MonetaryContext}, until the providers are reloaded by calling {@link #reload()}.
  */
 public class DefaultMonetaryAmountsSingletonQuerySpi implements MonetaryAmountsSingletonQuerySpi{
 
@@ -63,6 +66,41 @@ public class DefaultMonetaryAmountsSingletonQuerySpi implements MonetaryAmountsS
             };
 
 
+    /**
+     * The current provider snapshot, including the amount types resolved for it.
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructor, loads the providers from the {@link javax.money.spi.Bootstrap} component.
+     */
+    public DefaultMonetaryAmountsSingletonQuerySpi(){
+        reload();
+    }
+
+    /**
+     * Reloads the {@link MonetaryAmountFactoryProviderSpi} instances from the {@link javax.money.spi.Bootstrap}
+     * component and discards all amount types resolved so far.
+     */
+    public void reload(){
+        List<MonetaryAmountFactoryProviderSpi<? extends MonetaryAmount>> factories = new ArrayList<>();
+        for(@SuppressWarnings("unchecked") MonetaryAmountFactoryProviderSpi<? extends MonetaryAmount> f : Bootstrap
+                .getServices(MonetaryAmountFactoryProviderSpi.class)){
+            factories.add(f);
+        }
+        this.snapshot = new Snapshot(factories);
+    }
+
+    /**
+     * Checks if the amount type for the given context is cached, used for testing.
+     *
+     * @param requiredContext the required context, not null.
+     * @return true, if the amount type was resolved for the current providers.
+     */
+    boolean isCached(MonetaryContext requiredContext){
+        return this.snapshot.amountTypes.containsKey(requiredContext);
+    }
+
     /**
      * (non-Javadoc)
      *
@@ -73,9 +111,28 @@ public class DefaultMonetaryAmountsSingletonQuerySpi implements MonetaryAmountsS
         if(requiredContext == null){
             return amountSpi.getDefaultAmountType();
         }
+        Snapshot current = this.snapshot;
+        Class<? extends MonetaryAmount> amountType = current.amountTypes.get(requiredContext);
+        if(amountType == null){
+            amountType = evaluateAmountType(current.factories, requiredContext);
+            current.amountTypes.putIfAbsent(requiredContext, amountType);
+        }
+        return amountType;
+    }
+
+    /**
+     * Evaluates the amount type matching best the given context.
+     *
+     * @param factories       the providers to select from, not null.
+     * @param requiredContext the required context, not null.
+     * @return the amount type, never null.
+     * @throws MonetaryException if the type explicitly required does not support the context.
+     */
+    private Class<? extends MonetaryAmount> evaluateAmountType(
+            List<MonetaryAmountFactoryProviderSpi<? extends MonetaryAmount>> factories,
+            MonetaryContext requiredContext){
         // first check for explicit type
-        for(@SuppressWarnings("unchecked") MonetaryAmountFactoryProviderSpi<? extends MonetaryAmount> f : Bootstrap
-                .getServices(MonetaryAmountFactoryProviderSpi.class)){
+        for(MonetaryAmountFactoryProviderSpi<? extends MonetaryAmount> f : factories){
             if(f.getQueryInclusionPolicy() == QueryInclusionPolicy.NEVER){
                 continue;
             }
@@ -91,8 +148,7 @@ public class DefaultMonetaryAmountsSingletonQuerySpi implements MonetaryAmountsS
         }
         // Select on required flavor
         List<MonetaryAmountFactoryProviderSpi<? extends MonetaryAmount>> selection = new ArrayList<>();
-        for(@SuppressWarnings("unchecked") MonetaryAmountFactoryProviderSpi<? extends MonetaryAmount> f : Bootstrap
-                .getServices(MonetaryAmountFactoryProviderSpi.class)){
+        for(MonetaryAmountFactoryProviderSpi<? extends MonetaryAmount> f : factories){
             if(f.getDefaultMonetaryContext().getAmountFlavor() == AmountFlavor.UNDEFINED){
                 if(f.getQueryInclusionPolicy() == QueryInclusionPolicy.DIRECT_REFERENCE_ONLY ||
                         f.getQueryInclusionPolicy() == QueryInclusionPolicy.NEVER){
@@ -102,6 +158,10 @@ public class DefaultMonetaryAmountsSingletonQuerySpi implements MonetaryAmountsS
                     selection.add(f);
                 }
             }else if(requiredContext.getAmountFlavor() == f.getDefaultMonetaryContext().getAmountFlavor()){
+                if(f.getQueryInclusionPolicy() == QueryInclusionPolicy.DIRECT_REFERENCE_ONLY ||
+                        f.getQueryInclusionPolicy() == QueryInclusionPolicy.NEVER){
+                    continue;
+                }
                 if(isPrecisionOK(requiredContext, f.getMaximalMonetaryContext())){
                     selection.add(f);
                 }
@@ -109,8 +169,7 @@ public class DefaultMonetaryAmountsSingletonQuerySpi implements MonetaryAmountsS
         }
         if(selection.isEmpty()){
             // fall back, add all selections, ignore flavor
-            for(@SuppressWarnings("unchecked") MonetaryAmountFactoryProviderSpi<? extends MonetaryAmount> f : Bootstrap
-                    .getServices(MonetaryAmountFactoryProviderSpi.class)){
+            for(MonetaryAmountFactoryProviderSpi<? extends MonetaryAmount> f : factories){
                 if(f.getQueryInclusionPolicy() == QueryInclusionPolicy.DIRECT_REFERENCE_ONLY ||
                         f.getQueryInclusionPolicy() == QueryInclusionPolicy.NEVER){
                     continue;
@@ -124,8 +183,7 @@ public class DefaultMonetaryAmountsSingletonQuerySpi implements MonetaryAmountsS
             return selection.get(0).getAmountType();
         }else{
             // several matches, check for required flavor
-            for(@SuppressWarnings(
-                    "unchecked") MonetaryAmountFactoryProviderSpi<? extends MonetaryAmount> f : selection){
+            for(MonetaryAmountFactoryProviderSpi<? extends MonetaryAmount> f : selection){
                 if(f.getDefaultMonetaryContext().getAmountFlavor().equals(requiredContext.getAmountFlavor())){
                     return f.getAmountType();
                 }
@@ -151,4 +209,17 @@ public class DefaultMonetaryAmountsSingletonQuerySpi implements MonetaryAmountsS
         return true;
     }
 
+    /**
+     * Immutable snapshot of the providers loaded, together with the amount types resolved for them. Replacing the
+     * snapshot as a whole ensures no type evaluated on outdated providers is cached after a reload.
+     */
+    private static final class Snapshot{
+        final List<MonetaryAmountFactoryProviderSpi<? extends MonetaryAmount>> factories;
+        final ConcurrentMap<MonetaryContext,Class<? extends MonetaryAmount>> amountTypes = new ConcurrentHashMap<>();
+
+        Snapshot(List<MonetaryAmountFactoryProviderSpi<? extends MonetaryAmount>> factories){
+            this.factories = Collections.unmodifiableList(factories);
+        }
+    }
+
 }
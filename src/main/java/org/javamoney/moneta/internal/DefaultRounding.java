@@ -20,11 +20,20 @@ import javax.money.MonetaryAmount;
 import javax.money.MonetaryCurrencies;
 import javax.money.MonetaryOperator;
 
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.spi.LongRounding;
+
 /**
  * Implementation class providing rounding {@link javax.money.MonetaryOperator} instances
  * for {@link CurrencyUnit} instances. modeling rounding based on standard JDK
  * math, a scale and {@link RoundingMode}.
  * <p>
+ * {@link FastMoney} is rounded on its internal scaled long, {@link Money} by a
+ * single {@link BigDecimal#setScale(int, RoundingMode)}, both without
+ * involving an amount factory. All other amount types are rounded using their
+ * factory.
+ * <p>
  * This class is thread safe.
  * 
  * @author Anatole Tresch
@@ -94,10 +103,72 @@ final class DefaultRounding implements MonetaryOperator {
 	@SuppressWarnings("unchecked")
 	@Override
 	public <T extends MonetaryAmount> T apply(T amount){
+		if (amount.getClass() == FastMoney.class) {
+			return (T) round((FastMoney) amount);
+		}
+		if (amount.getClass() == Money.class) {
+			return (T) round((Money) amount);
+		}
 		return (T)amount.getFactory().setCurrency(amount.getCurrency()).setNumber(
 				((BigDecimal) amount.getNumber().numberValue(BigDecimal.class)).setScale(
 						this.scale,
 						this.roundingMode)).create();
 	}
 
+	/**
+	 * Rounds a {@link FastMoney} on its scaled long value.
+	 * 
+	 * @param amount
+	 *            the amount, not null.
+	 * @return the rounded amount.
+	 */
+	private FastMoney round(FastMoney amount) {
+		int digits = amount.getScale() - this.scale;
+		if (digits <= 0) {
+			return amount;
+		}
+		long scaled = amount.getScaledNumber();
+		long rounded = LongRounding.round(scaled,
+				LongRounding.powerOfTen(digits), this.roundingMode);
+		if (rounded == scaled) {
+			return amount;
+		}
+		return FastMoney.ofScaled(rounded, amount.getCurrency());
+	}
+
+	/**
+	 * Rounds a {@link Money} by a single
+	 * {@link BigDecimal#setScale(int, RoundingMode)}.
+	 * 
+	 * @param amount
+	 *            the amount, not null.
+	 * @return the rounded amount.
+	 */
+	private Money round(Money amount) {
+		BigDecimal number = amount.getNumber().numberValue(BigDecimal.class);
+		if (number.scale() == this.scale) {
+			return amount;
+		}
+		return Money.of(number.setScale(this.scale, this.roundingMode),
+				amount.getCurrency(), amount.getMonetaryContext());
+	}
+
+	/**
+	 * Access the scale applied.
+	 * 
+	 * @return the scale.
+	 */
+	int getScale() {
+		return scale;
+	}
+
+	/**
+	 * Access the {@link RoundingMode} applied.
+	 * 
+	 * @return the rounding mode.
+	 */
+	RoundingMode getRoundingMode() {
+		return roundingMode;
+	}
+
 }
@@ -1,5 +1,7 @@
 package org.javamoney.moneta.internal;
 
+import org.javamoney.moneta.spi.CashRoundingTable;
+
 import javax.money.CurrencyUnit;
 import javax.money.MonetaryContext;
 import javax.money.MonetaryOperator;
@@ -7,32 +9,103 @@ import javax.money.RoundingContext;
 import javax.money.spi.RoundingProviderSpi;
 import java.math.RoundingMode;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Defaulr implementation of a {@link javax.money.spi.RoundingProviderSpi} that creates instances of {@link org
  * .javamoney.moneta.internal.DefaultRounding} that relies on the default fraction units defined by {@link java.util
  * .Currency#getDefaultFractionDigits()}.
+ * <p>
+ * Rounding instances are immutable, so they are cached and shared, instead of being created on each access.
  */
 public class DefaultRoundingProvider implements RoundingProviderSpi{
 
+    /**
+     * Scales, for which the roundings are created eagerly.
+     */
+    private static final int CACHED_SCALES = 32;
+
+    /**
+     * The roundings for scales below {@link #CACHED_SCALES}, indexed by scale and {@link RoundingMode#ordinal()}.
+     */
+    private final DefaultRounding[][] scaleRoundings = new DefaultRounding[CACHED_SCALES][];
+
+    /**
+     * The cash roundings, by currency code, indexed by {@link RoundingMode#ordinal()}.
+     */
+    private final Map<String,DefaultCashRounding[]> cashRoundings = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor, initializing the scale roundings.
+     */
+    public DefaultRoundingProvider(){
+        RoundingMode[] modes = RoundingMode.values();
+        for(int scale = 0; scale < CACHED_SCALES; scale++){
+            scaleRoundings[scale] = new DefaultRounding[modes.length];
+            for(RoundingMode mode : modes){
+                scaleRoundings[scale][mode.ordinal()] = new DefaultRounding(scale, mode);
+            }
+        }
+    }
+
+    /**
+     * Access the shared cash rounding for the given currency and {@link RoundingMode}, using the minimal cash unit
+     * defined by the {@link CashRoundingTable}.
+     *
+     * @param currency the currency, not null.
+     * @param mode     the {@link RoundingMode}, not null.
+     * @return the rounding, never null.
+     */
+    private DefaultCashRounding getCashRounding(CurrencyUnit currency, RoundingMode mode){
+        DefaultCashRounding[] roundings = cashRoundings.get(currency.getCurrencyCode());
+        if(roundings == null){
+            long minimalMinors = CashRoundingTable.getMinimalMinors(currency);
+            RoundingMode[] modes = RoundingMode.values();
+            roundings = new DefaultCashRounding[modes.length];
+            for(RoundingMode m : modes){
+                roundings[m.ordinal()] = new DefaultCashRounding(currency, m, minimalMinors);
+            }
+            cashRoundings.put(currency.getCurrencyCode(), roundings);
+        }
+        return roundings[mode.ordinal()];
+    }
+
+    /**
+     * Access the shared rounding for the given scale and {@link RoundingMode}.
+     *
+     * @param scale the scale, negative values are treated as 0.
+     * @param mode  the {@link RoundingMode}, not null.
+     * @return the rounding, never null.
+     */
+    private DefaultRounding getScaleRounding(int scale, RoundingMode mode){
+        if(scale < 0){
+            scale = 0;
+        }
+        if(scale < CACHED_SCALES){
+            return scaleRoundings[scale][mode.ordinal()];
+        }
+        return new DefaultRounding(scale, mode);
+    }
+
     public MonetaryOperator getRounding(RoundingContext context){
         if("default".equals(context.getRoundingId())){
             CurrencyUnit currency = context.getCurrencyUnit();
                     // RoundingMode rm = monetaryContext.getAttribute(RoundingMode.class, RoundingMode.HALF_EVEN);
             if(currency!=null){
-                if(context.getNamedAttribute("cashRounding", Boolean.class, Boolean.FALSE)){
-                    if("CHF".equals(currency.getCurrencyCode())){
-                        return new DefaultCashRounding(currency, RoundingMode.HALF_UP,5);
-                    }
+                if(context.getNamedAttribute("cashRounding", Boolean.class, Boolean.FALSE) &&
+                        CashRoundingTable.isDefined(currency)){
+                    return getCashRounding(currency,
+                                           context.getAttribute(RoundingMode.class, RoundingMode.HALF_UP));
                 }
-                return new DefaultRounding(currency);
+                return getScaleRounding(currency.getDefaultFractionDigits(), RoundingMode.HALF_UP);
             }
             Integer scale = context.getNamedAttribute("scale", Integer.class);
             if(scale!=null){
                 RoundingMode mode = context.getAttribute(RoundingMode.class,
                                                               RoundingMode.HALF_EVEN);
-                return new DefaultRounding(scale, mode);
+                return getScaleRounding(scale, mode);
             }
         }
         return null;
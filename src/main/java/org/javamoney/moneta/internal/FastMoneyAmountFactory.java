@@ -9,6 +9,7 @@
 package org.javamoney.moneta.internal;
 
 import java.math.RoundingMode;
+import java.util.Objects;
 
 import javax.money.CurrencyUnit;
 import javax.money.MonetaryAmountFactory;
@@ -17,6 +18,7 @@ import javax.money.AmountFlavor;
 
 import org.javamoney.moneta.FastMoney;
 import org.javamoney.moneta.spi.AbstractAmountFactory;
+import org.javamoney.moneta.spi.LongRounding;
 
 /**
  * Implementation of {@link MonetaryAmountFactory} creating instances of {@link FastMoney}.
@@ -36,12 +38,33 @@ public class FastMoneyAmountFactory extends AbstractAmountFactory<FastMoney> {
 			.setObject(RoundingMode.HALF_EVEN)
 			.setFlavor(AmountFlavor.PERFORMANCE).build();
 
+	/** The scale of {@link FastMoney}. */
+	private static final int SCALE = 5;
+
 	@Override
 	protected FastMoney create(Number number, CurrencyUnit currency,
                                MonetaryContext monetaryContext) {
 		return FastMoney.of(number, currency);
 	}
 
+	/**
+	 * Creates the amount directly on its scaled long value, if the scale
+	 * given is within the scale supported by {@link FastMoney}.
+	 */
+	@Override
+	public FastMoney create(long unscaled, int scale, CurrencyUnit currency) {
+		if (scale < 0 || scale > SCALE) {
+			return super.create(unscaled, scale, currency);
+		}
+		long factor = LongRounding.powerOfTen(SCALE - scale);
+		long scaled = unscaled * factor;
+		if (scaled / factor != unscaled) {
+			throw new ArithmeticException("Value exceeds maximal value for FastMoney: " + unscaled + "E-" + scale);
+		}
+		Objects.requireNonNull(currency);
+		return FastMoney.ofScaled(scaled, currency);
+	}
+
 	@Override
 	public Class<FastMoney> getAmountType() {
 		return FastMoney.class;
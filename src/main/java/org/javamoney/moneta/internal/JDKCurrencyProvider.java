@@ -13,6 +13,8 @@
 package org.javamoney.moneta.internal;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -32,6 +34,15 @@ public class JDKCurrencyProvider implements CurrencyProviderSpi {
 	/** Internal shared cache of {@link MoneyCurrency} instances. */
 	private static final Map<String, CurrencyUnit> CACHED = new HashMap<String, CurrencyUnit>();
 
+	/** Marker for locales without currency in {@link #CODES_BY_LOCALE}. */
+	private static final String NO_CURRENCY = "";
+
+	/**
+	 * The currency codes resolved by {@link Currency#getInstance(Locale)}, or
+	 * {@link #NO_CURRENCY}.
+	 */
+	private static final ConcurrentMap<Locale, String> CODES_BY_LOCALE = new ConcurrentHashMap<Locale, String>();
+
 	public JDKCurrencyProvider() {
 		for (Currency jdkCurrency : Currency.getAvailableCurrencies()) {
 			CurrencyUnit cu = new JDKCurrencyAdapter(jdkCurrency);
@@ -46,19 +57,29 @@ public class JDKCurrencyProvider implements CurrencyProviderSpi {
 
 	@Override
 	public CurrencyUnit getCurrencyUnit(Locale locale) {
-		Currency cur = null;
-		try {
-			cur = Currency.getInstance(locale);
-			if(cur!=null){
-				return getCurrencyUnit(cur.getCurrencyCode());
-			}
-		} catch (Exception e) {
-			if (Logger.getLogger(getClass().getName()).isLoggable(Level.FINEST)) {
-				Logger.getLogger(getClass().getName()).finest(
-						"No currency for locale found: " + locale);
+		if (locale == null) {
+			return null;
+		}
+		String currencyCode = CODES_BY_LOCALE.get(locale);
+		if (currencyCode == null) {
+			currencyCode = NO_CURRENCY;
+			try {
+				Currency cur = Currency.getInstance(locale);
+				if (cur != null) {
+					currencyCode = cur.getCurrencyCode();
+				}
+			} catch (Exception e) {
+				if (Logger.getLogger(getClass().getName()).isLoggable(Level.FINEST)) {
+					Logger.getLogger(getClass().getName()).finest(
+							"No currency for locale found: " + locale);
+				}
 			}
+			CODES_BY_LOCALE.put(locale, currencyCode);
+		}
+		if (currencyCode.isEmpty()) {
+			return null;
 		}
-		return null;
+		return getCurrencyUnit(currencyCode);
 	}
 
     @Override
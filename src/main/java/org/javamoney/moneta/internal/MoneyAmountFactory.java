@@ -8,6 +8,7 @@ import javax.money.AmountFlavor;
 
 import org.javamoney.moneta.Money;
 import org.javamoney.moneta.spi.AbstractAmountFactory;
+import org.javamoney.moneta.spi.ContextCache;
 
 /**
  * Implementation of {@link javax.money.MonetaryAmountFactory} creating instances of {@link Money}.
@@ -29,7 +30,7 @@ public class MoneyAmountFactory extends AbstractAmountFactory<Money> {
 	protected Money create(Number number, CurrencyUnit currency,
                            MonetaryContext monetaryContext) {
 		return Money.of(number, currency,
-                        MonetaryContext.from(monetaryContext, Money.class));
+                        ContextCache.intern(monetaryContext, Money.class));
 	}
 
 	@Override
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.io;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryContext;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Columnar representation of a sequence of amounts read by {@link AmountCodec}. The values are kept in primitive
+ * arrays, amount instances are only created when calling {@link #getAmount(int)} or {@link #toList()}. Values not
+ * representable as unscaled long are kept as {@link BigDecimal}.
+ * <p/>
+ * This class is immutable and thread-safe, as long as the arrays returned are not modified.
+ *
+ * @author Anatole Tresch
+ */
+public final class AmountBatch{
+
+    /**
+     * Context used for {@link Money} instances with a precision higher than the default.
+     */
+    private static final MonetaryContext UNLIMITED_CONTEXT =
+            new MonetaryContext.Builder(Money.class).setObject(MathContext.UNLIMITED).build();
+
+    private final CurrencyUnit[] currencies;
+    private final int[] currencyIndexes;
+    private final long[] unscaledValues;
+    private final int[] scales;
+    private final boolean[] fastMoney;
+    private final BigDecimal[] largeValues;
+
+    /**
+     * Creates a new batch.
+     *
+     * @param currencies      the currency dictionary.
+     * @param currencyIndexes the index of each amount's currency in the dictionary.
+     * @param unscaledValues  the unscaled values.
+     * @param scales          the scales.
+     * @param fastMoney       the flags, if an amount was a {@link FastMoney}.
+     * @param largeValues     the values not representable as long, or null.
+     */
+    AmountBatch(CurrencyUnit[] currencies, int[] currencyIndexes, long[] unscaledValues, int[] scales,
+                boolean[] fastMoney, BigDecimal[] largeValues){
+        this.currencies = currencies;
+        this.currencyIndexes = currencyIndexes;
+        this.unscaledValues = unscaledValues;
+        this.scales = scales;
+        this.fastMoney = fastMoney;
+        this.largeValues = largeValues;
+    }
+
+    /**
+     * Access the number of amounts.
+     *
+     * @return the number of amounts.
+     */
+    public int size(){
+        return currencyIndexes.length;
+    }
+
+    /**
+     * Access the currency dictionary.
+     *
+     * @return the currencies, in order of their indexes.
+     */
+    public List<CurrencyUnit> getCurrencies(){
+        return Arrays.asList(currencies.clone());
+    }
+
+    /**
+     * Access the currency of the given amount.
+     *
+     * @param index the index of the amount.
+     * @return the currency.
+     */
+    public CurrencyUnit getCurrency(int index){
+        return currencies[currencyIndexes[index]];
+    }
+
+    /**
+     * Access the column of currency indexes, see {@link #getCurrencies()}.
+     *
+     * @return the currency indexes, not copied.
+     */
+    public int[] getCurrencyIndexes(){
+        return currencyIndexes;
+    }
+
+    /**
+     * Access the column of unscaled values.
+     *
+     * @return the unscaled values, not copied. The value is undefined for large values, see {@link #isLarge(int)}.
+     */
+    public long[] getUnscaledValues(){
+        return unscaledValues;
+    }
+
+    /**
+     * Access the column of scales.
+     *
+     * @return the scales, not copied.
+     */
+    public int[] getScales(){
+        return scales;
+    }
+
+    /**
+     * Checks if the given amount is not representable by an unscaled long.
+     *
+     * @param index the index of the amount.
+     * @return true, if the value must be accessed with {@link #getNumber(int)}.
+     */
+    public boolean isLarge(int index){
+        return largeValues != null && largeValues[index] != null;
+    }
+
+    /**
+     * Access the number of the given amount.
+     *
+     * @param index the index of the amount.
+     * @return the number.
+     */
+    public BigDecimal getNumber(int index){
+        if(isLarge(index)){
+            return largeValues[index];
+        }
+        return BigDecimal.valueOf(unscaledValues[index], scales[index]);
+    }
+
+    /**
+     * Creates the given amount, a {@link FastMoney}, if written as such, else a {@link Money}.
+     *
+     * @param index the index of the amount.
+     * @return the amount.
+     */
+    public MonetaryAmount getAmount(int index){
+        CurrencyUnit currency = getCurrency(index);
+        if(fastMoney[index]){
+            return FastMoney.ofScaled(unscaledValues[index], currency);
+        }
+        BigDecimal number = getNumber(index);
+        if(number.precision() > MathContext.DECIMAL64.getPrecision()){
+            return Money.of(number, currency, UNLIMITED_CONTEXT);
+        }
+        return Money.of(number, currency);
+    }
+
+    /**
+     * Creates all amounts.
+     *
+     * @return the amounts, in order.
+     */
+    public List<MonetaryAmount> toList(){
+        List<MonetaryAmount> result = new ArrayList<>(size());
+        for(int i = 0; i < size(); i++){
+            result.add(getAmount(i));
+        }
+        return result;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString(){
+        return "AmountBatch [size=" + size() + ", currencies=" + Arrays.toString(currencies) + ']';
+    }
+
+}
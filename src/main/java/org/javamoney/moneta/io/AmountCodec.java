@@ -0,0 +1,436 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.io;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.spi.VarLongs;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryCurrencies;
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Binary codec for sequences of {@link MonetaryAmount} instances, writing to {@link DataOutput} or
+ * {@link ByteBuffer} and reading into {@link AmountBatch} instances. The format consists of
+ * <ul>
+ * <li>a magic number, including the format version,</li>
+ * <li>a flags byte, defining if delta encoding is used,</li>
+ * <li>the currency dictionary, the count followed by the currency codes,</li>
+ * <li>the count of amounts, followed by each amount's currency index, a header, containing the scale and the kind
+ * of the value, and the value.</li>
+ * </ul>
+ * All numbers are written as zig-zag encoded variable length longs. {@link FastMoney} instances are written with
+ * their scaled number, all other amounts with their unscaled value and scale, or with the unscaled value as two's
+ * complement byte array, if not representable as long. So all values are read losslessly, as {@link FastMoney}, if
+ * written as such, else as {@link org.javamoney.moneta.Money}.
+ * <p/>
+ * With delta encoding, each unscaled value is written as difference to the previous one, which gives considerably
+ * shorter output for series sorted by value, e.g. running balances.
+ * <p/>
+ * This class is thread-safe.
+ *
+ * @author Anatole Tresch
+ */
+public final class AmountCodec{
+
+    /**
+     * The magic number, 'JMA' followed by the format version.
+     */
+    private static final int MAGIC = 0x4A4D4101;
+
+    private static final int FLAG_DELTA = 1;
+
+    private static final int KIND_FAST_MONEY = 0;
+    private static final int KIND_LONG = 1;
+    private static final int KIND_LARGE = 2;
+
+    private static final int FAST_MONEY_SCALE = 5;
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * The initial capacity of arrays, if the size of the input is not known.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Singleton constructor.
+     */
+    private AmountCodec(){
+    }
+
+    /**
+     * Writes the given amounts.
+     *
+     * @param amounts the amounts, not null.
+     * @param delta   if true, the values are delta encoded.
+     * @param out     the target, not null.
+     * @throws IOException if writing fails.
+     */
+    public static void write(Collection<? extends MonetaryAmount> amounts, boolean delta, DataOutput out)
+            throws IOException{
+        Objects.requireNonNull(out, "DataOutput required.");
+        writeAmounts(amounts, delta, out);
+    }
+
+    /**
+     * Writes the given amounts, starting at the buffer's current position.
+     *
+     * @param amounts the amounts, not null.
+     * @param delta   if true, the values are delta encoded.
+     * @param buffer  the target, not null.
+     * @throws java.nio.BufferOverflowException if the buffer is too small.
+     */
+    public static void write(Collection<? extends MonetaryAmount> amounts, boolean delta, ByteBuffer buffer){
+        Objects.requireNonNull(buffer, "ByteBuffer required.");
+        try{
+            writeAmounts(amounts, delta, new DataOutputStream(new BufferOutputStream(buffer)));
+        }
+        catch(IOException e){
+            // not thrown by the buffer output
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads amounts written by this class.
+     *
+     * @param in the source, not null.
+     * @return the amounts read.
+     * @throws IOException if reading fails, or the data is corrupted.
+     */
+    public static AmountBatch read(DataInput in) throws IOException{
+        Objects.requireNonNull(in, "DataInput required.");
+        return read(new Input(in, null));
+    }
+
+    /**
+     * Reads amounts written by this class, starting at the buffer's current position. The values are decoded
+     * directly from the buffer, so reading from a direct or memory-mapped buffer does not copy the data.
+     *
+     * @param buffer the source, not null.
+     * @return the amounts read.
+     * @throws IOException if the data is corrupted, or incomplete.
+     */
+    public static AmountBatch read(ByteBuffer buffer) throws IOException{
+        Objects.requireNonNull(buffer, "ByteBuffer required.");
+        return read(new Input(new DataInputStream(new BufferInputStream(buffer)), buffer));
+    }
+
+    /**
+     * Reads amounts written by this class from the given file, by memory-mapping it.
+     *
+     * @param file the file, not null.
+     * @return the amounts read.
+     * @throws IOException if reading fails, or the data is corrupted.
+     */
+    public static AmountBatch read(Path file) throws IOException{
+        Objects.requireNonNull(file, "File required.");
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer);
+        }
+    }
+
+    private static void writeAmounts(Collection<? extends MonetaryAmount> amounts, boolean delta, DataOutput out)
+            throws IOException{
+        Objects.requireNonNull(amounts, "Amounts required.");
+        Map<String, Integer> currencyIndexes = new LinkedHashMap<>();
+        for(MonetaryAmount amount : amounts){
+            String code = amount.getCurrency().getCurrencyCode();
+            if(!currencyIndexes.containsKey(code)){
+                currencyIndexes.put(code, currencyIndexes.size());
+            }
+        }
+        out.writeInt(MAGIC);
+        out.writeByte(delta ? FLAG_DELTA : 0);
+        VarLongs.write(out, currencyIndexes.size());
+        for(String code : currencyIndexes.keySet()){
+            byte[] bytes = code.getBytes(UTF8);
+            VarLongs.write(out, bytes.length);
+            out.write(bytes);
+        }
+        VarLongs.write(out, amounts.size());
+        long previous = 0L;
+        for(MonetaryAmount amount : amounts){
+            VarLongs.write(out, currencyIndexes.get(amount.getCurrency().getCurrencyCode()));
+            long unscaled;
+            if(amount.getClass() == FastMoney.class){
+                unscaled = ((FastMoney) amount).getScaledNumber();
+                VarLongs.write(out, ((long) FAST_MONEY_SCALE << 2) | KIND_FAST_MONEY);
+            }else{
+                BigDecimal number = amount.getNumber().numberValue(BigDecimal.class);
+                BigInteger unscaledValue = number.unscaledValue();
+                if(unscaledValue.bitLength() >= 64){
+                    VarLongs.write(out, ((long) number.scale() << 2) | KIND_LARGE);
+                    byte[] bytes = unscaledValue.toByteArray();
+                    VarLongs.write(out, bytes.length);
+                    out.write(bytes);
+                    continue;
+                }
+                unscaled = unscaledValue.longValue();
+                VarLongs.write(out, ((long) number.scale() << 2) | KIND_LONG);
+            }
+            if(delta){
+                // wrapping arithmetic, reverted by the wrapping addition when reading
+                VarLongs.write(out, unscaled - previous);
+                previous = unscaled;
+            }else{
+                VarLongs.write(out, unscaled);
+            }
+        }
+    }
+
+    private static AmountBatch read(Input in) throws IOException{
+        int magic = in.readInt();
+        if(magic != MAGIC){
+            throw new StreamCorruptedException("Invalid magic number: " + Integer.toHexString(magic));
+        }
+        boolean delta = (in.read() & FLAG_DELTA) != 0;
+        // each currency takes at least its length byte
+        int currencyCount = in.readLength(1);
+        CurrencyUnit[] currencies = new CurrencyUnit[in.getCapacity(currencyCount)];
+        for(int i = 0; i < currencyCount; i++){
+            if(i == currencies.length){
+                currencies = Arrays.copyOf(currencies, grow(i, currencyCount));
+            }
+            currencies[i] = MonetaryCurrencies.getCurrency(new String(in.readBytes(), UTF8));
+        }
+        // each amount takes at least its currency index, header and value bytes
+        int size = in.readLength(3);
+        int capacity = in.getCapacity(size);
+        int[] currencyIndexes = new int[capacity];
+        long[] unscaledValues = new long[capacity];
+        int[] scales = new int[capacity];
+        boolean[] fastMoney = new boolean[capacity];
+        BigDecimal[] largeValues = null;
+        long previous = 0L;
+        for(int i = 0; i < size; i++){
+            if(i == capacity){
+                capacity = grow(i, size);
+                currencyIndexes = Arrays.copyOf(currencyIndexes, capacity);
+                unscaledValues = Arrays.copyOf(unscaledValues, capacity);
+                scales = Arrays.copyOf(scales, capacity);
+                fastMoney = Arrays.copyOf(fastMoney, capacity);
+                if(largeValues != null){
+                    largeValues = Arrays.copyOf(largeValues, capacity);
+                }
+            }
+            int currencyIndex = in.readLength(0);
+            if(currencyIndex >= currencyCount){
+                throw new StreamCorruptedException("Invalid currency index: " + currencyIndex);
+            }
+            currencyIndexes[i] = currencyIndex;
+            long header = in.readVarLong();
+            int kind = (int) (header & 3L);
+            scales[i] = (int) (header >> 2);
+            switch(kind){
+                case KIND_FAST_MONEY:
+                    fastMoney[i] = true;
+                    break;
+                case KIND_LONG:
+                    break;
+                case KIND_LARGE:
+                    byte[] bytes = in.readBytes();
+                    if(bytes.length == 0){
+                        throw new StreamCorruptedException("Invalid large value.");
+                    }
+                    if(largeValues == null){
+                        largeValues = new BigDecimal[capacity];
+                    }
+                    largeValues[i] = new BigDecimal(new BigInteger(bytes), scales[i]);
+                    continue;
+                default:
+                    throw new StreamCorruptedException("Invalid value kind: " + kind);
+            }
+            long value = in.readVarLong();
+            if(delta){
+                value += previous;
+                previous = value;
+            }
+            unscaledValues[i] = value;
+        }
+        if(capacity != size){
+            currencyIndexes = Arrays.copyOf(currencyIndexes, size);
+            unscaledValues = Arrays.copyOf(unscaledValues, size);
+            scales = Arrays.copyOf(scales, size);
+            fastMoney = Arrays.copyOf(fastMoney, size);
+            if(largeValues != null){
+                largeValues = Arrays.copyOf(largeValues, size);
+            }
+        }
+        if(currencies.length != currencyCount){
+            currencies = Arrays.copyOf(currencies, currencyCount);
+        }
+        return new AmountBatch(currencies, currencyIndexes, unscaledValues, scales, fastMoney, largeValues);
+    }
+
+    /**
+     * Evaluates the next capacity of an array, doubling it up to the size declared in the input.
+     */
+    private static int grow(int capacity, int size){
+        return (int) Math.min(size, capacity * 2L);
+    }
+
+    /**
+     * Input of the amounts, with the remaining size, if known.
+     */
+    private static final class Input{
+
+        private final DataInput in;
+        private final ByteBuffer buffer;
+
+        /**
+         * Creates a new instance.
+         *
+         * @param in     the source, not null.
+         * @param buffer the buffer read by the source, or null, if the remaining size is not known.
+         */
+        Input(DataInput in, ByteBuffer buffer){
+            this.in = in;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Reads an unsigned byte.
+         */
+        int read() throws IOException{
+            return in.readUnsignedByte();
+        }
+
+        int readInt() throws IOException{
+            return in.readInt();
+        }
+
+        long readVarLong() throws IOException{
+            return VarLongs.read(in);
+        }
+
+        /**
+         * Evaluates the number of bytes remaining.
+         *
+         * @return the number of bytes remaining, or -1, if not known.
+         */
+        int remaining(){
+            return buffer == null ? -1 : buffer.remaining();
+        }
+
+        /**
+         * Evaluates the initial capacity of arrays for the given number of elements declared in the input. If the
+         * remaining input is not known, the capacity is limited, so corrupted input fails with an EOF before large
+         * arrays are allocated. The arrays are grown while reading.
+         */
+        int getCapacity(int size){
+            return remaining() < 0 ? Math.min(size, INITIAL_CAPACITY) : size;
+        }
+
+        /**
+         * Reads a non negative count or index, checking it against the remaining input, if known.
+         *
+         * @param minBytes the minimal number of bytes following per counted element.
+         */
+        int readLength(int minBytes) throws IOException{
+            long value = readVarLong();
+            if(value < 0 || value > Integer.MAX_VALUE){
+                throw new StreamCorruptedException("Invalid length: " + value);
+            }
+            int remaining = remaining();
+            if(remaining >= 0 && value * minBytes > remaining){
+                throw new StreamCorruptedException("Length exceeds input: " + value);
+            }
+            return (int) value;
+        }
+
+        /**
+         * Reads a length followed by as many bytes.
+         */
+        byte[] readBytes() throws IOException{
+            int length = readLength(1);
+            byte[] bytes = new byte[getCapacity(length)];
+            int count = 0;
+            while(count < length){
+                if(count == bytes.length){
+                    bytes = Arrays.copyOf(bytes, grow(count, length));
+                }
+                in.readFully(bytes, count, bytes.length - count);
+                count = bytes.length;
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Stream writing to a {@link ByteBuffer}, used as target of a {@link DataOutputStream}.
+     */
+    private static final class BufferOutputStream extends OutputStream{
+
+        private final ByteBuffer buffer;
+
+        BufferOutputStream(ByteBuffer buffer){
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b){
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length){
+            buffer.put(bytes, offset, length);
+        }
+    }
+
+    /**
+     * Stream reading from a {@link ByteBuffer}, used as source of a {@link DataInputStream}.
+     */
+    private static final class BufferInputStream extends InputStream{
+
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer){
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read(){
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length){
+            if(length == 0){
+                return 0;
+            }
+            if(!buffer.hasRemaining()){
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available(){
+            return buffer.remaining();
+        }
+    }
+
+}
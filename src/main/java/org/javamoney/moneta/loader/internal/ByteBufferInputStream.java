@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2012, 2013, Credit Suisse (Anatole Tresch), Werner Keil.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.javamoney.moneta.loader.internal;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * {@link InputStream} reading from a {@link ByteBuffer} view, without copying
+ * the underlying data. Each instance owns its own position, so several streams
+ * can read the same (read-only) data concurrently, as long as each of them was
+ * created from its own {@link ByteBuffer#duplicate()}.
+ *
+ * @author Anatole Tresch
+ */
+class ByteBufferInputStream extends InputStream {
+	/** The buffer view read, owned by this instance. */
+	private final ByteBuffer buffer;
+	/** The position marked, or -1. */
+	private int mark = -1;
+
+	/**
+	 * Creates a new stream. The buffer passed must not be shared with other
+	 * readers, since its position is changed when reading.
+	 *
+	 * @param buffer
+	 *            the buffer view, not null.
+	 */
+	ByteBufferInputStream(ByteBuffer buffer) {
+		Objects.requireNonNull(buffer, "buffer required");
+		this.buffer = buffer;
+	}
+
+	@Override
+	public int read() {
+		if (!buffer.hasRemaining()) {
+			return -1;
+		}
+		return buffer.get() & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) {
+		if (len == 0) {
+			return 0;
+		}
+		int remaining = buffer.remaining();
+		if (remaining == 0) {
+			return -1;
+		}
+		int count = Math.min(len, remaining);
+		buffer.get(b, off, count);
+		return count;
+	}
+
+	@Override
+	public long skip(long n) {
+		if (n <= 0) {
+			return 0;
+		}
+		int count = (int) Math.min(n, buffer.remaining());
+		buffer.position(buffer.position() + count);
+		return count;
+	}
+
+	@Override
+	public int available() {
+		return buffer.remaining();
+	}
+
+	@Override
+	public boolean markSupported() {
+		return true;
+	}
+
+	@Override
+	public synchronized void mark(int readlimit) {
+		this.mark = buffer.position();
+	}
+
+	@Override
+	public synchronized void reset() {
+		buffer.position(mark < 0 ? 0 : mark);
+	}
+
+}
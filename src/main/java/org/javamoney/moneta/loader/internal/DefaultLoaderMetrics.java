@@ -0,0 +1,170 @@
+/*
+ *  Copyright (c) 2012, 2013, Credit Suisse (Anatole Tresch), Werner Keil.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.javamoney.moneta.loader.internal;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.javamoney.moneta.spi.LoaderMetrics;
+
+/**
+ * Thread-safe {@link LoaderMetrics} of a {@link LoadableResource}.
+ * 
+ * @author Anatole Tresch
+ */
+final class DefaultLoaderMetrics implements LoaderMetrics {
+	/** Upper bounds of the load duration buckets in ms. */
+	private static final long[] BUCKETS = { 10L, 50L, 100L, 250L, 500L,
+			1000L, 2500L, 5000L, 10000L, 30000L };
+	/** The resource id. */
+	private final String resourceId;
+	/** The successful remote loads. */
+	private final AtomicLong successCount = new AtomicLong();
+	/** The failed loads. */
+	private final AtomicLong failureCount = new AtomicLong();
+	/** The bytes loaded. */
+	private final AtomicLong bytesLoaded = new AtomicLong();
+	/** The load duration histogram. */
+	private final AtomicLongArray histogram = new AtomicLongArray(
+			BUCKETS.length + 1);
+	/** The duration of the last load. */
+	private volatile long lastLoadDuration = -1L;
+	/** The timestamp of the last successful remote load. */
+	private volatile long lastLoaded;
+	/** Flag, if the data in use was not loaded from remote. */
+	private volatile boolean fallbackUsed;
+
+	/**
+	 * Creates a new instance.
+	 * 
+	 * @param resourceId
+	 *            the resource id, not null.
+	 */
+	DefaultLoaderMetrics(String resourceId) {
+		Objects.requireNonNull(resourceId, "resourceId required");
+		this.resourceId = resourceId;
+	}
+
+	/**
+	 * Records a successful load.
+	 * 
+	 * @param durationMS
+	 *            the load duration in ms.
+	 * @param bytes
+	 *            the number of bytes loaded.
+	 * @param remote
+	 *            true, if the data was loaded from remote, false for local
+	 *            cache and fallback loads.
+	 */
+	void recordSuccess(long durationMS, long bytes, boolean remote) {
+		recordDuration(durationMS);
+		bytesLoaded.addAndGet(bytes);
+		if (remote) {
+			successCount.incrementAndGet();
+			lastLoaded = System.currentTimeMillis();
+		}
+		fallbackUsed = !remote;
+	}
+
+	/**
+	 * Records a failed load.
+	 * 
+	 * @param durationMS
+	 *            the load duration in ms.
+	 */
+	void recordFailure(long durationMS) {
+		recordDuration(durationMS);
+		failureCount.incrementAndGet();
+	}
+
+	private void recordDuration(long durationMS) {
+		lastLoadDuration = durationMS;
+		int bucket = 0;
+		while (bucket < BUCKETS.length && durationMS > BUCKETS[bucket]) {
+			bucket++;
+		}
+		histogram.incrementAndGet(bucket);
+	}
+
+	@Override
+	public String getResourceId() {
+		return resourceId;
+	}
+
+	@Override
+	public long getSuccessCount() {
+		return successCount.get();
+	}
+
+	@Override
+	public long getFailureCount() {
+		return failureCount.get();
+	}
+
+	@Override
+	public long getBytesLoaded() {
+		return bytesLoaded.get();
+	}
+
+	@Override
+	public long[] getLoadDurationBuckets() {
+		return BUCKETS.clone();
+	}
+
+	@Override
+	public long[] getLoadDurationHistogram() {
+		long[] result = new long[histogram.length()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = histogram.get(i);
+		}
+		return result;
+	}
+
+	@Override
+	public long getLastLoadDuration() {
+		return lastLoadDuration;
+	}
+
+	@Override
+	public long getLastLoaded() {
+		return lastLoaded;
+	}
+
+	@Override
+	public long getStaleness() {
+		long loaded = lastLoaded;
+		if (loaded == 0L) {
+			return -1L;
+		}
+		return System.currentTimeMillis() - loaded;
+	}
+
+	@Override
+	public boolean isFallbackUsed() {
+		return fallbackUsed;
+	}
+
+	@Override
+	public String toString() {
+		return "LoaderMetrics [resourceId=" + resourceId + ", successCount="
+				+ successCount + ", failureCount=" + failureCount
+				+ ", bytesLoaded=" + bytesLoaded + ", lastLoadDuration="
+				+ lastLoadDuration + ", lastLoaded=" + lastLoaded
+				+ ", fallbackUsed=" + fallbackUsed + "]";
+	}
+
+}
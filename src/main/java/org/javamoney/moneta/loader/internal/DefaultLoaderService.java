@@ -18,8 +18,8 @@ package org.javamoney.moneta.loader.internal;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.Map;
@@ -28,15 +28,23 @@ import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.money.spi.Bootstrap;
 
+import org.javamoney.moneta.spi.LoaderMetrics;
+import org.javamoney.moneta.spi.LoaderMetricsExporter;
 import org.javamoney.moneta.spi.LoaderService;
+import org.javamoney.moneta.spi.MonetaryConfig;
 
 /**
  * This class provides a mechanism to register resources, that may be updated
@@ -50,6 +58,13 @@ public class DefaultLoaderService implements LoaderService {
 	/** Logger used. */
 	private static final Logger LOG = Logger
 			.getLogger(DefaultLoaderService.class.getName());
+	/**
+	 * Config key for the time in ms a single {@link LoaderListener} may take
+	 * to process new data.
+	 */
+	private static final String LISTENER_TIMEOUT_KEY = "loader.listener.timeout";
+	/** Default listener timeout in ms. */
+	private static final long DEFAULT_LISTENER_TIMEOUT = 60000L;
 	/** The data resources managed by this instance. */
 	private Map<String, LoadableResource> resources = new ConcurrentHashMap<>();
 	/** The registered {@link LoaderListener} instances. */
@@ -59,8 +74,17 @@ public class DefaultLoaderService implements LoaderService {
 	 * system.
 	 */
 	private ResourceCache resourceCache = loadResourceCache();
-	/** The thread pool used for loading of data, triggered by the timer. */
+	/** The exporters publishing the load metrics. */
+	private List<LoaderMetricsExporter> metricsExporters = loadMetricsExporters();
+	/**
+	 * The thread pool used for loading of data, triggered by the timer, and
+	 * for notifying the listeners.
+	 */
 	private ExecutorService executors = Executors.newCachedThreadPool();
+	/** The most recent listener notification, per resource. */
+	private Map<String, Future<Boolean>> notifications = new ConcurrentHashMap<>();
+	/** The time in ms a single listener may take to process new data. */
+	private long listenerTimeout = loadListenerTimeout();
 	/**
 	 * The configurator reading the initial loads from the javamoney.properties.
 	 */
@@ -76,6 +100,77 @@ public class DefaultLoaderService implements LoaderService {
 		configurator.load();
 	}
 
+	/**
+	 * Evaluates the listener timeout from the configuration.
+	 * 
+	 * @return the timeout in ms.
+	 */
+	private static long loadListenerTimeout() {
+		String value = MonetaryConfig.getConfig().get(LISTENER_TIMEOUT_KEY);
+		if (value != null) {
+			try {
+				return Long.parseLong(value.trim());
+			} catch (NumberFormatException e) {
+				LOG.log(Level.SEVERE, "Invalid " + LISTENER_TIMEOUT_KEY + ": "
+						+ value, e);
+			}
+		}
+		return DEFAULT_LISTENER_TIMEOUT;
+	}
+
+	/**
+	 * Sets the time a single listener may take to process new data, e.g. for
+	 * tests.
+	 * 
+	 * @param listenerTimeout
+	 *            the timeout in ms.
+	 */
+	void setListenerTimeout(long listenerTimeout) {
+		this.listenerTimeout = listenerTimeout;
+	}
+
+	/**
+	 * Loads the exporters for the load metrics.
+	 * 
+	 * @return the exporters, not null.
+	 */
+	private static List<LoaderMetricsExporter> loadMetricsExporters() {
+		List<LoaderMetricsExporter> exporters = new ArrayList<>();
+		try {
+			for (LoaderMetricsExporter exporter : Bootstrap
+					.getServices(LoaderMetricsExporter.class)) {
+				exporters.add(exporter);
+			}
+		} catch (Exception e) {
+			LOG.log(Level.SEVERE, "Error loading LoaderMetricsExporter instances.",
+					e);
+		}
+		return exporters;
+	}
+
+	/**
+	 * Calls the metrics exporters with the given resource's metrics.
+	 * 
+	 * @param res
+	 *            the resource, not null.
+	 * @param registration
+	 *            true, if the resource was just registered, false after a load.
+	 */
+	private void exportMetrics(LoadableResource res, boolean registration) {
+		for (LoaderMetricsExporter exporter : metricsExporters) {
+			try {
+				if (registration) {
+					exporter.register(res.getMetrics());
+				} else {
+					exporter.loaded(res.getMetrics());
+				}
+			} catch (Exception e) {
+				LOG.log(Level.WARNING, "Error calling LoaderMetricsExporter: "
+						+ exporter, e);
+			}
+		}
+	}
+
 	/**
 	 * Loads the cache to be used.
 	 * 
@@ -133,9 +228,10 @@ public class DefaultLoaderService implements LoaderService {
 			throw new IllegalArgumentException("Resource : " + resourceId
 					+ " already registered.");
 		}
-		LoadableResource res = new LoadableResource(resourceId, updatePolicy,
-				backupResource, resourceLocations);
+		LoadableResource res = new LoadableResource(resourceCache, resourceId,
+				updatePolicy, backupResource, resourceLocations);
 		this.resources.put(resourceId, res);
+		exportMetrics(res, true);
 		switch (updatePolicy) {
 		case NEVER:
 			loadDataLocal(resourceId);
@@ -198,7 +294,7 @@ public class DefaultLoaderService implements LoaderService {
 	public InputStream getData(String resourceId) throws IOException {
 		LoadableResource res = this.resources.get(resourceId);
 		if (res != null) {
-			res.getDataStream();
+			return res.getDataStream();
 		}
 		throw new IllegalArgumentException("No such resource: " + resourceId);
 	}
@@ -241,12 +337,14 @@ public class DefaultLoaderService implements LoaderService {
 		if (res != null) {
 			try {
 				if (res.loadFallback()) {
-					triggerListeners(resourceId, res.getDataStream());
+					awaitNotification(triggerListeners(resourceId, res));
 					return true;
 				}
 			} catch (Exception e) {
 				LOG.log(Level.SEVERE, "Failed to load resource locally: "
 						+ resourceId, e);
+			} finally {
+				exportMetrics(res, false);
 			}
 		} else {
 			throw new IllegalArgumentException("No such resource: "
@@ -267,12 +365,14 @@ public class DefaultLoaderService implements LoaderService {
 		if (res != null) {
 			try {
 				if (res.load()) {
-					triggerListeners(resourceId, res.getDataStream());
+					awaitNotification(triggerListeners(resourceId, res));
 					return true;
 				}
 			} catch (Exception e) {
 				LOG.log(Level.SEVERE, "Failed to load resource: " + resourceId,
 						e);
+			} finally {
+				exportMetrics(res, false);
 			}
 		} else {
 			throw new IllegalArgumentException("No such resource: "
@@ -290,47 +390,190 @@ public class DefaultLoaderService implements LoaderService {
 	public void resetData(String dataId) throws IOException {
 		LoadableResource res = this.resources.get(dataId);
 		if (res != null) {
-			if (res.reset()) {
-				triggerListeners(dataId, res.getDataStream());
+			try {
+				if (res.reset()) {
+					awaitNotification(triggerListeners(dataId, res));
+				}
+			} finally {
+				exportMetrics(res, false);
 			}
 		} else {
 			throw new IllegalArgumentException("No such resource: " + dataId);
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.javamoney.moneta.spi.LoaderService#getMetrics(java.lang.String)
+	 */
+	@Override
+	public LoaderMetrics getMetrics(String resourceId) {
+		LoadableResource res = this.resources.get(resourceId);
+		if (res != null) {
+			return res.getMetrics();
+		}
+		throw new IllegalArgumentException("No such resource: " + resourceId);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.javamoney.moneta.spi.LoaderService#getListenerNotification(java.lang
+	 * .String)
+	 */
+	@Override
+	public Future<Boolean> getListenerNotification(String resourceId) {
+		if (!this.resources.containsKey(resourceId)) {
+			throw new IllegalArgumentException("No such resource: "
+					+ resourceId);
+		}
+		Future<Boolean> notification = this.notifications.get(resourceId);
+		if (notification == null) {
+			FutureTask<Boolean> none = new FutureTask<>(new Callable<Boolean>() {
+				@Override
+				public Boolean call() {
+					return Boolean.FALSE;
+				}
+			});
+			none.run();
+			return none;
+		}
+		return notification;
+	}
+
 	/**
-	 * Trigger the listeners registered for the given dataId.
+	 * Waits for the listeners to process the data, as returned by
+	 * {@link #triggerListeners(String, LoadableResource)}.
+	 * 
+	 * @param notification
+	 *            the notification, not null.
+	 */
+	private void awaitNotification(Future<Boolean> notification) {
+		try {
+			notification.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			LOG.log(Level.SEVERE, "Error notifying LoadListeners.", e);
+		}
+	}
+
+	/**
+	 * Trigger the listeners registered for the given dataId. The listeners are
+	 * called in parallel, each with its own {@link InputStream}, reading an
+	 * independent view on the same loaded data, so no data is copied. Each
+	 * listener is cancelled, if it does not complete within the configured
+	 * timeout.
 	 * 
 	 * @param dataId
 	 *            the data id, not null.
-	 * @param is
-	 *            the InputStream, containing the latest data.
+	 * @param res
+	 *            the resource, containing the latest data.
+	 * @return the Future completing, when all listeners have processed the
+	 *         data.
 	 */
-	private void triggerListeners(String dataId, InputStream is) {
-		List<LoaderListener> listeners = getListeners("");
-		synchronized (listeners) {
-			for (LoaderListener ll : listeners) {
-				try {
-					ll.newDataLoaded(dataId, is);
-				} catch (Exception e) {
-					LOG.log(Level.SEVERE, "Error calling LoadListener: " + ll,
-							e);
-				}
-			}
-		}
+	private Future<Boolean> triggerListeners(final String dataId,
+			final LoadableResource res) {
+		final ByteBuffer data = res.getData();
+		List<LoaderListener> listeners = new ArrayList<>(getListeners(""));
 		if (!(dataId == null || dataId.isEmpty())) {
-			listeners = getListeners(dataId);
-			synchronized (listeners) {
-				for (LoaderListener ll : listeners) {
+			listeners.addAll(getListeners(dataId));
+		}
+		final List<Future<Boolean>> calls = new ArrayList<>(listeners.size());
+		final long deadline = System.currentTimeMillis() + listenerTimeout;
+		FutureTask<Boolean> notification;
+		try {
+			for (final LoaderListener ll : listeners) {
+				calls.add(executors.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() {
+						return notifyListener(ll, dataId, data);
+					}
+				}));
+			}
+			notification = new FutureTask<>(new Callable<Boolean>() {
+				@Override
+				public Boolean call() {
 					try {
-						ll.newDataLoaded(dataId, is);
-					} catch (Exception e) {
-						LOG.log(Level.SEVERE, "Error calling LoadListener: "
-								+ ll, e);
+						return awaitListeners(dataId, calls, deadline);
+					} finally {
+						res.unload();
 					}
 				}
+			});
+			executors.execute(notification);
+		} catch (RuntimeException e) {
+			for (Future<Boolean> call : calls) {
+				call.cancel(true);
+			}
+			res.unload();
+			throw e;
+		}
+		this.notifications.put(dataId, notification);
+		return notification;
+	}
+
+	/**
+	 * Waits for the given listener calls to complete, cancelling the ones not
+	 * completed before the given deadline.
+	 * 
+	 * @param dataId
+	 *            the data id, not null.
+	 * @param calls
+	 *            the listener calls, not null.
+	 * @param deadline
+	 *            the deadline in ms.
+	 * @return true, if all listeners completed successfully.
+	 */
+	private boolean awaitListeners(String dataId, List<Future<Boolean>> calls,
+			long deadline) {
+		boolean success = true;
+		for (Future<Boolean> call : calls) {
+			long remaining = deadline - System.currentTimeMillis();
+			try {
+				if (!call.get(Math.max(remaining, 0L), TimeUnit.MILLISECONDS)) {
+					success = false;
+				}
+			} catch (TimeoutException e) {
+				LOG.severe("LoadListener timed out processing: " + dataId);
+				call.cancel(true);
+				success = false;
+			} catch (ExecutionException e) {
+				LOG.log(Level.SEVERE, "Error calling LoadListener.", e);
+				success = false;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				for (Future<Boolean> c : calls) {
+					c.cancel(true);
+				}
+				return false;
 			}
 		}
+		return success;
+	}
+
+	/**
+	 * Calls the given listener with a new stream on the data given.
+	 * 
+	 * @param ll
+	 *            the listener, not null.
+	 * @param dataId
+	 *            the data id, not null.
+	 * @param data
+	 *            the loaded data, not null.
+	 * @return true, if the listener completed successfully.
+	 */
+	private boolean notifyListener(LoaderListener ll, String dataId,
+			ByteBuffer data) {
+		try (InputStream is = new ByteBufferInputStream(data.duplicate())) {
+			ll.newDataLoaded(dataId, is);
+			return true;
+		} catch (Exception e) {
+			LOG.log(Level.SEVERE, "Error calling LoadListener: " + ll, e);
+			return false;
+		}
 	}
 
 	/*
@@ -343,23 +586,18 @@ public class DefaultLoaderService implements LoaderService {
 	@Override
 	public void addLoaderListener(LoaderListener l, String... dataIds) {
 		if (dataIds.length == 0) {
-			List<LoaderListener> listeners = getListeners("");
-			synchronized (listeners) {
-				listeners.add(l);
-			}
+			getListeners("").add(l);
 		} else {
 			for (String dataId : dataIds) {
-				List<LoaderListener> listeners = getListeners(dataId);
-				synchronized (listeners) {
-					listeners.add(l);
-				}
+				getListeners(dataId).add(l);
 			}
 		}
 	}
 
 	/**
 	 * Evaluate the {@link LoaderListener} instances, listening fo a dataId
-	 * given.
+	 * given. The list returned is copy-on-write, so it can be iterated without
+	 * locking, while listeners are added or removed.
 	 * 
 	 * @param dataId
 	 *            The dataId, not null
@@ -374,8 +612,7 @@ public class DefaultLoaderService implements LoaderService {
 			synchronized (listenersMap) {
 				listeners = this.listenersMap.get(dataId);
 				if (listeners == null) {
-					listeners = Collections
-							.synchronizedList(new ArrayList<LoaderListener>());
+					listeners = new CopyOnWriteArrayList<>();
 					this.listenersMap.put(dataId, listeners);
 				}
 			}
@@ -393,16 +630,10 @@ public class DefaultLoaderService implements LoaderService {
 	@Override
 	public void removeLoaderListener(LoaderListener l, String... dataIds) {
 		if (dataIds.length == 0) {
-			List<LoaderListener> listeners = getListeners("");
-			synchronized (listeners) {
-				listeners.remove(l);
-			}
+			getListeners("").remove(l);
 		} else {
 			for (String dataId : dataIds) {
-				List<LoaderListener> listeners = getListeners(dataId);
-				synchronized (listeners) {
-					listeners.remove(l);
-				}
+				getListeners(dataId).remove(l);
 			}
 		}
 	}
@@ -436,6 +667,8 @@ public class DefaultLoaderService implements LoaderService {
 				} catch (Exception e) {
 					LOG.log(Level.SEVERE, "Failed to update remote resource: "
 							+ loadableResource.getResourceId(), e);
+				} finally {
+					exportMetrics(loadableResource, false);
 				}
 			}
 		};
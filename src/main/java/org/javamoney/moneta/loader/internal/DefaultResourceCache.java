@@ -17,20 +17,47 @@
  */
 package org.javamoney.moneta.loader.internal;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+import org.javamoney.moneta.spi.MonetaryConfig;
 
 /**
  * Default implementation of {@link ResourceCache}, using the local file system.
+ * <p>
+ * Each resource is stored in its own file, starting with a header containing
+ * the source URL, the fetch time, the data length and a CRC32 checksum of the
+ * data, optionally followed by the deflate compressed data. Files are written
+ * to a temporary file first, and then atomically renamed, so a crash never
+ * leaves a partially written file. Temporary files left over by a crashed
+ * write are deleted on startup, once they are older than an hour, so writes
+ * in progress by other processes sharing the directory are not affected.
+ * Files are read by memory mapping them, and are only returned, if length and
+ * checksum match.
+ * <p>
+ * The cache directory can be configured by {@code loader.cache.dir}, by
+ * default {@code javamoney-resourceCache} in {@code java.io.tmpdir} is used.
+ * Compression is enabled by setting {@code loader.cache.compress=true}.
  * 
  * @author Anatole Tresch
  */
@@ -40,9 +67,35 @@ public class DefaultResourceCache implements ResourceCache {
 			.getLogger(DefaultResourceCache.class.getName());
 	/** Suffix for files created. */
 	private static final String SUFFIX = ".dat";
-	/** Local temp directory. */
-	private File localDir = new File(System.getProperty("temp.dir",
-			".resourceCache"));
+	/** Suffix for files being written. */
+	private static final String TEMP_SUFFIX = ".tmp";
+	/** Config key for the cache directory. */
+	private static final String DIR_KEY = "loader.cache.dir";
+	/** Config key for enabling compression. */
+	private static final String COMPRESS_KEY = "loader.cache.compress";
+	/** Magic number of the cache file format. */
+	private static final int MAGIC = 0x4A4D5243;
+	/**
+	 * Version of the cache file format. Version 2 stores the length of the
+	 * source URL as int, files of other versions are discarded.
+	 */
+	private static final byte VERSION = 2;
+	/** Flag set, if the data is deflate compressed. */
+	private static final byte FLAG_DEFLATE = 1;
+	/** Charset for the source URL. */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	/** Size of the chunks copied from read-only buffers. */
+	private static final int CHUNK_SIZE = 8192;
+	/**
+	 * Age of temporary files, after which they are considered left over from a
+	 * crashed write. Younger ones may be written by another process sharing
+	 * the cache directory.
+	 */
+	private static final long STALE_TEMP_MILLIS = 60L * 60L * 1000L;
+	/** Local cache directory. */
+	private File localDir;
+	/** Flag, if data should be compressed. */
+	private final boolean compress;
 	/** Cached resources. */
 	private Map<String, File> cachedResources = new ConcurrentHashMap<>();
 
@@ -50,81 +103,140 @@ public class DefaultResourceCache implements ResourceCache {
 	 * Constructor.
 	 */
 	public DefaultResourceCache() {
+		this(new File(loadCacheDir()), Boolean.parseBoolean(MonetaryConfig
+				.getConfig().get(COMPRESS_KEY)));
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param localDir
+	 *            the cache directory, created if not existing.
+	 * @param compress
+	 *            true, if data written should be compressed.
+	 */
+	DefaultResourceCache(File localDir, boolean compress) {
+		this.localDir = localDir;
+		this.compress = compress;
 		if (!localDir.exists()) {
 			if (!localDir.mkdirs()) {
 				LOG.severe("Error creating cache dir  " + localDir
 						+ ", resource cache disabled!");
-				localDir = null;
+				this.localDir = null;
 			} else {
 				LOG.finest("Created cache dir  " + localDir);
 			}
 		} else if (!localDir.isDirectory()) {
 			LOG.severe("Error initializing cache dir  " + localDir
 					+ ", not a directory, resource cache disabled!");
-			localDir = null;
+			this.localDir = null;
 		} else if (!localDir.canWrite()) {
 			LOG.severe("Error initializing cache dir  " + localDir
 					+ ", not writable, resource cache disabled!");
-			localDir = null;
+			this.localDir = null;
 		}
-		if (localDir != null) {
+		if (this.localDir != null) {
+			long staleTime = System.currentTimeMillis() - STALE_TEMP_MILLIS;
 			File[] files = localDir.listFiles();
 			for (File file : files) {
-				if (file.isFile()) {
-					String resourceId = file.getName().substring(0,
-							file.getName().length() - 4);
-					cachedResources.put(resourceId, file);
+				if (!file.isFile()) {
+					continue;
+				}
+				String name = file.getName();
+				if (name.endsWith(SUFFIX)) {
+					cachedResources.put(
+							name.substring(0, name.length() - SUFFIX.length()),
+							file);
+				} else if (name.endsWith(TEMP_SUFFIX)
+						&& file.lastModified() < staleTime && !file.delete()) {
+					LOG.warning("Failed to delete incomplete cache file " + file);
 				}
 			}
 		}
 	}
 
+	/**
+	 * Evaluates the cache directory from the configuration.
+	 * 
+	 * @return the cache directory path.
+	 */
+	private static String loadCacheDir() {
+		String dir = MonetaryConfig.getConfig().get(DIR_KEY);
+		if (dir == null) {
+			return new File(System.getProperty("java.io.tmpdir"),
+					"javamoney-resourceCache").getPath();
+		}
+		return dir;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
 	 * @see
 	 * org.javamoney.moneta.loader.internal.ResourceCache#write(java.lang.String
-	 * , byte[])
+	 * , java.net.URL, java.nio.ByteBuffer)
 	 */
 	@Override
-	public void write(String resourceId, byte[] data) throws IOException {
-		File f = this.cachedResources.get(resourceId);
-		if (f == null) {
-			f = new File(localDir, resourceId + SUFFIX);
-			writeFile(f, data);
-			this.cachedResources.put(resourceId, f);
-		} else {
-			writeFile(f, data);
+	public void write(String resourceId, URL source, ByteBuffer data)
+			throws IOException {
+		if (localDir == null) {
+			return;
+		}
+		File f = new File(localDir, resourceId + SUFFIX);
+		File temp = File.createTempFile(resourceId, TEMP_SUFFIX, localDir);
+		try {
+			writeFile(temp, source, data.duplicate());
+			try {
+				Files.move(temp.toPath(), f.toPath(),
+						StandardCopyOption.ATOMIC_MOVE,
+						StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp.toPath(), f.toPath(),
+						StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			if (temp.exists() && !temp.delete()) {
+				LOG.warning("Failed to delete incomplete cache file " + temp);
+			}
 		}
+		this.cachedResources.put(resourceId, f);
 	}
 
 	/**
-	 * Writees a file with the given data,
+	 * Writes a file with the given data, including the header.
 	 * 
 	 * @param f
 	 *            the file
+	 * @param source
+	 *            the source URL
 	 * @param data
-	 *            the data
+	 *            the data, consumed.
 	 * @throws IOException
 	 *             if writing failed.
 	 */
-	private void writeFile(File f, byte[] data) throws IOException {
-		BufferedOutputStream bos = null;
-		try {
-			bos = new BufferedOutputStream(new FileOutputStream(f));
-			bos.write(data);
-			bos.flush();
-		} finally {
-			try {
-				if (bos != null) {
-					bos.close();
-				}
-			} catch (Exception e2) {
-				LOG.log(Level.SEVERE, "Error closing output stream for " + f,
-						e2);
+	private void writeFile(File f, URL source, ByteBuffer data)
+			throws IOException {
+		byte[] sourceBytes = source.toExternalForm().getBytes(UTF8);
+		try (FileOutputStream fos = new FileOutputStream(f)) {
+			DataOutputStream dos = new DataOutputStream(fos);
+			dos.writeInt(MAGIC);
+			dos.writeByte(VERSION);
+			dos.writeByte(compress ? FLAG_DEFLATE : 0);
+			dos.writeInt(sourceBytes.length);
+			dos.write(sourceBytes);
+			dos.writeLong(System.currentTimeMillis());
+			dos.writeInt(data.remaining());
+			dos.writeInt((int) checksum(data.duplicate()));
+			dos.flush();
+			if (compress) {
+				DeflaterOutputStream out = new DeflaterOutputStream(fos);
+				copy(data, out);
+				out.finish();
+			} else {
+				copy(data, fos);
 			}
+			fos.getFD().sync();
 		}
-
 	}
 
 	/*
@@ -146,47 +258,145 @@ public class DefaultResourceCache implements ResourceCache {
 	 * org.javamoney.moneta.loader.internal.ResourceCache#read(java.lang.String)
 	 */
 	@Override
-	public byte[] read(String resourceId) {
+	public ByteBuffer read(String resourceId) {
 		File f = this.cachedResources.get(resourceId);
 		if (f == null) {
 			return null;
 		}
-		return readFile(f);
+		ByteBuffer data = readFile(f);
+		if (data == null) {
+			this.cachedResources.remove(resourceId);
+			if (!f.delete()) {
+				LOG.warning("Failed to delete corrupt cache file " + f);
+			}
+		}
+		return data;
 	}
 
 	/**
-	 * Read a file.
+	 * Read a file, by mapping it into memory.
 	 * 
 	 * @param f
 	 *            the file
-	 * @return the bytes read.
+	 * @return the data read, or null, if the file could not be read or is
+	 *         corrupt.
 	 */
-	private byte[] readFile(File f) {
-		ByteArrayOutputStream bos = new ByteArrayOutputStream();
-		BufferedInputStream is = null;
-		try {
-			is = new BufferedInputStream(new FileInputStream(f));
-			byte[] input = new byte[1024];
-			int read = 1;
-			while (read > 0) {
-				read = is.read(input);
-				bos.write(input, 0, read);
+	private ByteBuffer readFile(File f) {
+		try (FileInputStream fis = new FileInputStream(f);
+				FileChannel channel = fis.getChannel()) {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+					channel.size());
+			if (buffer.remaining() < 8 || buffer.getInt() != MAGIC
+					|| buffer.get() != VERSION) {
+				LOG.severe("Invalid cached resource in " + f);
+				return null;
+			}
+			byte flags = buffer.get();
+			int sourceLength = buffer.getInt();
+			if (sourceLength < 0 || sourceLength > buffer.remaining()) {
+				LOG.severe("Invalid cached resource in " + f);
+				return null;
+			}
+			byte[] sourceBytes = new byte[sourceLength];
+			buffer.get(sourceBytes);
+			long fetchTime = buffer.getLong();
+			int length = buffer.getInt();
+			int checksum = buffer.getInt();
+			ByteBuffer data;
+			if ((flags & FLAG_DEFLATE) != 0) {
+				data = inflate(buffer.slice(), length);
+			} else {
+				data = buffer.slice();
+			}
+			if (data == null || data.remaining() != length
+					|| (int) checksum(data.duplicate()) != checksum) {
+				LOG.severe("Corrupt cached resource in " + f);
+				return null;
 			}
-			return bos.toByteArray();
+			LOG.finest("Read cached resource from " + f + ", loaded from "
+					+ new String(sourceBytes, UTF8) + " at "
+					+ new Date(fetchTime));
+			return data.asReadOnlyBuffer();
 		} catch (Exception e) {
 			LOG.log(Level.SEVERE, "Error reading cached resource from " + f, e);
 			return null;
-		} finally {
-			try {
-				if (is != null) {
-					is.close();
+		}
+	}
+
+	/**
+	 * Inflates the given compressed data.
+	 * 
+	 * @param compressed
+	 *            the compressed data.
+	 * @param length
+	 *            the expected length of the inflated data.
+	 * @return the data inflated, or null, if the data is not of the expected
+	 *         length.
+	 * @throws DataFormatException
+	 *             if the compressed data is invalid.
+	 */
+	private static ByteBuffer inflate(ByteBuffer compressed, int length)
+			throws DataFormatException {
+		byte[] input = new byte[compressed.remaining()];
+		compressed.get(input);
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(input);
+			byte[] result = new byte[length];
+			int count = 0;
+			while (count < length && !inflater.finished()) {
+				int read = inflater.inflate(result, count, length - count);
+				if (read == 0 && (inflater.needsInput() || inflater
+						.needsDictionary())) {
+					return null;
 				}
-			} catch (Exception e2) {
-				LOG.log(Level.SEVERE, "Error closing input stream from " + f,
-						e2);
+				count += read;
+			}
+			if (count != length || !inflater.finished()) {
+				return null;
 			}
+			return ByteBuffer.wrap(result);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	/**
+	 * Calculates the CRC32 checksum of the given data.
+	 * 
+	 * @param data
+	 *            the data, consumed.
+	 * @return the checksum.
+	 */
+	private static long checksum(ByteBuffer data) {
+		CRC32 crc = new CRC32();
+		byte[] chunk = new byte[CHUNK_SIZE];
+		while (data.hasRemaining()) {
+			int count = Math.min(chunk.length, data.remaining());
+			data.get(chunk, 0, count);
+			crc.update(chunk, 0, count);
 		}
+		return crc.getValue();
+	}
 
+	/**
+	 * Copies the given data to the given stream.
+	 * 
+	 * @param data
+	 *            the data, consumed.
+	 * @param out
+	 *            the target stream.
+	 * @throws IOException
+	 *             if writing failed.
+	 */
+	private static void copy(ByteBuffer data, OutputStream out)
+			throws IOException {
+		byte[] chunk = new byte[CHUNK_SIZE];
+		while (data.hasRemaining()) {
+			int count = Math.min(chunk.length, data.remaining());
+			data.get(chunk, 0, count);
+			out.write(chunk, 0, count);
+		}
 	}
 
 	@Override
@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2012, 2013, Credit Suisse (Anatole Tresch), Werner Keil.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.javamoney.moneta.loader.internal;
+
+import java.lang.management.ManagementFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.javamoney.moneta.spi.LoaderMetrics;
+import org.javamoney.moneta.spi.LoaderMetricsExporter;
+
+/**
+ * {@link LoaderMetricsExporter} publishing the {@link LoaderMetrics} of each
+ * resource as MXBean to the platform {@link MBeanServer}, named
+ * {@code org.javamoney.moneta:type=LoaderMetrics,resource=<resourceId>}. An
+ * MBean already registered for the same resource, e.g. by a previous
+ * deployment, is replaced.
+ * 
+ * @author Anatole Tresch
+ */
+public class JMXLoaderMetricsExporter implements LoaderMetricsExporter {
+	/** The logger used. */
+	private static final Logger LOG = Logger
+			.getLogger(JMXLoaderMetricsExporter.class.getName());
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.javamoney.moneta.spi.LoaderMetricsExporter#register(org.javamoney
+	 * .moneta.spi.LoaderMetrics)
+	 */
+	@Override
+	public void register(LoaderMetrics metrics) {
+		try {
+			ObjectName name = new ObjectName(
+					"org.javamoney.moneta:type=LoaderMetrics,resource="
+							+ ObjectName.quote(metrics.getResourceId()));
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			StandardMBean mbean = new StandardMBean(metrics,
+					LoaderMetrics.class, true);
+			try {
+				server.registerMBean(mbean, name);
+			} catch (InstanceAlreadyExistsException e) {
+				// the platform MBeanServer is shared, e.g. on a redeploy, or by
+				// another loader service: replace the outdated metrics, so JMX
+				// does not report stale data and the old instance is released
+				LOG.fine("Replacing LoaderMetrics registered for: "
+						+ metrics.getResourceId());
+				try {
+					server.unregisterMBean(name);
+				} catch (InstanceNotFoundException e2) {
+					// unregistered concurrently
+				}
+				server.registerMBean(mbean, name);
+			}
+		} catch (Exception e) {
+			LOG.log(Level.WARNING, "Failed to register LoaderMetrics MBean for: "
+					+ metrics.getResourceId(), e);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * org.javamoney.moneta.spi.LoaderMetricsExporter#loaded(org.javamoney.
+	 * moneta.spi.LoaderMetrics)
+	 */
+	@Override
+	public void loaded(LoaderMetrics metrics) {
+		// the MBean reads the live metrics, nothing to update
+	}
+
+}
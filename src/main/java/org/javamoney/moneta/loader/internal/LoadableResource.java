@@ -15,22 +15,28 @@
  */
 package org.javamoney.moneta.loader.internal;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.javamoney.moneta.spi.LoaderMetrics;
 import org.javamoney.moneta.spi.LoaderService.UpdatePolicy;
 
 /**
@@ -54,16 +60,23 @@ public class LoadableResource {
 	private URL fallbackLocation;
 	/** The cached resource URL. */
 	private URL cachedResource;
+	/** The local cache, storing the data loaded from remote, or null. */
+	private ResourceCache cache;
 	/** How many times this resource was successfully loaded. */
 	private AtomicInteger loadCount = new AtomicInteger();
 	/** How many times this resource was accessed. */
 	private AtomicInteger accessCount = new AtomicInteger();
-	/** The current data array. */
-	private volatile byte[] data;
+	/**
+	 * The current data generation, read-only. Readers never access this buffer
+	 * directly, but work on their own {@link ByteBuffer#duplicate()}.
+	 */
+	private volatile ByteBuffer data;
 	/** THe timestamp of the last successful load. */
 	private long lastLoaded;
 	/** The registration config. */
 	private Map<String, String> updateConfig;
+	/** The load metrics. */
+	private final DefaultLoaderMetrics metrics;
 
 	/**
 	 * Create a new instance.
@@ -79,6 +92,27 @@ public class LoadableResource {
 	 */
 	public LoadableResource(String resourceId, UpdatePolicy updatePolicy,
 			URL fallbackLocation, URL... locations) {
+		this(null, resourceId, updatePolicy, fallbackLocation, locations);
+	}
+
+	/**
+	 * Create a new instance, using the given {@link ResourceCache} for storing
+	 * the data loaded from remote. If the remote locations are not reachable,
+	 * the cached data is used before the fallback location is read.
+	 * 
+	 * @param cache
+	 *            the {@link ResourceCache}, or null.
+	 * @param resourceId
+	 *            The dataId.
+	 * @param updatePolicy
+	 *            The {@link UpdatePolicy}, not null.
+	 * @param fallbackLocation
+	 *            teh fallback ULR, not null.
+	 * @param locations
+	 *            the remote locations, not null (but may be empty!)
+	 */
+	public LoadableResource(ResourceCache cache, String resourceId,
+			UpdatePolicy updatePolicy, URL fallbackLocation, URL... locations) {
 		Objects.requireNonNull(resourceId, "resourceId required");
 		Objects.requireNonNull(fallbackLocation, "classpathDefault required");
 		Objects.requireNonNull(updatePolicy, "UpdatePolicy required");
@@ -86,17 +120,19 @@ public class LoadableResource {
 		this.fallbackLocation = fallbackLocation;
 		this.remoteResources.addAll(Arrays.asList(locations));
 		this.updatePolicy = updatePolicy;
+		this.cache = cache;
+		this.metrics = new DefaultLoaderMetrics(resourceId);
 	}
 
 	/**
 	 * Loads the resource, first from the remote resources, if that fails from
-	 * the fallback location.
+	 * the local cache, and finally from the fallback location.
 	 * 
 	 * @return true, if load succeeded.
 	 */
 	public boolean load() {
 		if (!loadRemote()) {
-			return loadFallback();
+			return loadCache() || loadFallback();
 		}
 		return true;
 	}
@@ -164,38 +200,54 @@ public class LoadableResource {
 		return accessCount.get();
 	}
 
+	/**
+	 * Get the load metrics of this resource.
+	 * 
+	 * @return the metrics, never null.
+	 */
+	public final LoaderMetrics getMetrics() {
+		return metrics;
+	}
+
 	/**
 	 * Get the resource data. This will trigger a full load, if the resource is
 	 * not loaded, e.g. for LAZY resources.
+	 * <p>
+	 * The data is not copied: the buffer returned is an independent, read-only
+	 * view on the currently loaded data, with its own position and limit.
 	 * 
 	 * @return the data to load.
 	 */
-	public final byte[] getData() {
+	public final ByteBuffer getData() {
 		accessCount.incrementAndGet();
-		if (this.data == null) {
+		// read once, data may be unloaded concurrently
+		ByteBuffer current = this.data;
+		if (current == null) {
 			synchronized (LOCK) {
-				if (this.data == null) {
-					if (!loadRemote()) {
-						loadFallback();
-					}
+				current = this.data;
+				if (current == null) {
+					load();
+					current = this.data;
 				}
-				if (this.data == null) {
+				if (current == null) {
 					throw new IllegalStateException(
 							"Failed to load remote as well as fallback resources for "
 									+ this);
 				}
 			}
 		}
-		return data.clone();
+		return current.duplicate();
 	}
 
 	/**
-	 * Get the resource data as input stream.
+	 * Get the resource data as input stream. Each call returns a new stream
+	 * reading its own view on the data, so streams can be consumed
+	 * independently.
 	 * 
 	 * @return the input stream.
 	 */
 	public InputStream getDataStream() {
-		return new WrappedInputStream(new ByteArrayInputStream(getData()));
+		return new WrappedInputStream(getData());
 	}
 
 	/**
@@ -224,6 +276,28 @@ public class LoadableResource {
 		return false;
 	}
 
+	/**
+	 * Try to load the resource from the local cache, containing the data
+	 * recently loaded from remote.
+	 * 
+	 * @return true, on success.
+	 */
+	public boolean loadCache() {
+		if (cache == null || !cache.isCached(resourceId)) {
+			return false;
+		}
+		long start = System.currentTimeMillis();
+		ByteBuffer cached = cache.read(resourceId);
+		if (cached == null) {
+			metrics.recordFailure(System.currentTimeMillis() - start);
+			return false;
+		}
+		this.data = cached;
+		metrics.recordSuccess(System.currentTimeMillis() - start,
+				cached.remaining(), false);
+		return true;
+	}
+
 	/**
 	 * Try to load the resource from the faööback resources. This will override
 	 * any remote data already loaded.
@@ -252,8 +326,60 @@ public class LoadableResource {
 	 *             if load fails.
 	 */
 	private void load(URL itemToLoad, boolean fallbackLoad) throws IOException {
+		long start = System.currentTimeMillis();
+		ByteBuffer loaded;
+		try {
+			if ("file".equals(itemToLoad.getProtocol())) {
+				loaded = map(itemToLoad);
+			} else {
+				loaded = read(itemToLoad);
+			}
+		} catch (IOException | RuntimeException e) {
+			metrics.recordFailure(System.currentTimeMillis() - start);
+			throw e;
+		}
+		metrics.recordSuccess(System.currentTimeMillis() - start,
+				loaded.remaining(), !fallbackLoad);
+		this.data = loaded;
+		if (!fallbackLoad) {
+			lastLoaded = System.currentTimeMillis();
+			loadCount.incrementAndGet();
+			writeCache(itemToLoad, loaded);
+		}
+	}
+
+	/**
+	 * Stores the current data into the local cache, if any.
+	 * 
+	 * @param source
+	 *            the {@link URL} the data was loaded from.
+	 * @param loaded
+	 *            the data loaded.
+	 */
+	private void writeCache(URL source, ByteBuffer loaded) {
+		if (cache == null) {
+			return;
+		}
+		try {
+			cache.write(resourceId, source, loaded);
+		} catch (IOException e) {
+			LOG.log(Level.WARNING, "Failed to cache resource: " + resourceId, e);
+		}
+	}
+
+	/**
+	 * Reads the data from the given {@link URL} into a read-only heap buffer,
+	 * without copying the bytes read once more.
+	 * 
+	 * @param itemToLoad
+	 *            the target {@link URL}
+	 * @return the data read.
+	 * @throws IOException
+	 *             if load fails.
+	 */
+	private ByteBuffer read(URL itemToLoad) throws IOException {
 		InputStream is = null;
-		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		BufferOutputStream bos = new BufferOutputStream();
 		try {
 			URLConnection conn = itemToLoad.openConnection();
 			byte[] data = new byte[4096];
@@ -263,7 +389,7 @@ public class LoadableResource {
 				bos.write(data, 0, read);
 				read = is.read(data);
 			}
-			this.data = bos.toByteArray();
+			return bos.toByteBuffer();
 		} finally {
 			if (is != null) {
 				try {
@@ -273,13 +399,30 @@ public class LoadableResource {
 							+ resourceId, e);
 				}
 			}
-			if (bos != null) {
-				bos.close();
-			}
+			bos.close();
 		}
-		if (!fallbackLoad) {
-			lastLoaded = System.currentTimeMillis();
-			loadCount.incrementAndGet();
+	}
+
+	/**
+	 * Maps the file referenced by the given {@link URL} read-only into memory.
+	 * 
+	 * @param itemToLoad
+	 *            the target {@link URL}, using the {@code file} protocol.
+	 * @return the data mapped.
+	 * @throws IOException
+	 *             if load fails.
+	 */
+	private ByteBuffer map(URL itemToLoad) throws IOException {
+		File file;
+		try {
+			file = new File(itemToLoad.toURI());
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			return read(itemToLoad);
+		}
+		try (FileInputStream fis = new FileInputStream(file);
+				FileChannel channel = fis.getChannel()) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0,
+					channel.size()).asReadOnlyBuffer();
 		}
 	}
 
@@ -301,31 +444,41 @@ public class LoadableResource {
 	 * @author Anatole
 	 * 
 	 */
-	private final class WrappedInputStream extends InputStream {
+	private final class WrappedInputStream extends ByteBufferInputStream {
 
-		private InputStream wrapped;
+		/** Flag, that the stream was already closed. */
+		private final AtomicBoolean closed = new AtomicBoolean();
 
-		public WrappedInputStream(InputStream wrapped) {
-			this.wrapped = wrapped;
-		}
-
-		@Override
-		public int read() throws IOException {
-			return wrapped.read();
+		public WrappedInputStream(ByteBuffer data) {
+			super(data);
 		}
 
 		@Override
 		public void close() throws IOException {
-			try {
-				wrapped.close();
-				super.close();
-			} finally {
+			if (closed.compareAndSet(false, true)) {
 				unload();
 			}
 		}
 
 	}
 
+	/**
+	 * {@link ByteArrayOutputStream}, which exposes its internal buffer as a
+	 * read-only {@link ByteBuffer}, instead of copying it.
+	 */
+	private static final class BufferOutputStream extends
+			ByteArrayOutputStream {
+
+		BufferOutputStream() {
+			super(8192);
+		}
+
+		ByteBuffer toByteBuffer() {
+			return ByteBuffer.wrap(buf, 0, count).slice().asReadOnlyBuffer();
+		}
+
+	}
+
 	/**
 	 * Explcitly override the resource wih the fallback context and resets the
 	 * load counter.
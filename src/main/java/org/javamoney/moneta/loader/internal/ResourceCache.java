@@ -16,6 +16,8 @@
 package org.javamoney.moneta.loader.internal;
 
 import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
 
 /**
  * Abstraction of a {@link ResourceCache}. By default a file cache is used:
@@ -25,17 +27,22 @@ import java.io.IOException;
  */
 public interface ResourceCache {
 	/**
-	 * Write the given byte array to the internal store and register it on the
-	 * given resource ID.
+	 * Write the given data to the internal store and register it on the given
+	 * resource ID. Implementations must never expose partially written data,
+	 * also not after a crash.
 	 * 
 	 * @param resourceId
 	 *            the resource id, never {@code null}.
+	 * @param source
+	 *            the {@link URL} the data was loaded from, never {@code null}.
 	 * @param data
-	 *            the data
+	 *            the data, from its current position to its limit. The buffer
+	 *            passed is not changed.
 	 * @throws IOException
 	 *             when an IO error occurs.
 	 */
-	public void write(String resourceId, byte[] data) throws IOException;
+	public void write(String resourceId, URL source, ByteBuffer data)
+			throws IOException;
 
 	/**
 	 * Allows to query if a resource with the given id is present within the
@@ -52,10 +59,9 @@ public interface ResourceCache {
 	 * 
 	 * @param resourceId
 	 *            the resource id.
-	 * @return the data of the resource.
-	 * @throws IllegalArgumentException
-	 *             if no such resource is existing.
+	 * @return the data of the resource, as read-only buffer, or {@code null},
+	 *         if the resource is not cached, or the cached data is corrupt.
 	 */
-	public byte[] read(String resourceId);
+	public ByteBuffer read(String resourceId);
 
 }
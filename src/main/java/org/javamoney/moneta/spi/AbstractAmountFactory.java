@@ -8,6 +8,16 @@ import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Basic implementation of {@link MonetaryAmountFactory}, which simplifies development of the SPI interface.
+ * <p>
+ * Since {@link MonetaryAmountFactory} is a builder, instances must not be shared when using the setters. Nevertheless
+ * {@link #create(long, int, CurrencyUnit)} does neither read nor change the builder state, so a single instance can
+ * be shared and used concurrently for direct creation, e.g. by obtaining it once from
+ * {@link MonetaryAmounts#getAmountFactory(Class)}.
+ * <p>
+ * Since {@link #create(long, int, CurrencyUnit)} always applies the default {@link MonetaryContext}, it does not
+ * replace the builder for deriving amounts from existing ones, which must keep their context. The operators of this
+ * module derive {@link org.javamoney.moneta.FastMoney}, {@link org.javamoney.moneta.Money} and
+ * {@link org.javamoney.moneta.CompactMoney} amounts by their static factory methods, without any factory.
  *
  * @param <T> the target class implementing {@link javax.money.MonetaryAmount}.
  */
@@ -16,12 +26,12 @@ public abstract class AbstractAmountFactory<T extends MonetaryAmount> implements
     /**
      * The default {@link MonetaryContext} applied, if not set explicitly on creation.
      */
-    private MonetaryContext DEFAULT_MONETARY_CONTEXT = loadDefaultMonetaryContext();
+    private final MonetaryContext DEFAULT_MONETARY_CONTEXT = loadDefaultMonetaryContext();
 
     /**
      * The default {@link MonetaryContext} applied, if not set explicitly on creation.
      */
-    private MonetaryContext MAX_MONETARY_CONTEXT = loadMaxMonetaryContext();
+    private final MonetaryContext MAX_MONETARY_CONTEXT = loadMaxMonetaryContext();
 
     private CurrencyUnit currency;
     private Number number;
@@ -39,6 +49,22 @@ public abstract class AbstractAmountFactory<T extends MonetaryAmount> implements
         return create(number,currency, monetaryContext);
     }
 
+    /**
+     * Creates a new instance of {@link MonetaryAmount} directly from its unscaled value and scale, using the default
+     * {@link MonetaryContext}. This method does neither use nor change the state of this factory, so it can be called
+     * concurrently on a shared instance, without creating any builder.
+     *
+     * @param unscaled the unscaled numeric value.
+     * @param scale    the scale, the numeric value is {@code unscaled * 10^-scale}.
+     * @param currency the currency, not null.
+     * @return the new amount.
+     * @throws ArithmeticException If the number exceeds the capabilities of the default {@link MonetaryContext}.
+     */
+    public T create(long unscaled, int scale, CurrencyUnit currency){
+        Objects.requireNonNull(currency);
+        return create(BigDecimal.valueOf(unscaled, scale), currency, DEFAULT_MONETARY_CONTEXT);
+    }
+
     protected abstract T create(Number number, CurrencyUnit currency, MonetaryContext monetaryContext);
 
     protected abstract MonetaryContext loadDefaultMonetaryContext();
@@ -98,7 +124,8 @@ public abstract class AbstractAmountFactory<T extends MonetaryAmount> implements
      */
     @Override
     public MonetaryAmountFactory<T> setNumber(long number){
-        this.number = BigDecimal.valueOf(number);
+        // converted by the concrete factory, if needed at all
+        this.number = number;
         return this;
     }
 
@@ -153,8 +180,13 @@ public abstract class AbstractAmountFactory<T extends MonetaryAmount> implements
     public MonetaryAmountFactory<T> setAmount(MonetaryAmount amt){
         this.currency = amt.getCurrency();
         this.number = amt.getNumber().numberValue(BigDecimal.class);
-        this.monetaryContext = new MonetaryContext.Builder(amt.getMonetaryContext())
-                .setAmountType(DEFAULT_MONETARY_CONTEXT.getAmountType()).build();
+        MonetaryContext context = amt.getMonetaryContext();
+        if(context.getAmountType() == DEFAULT_MONETARY_CONTEXT.getAmountType()){
+            // already matching, no need to create a new context
+            this.monetaryContext = context;
+        }else{
+            this.monetaryContext = ContextCache.intern(context, DEFAULT_MONETARY_CONTEXT.getAmountType());
+        }
         return this;
     }
 
@@ -12,6 +12,10 @@ package org.javamoney.moneta.spi;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Logger;
 
 import javax.money.CurrencyUnit;
@@ -39,15 +43,66 @@ public abstract class AbstractRateProvider implements ExchangeRateProvider {
 	/** The {@link ConversionContext} of this provider. */
 	private ProviderContext providerContext;
 
+	/** The readiness of this provider, completed when the provider is warm. */
+	private final Readiness readiness = new Readiness();
+
 	/**
-	 * Constructor.
+	 * Constructor, creating a provider, which is warm immediately.
 	 * 
 	 * @param providerContext
 	 *            the {@link ProviderContext}, not null.
 	 */
 	public AbstractRateProvider(ProviderContext providerContext) {
+		this(providerContext, true);
+	}
+
+	/**
+	 * Constructor.
+	 * 
+	 * @param providerContext
+	 *            the {@link ProviderContext}, not null.
+	 * @param warm
+	 *            true, if the provider is able to serve rates immediately.
+	 *            Providers loading their data asynchronously pass false and
+	 *            call {@link #setWarm()}, as soon as their data is available.
+	 */
+	protected AbstractRateProvider(ProviderContext providerContext,
+			boolean warm) {
 		Objects.requireNonNull(providerContext);
 		this.providerContext = providerContext;
+		if (warm) {
+			setWarm();
+		}
+	}
+
+	/**
+	 * Marks this provider as warm, meaning its rate data is loaded and lookups
+	 * can be served. Calling this method several times has no further effect.
+	 */
+	protected final void setWarm() {
+		this.readiness.complete();
+	}
+
+	/**
+	 * Checks, if this provider is warm, meaning its rate data is loaded and
+	 * lookups can be served.
+	 * 
+	 * @return true, if this provider is warm.
+	 */
+	public final boolean isWarm() {
+		return this.readiness.isDone();
+	}
+
+	/**
+	 * Access the readiness of this provider. The {@link Future} returned
+	 * completes with {@link Boolean#TRUE}, as soon as the provider is warm.
+	 * It can not be cancelled, so callers may safely wait on it with a timeout
+	 * to gate traffic on the provider's readiness.
+	 * 
+	 * @return the readiness, never null.
+	 */
+	public final Future<Boolean> getReadiness() {
+		return this.readiness;
 	}
 
 	protected abstract ExchangeRate getExchangeRateInternal(CurrencyUnit base,
@@ -307,4 +362,46 @@ public abstract class AbstractRateProvider implements ExchangeRateProvider {
 				dividend.numberValue(BigDecimal.class).divide(
 						divisor.numberValue(BigDecimal.class), context)); // TODO should we use numberValueExact?
 	}
+
+	/**
+	 * Non cancellable {@link Future}, completed once the provider is warm.
+	 */
+	private static final class Readiness implements Future<Boolean> {
+
+		private final CountDownLatch latch = new CountDownLatch(1);
+
+		void complete() {
+			latch.countDown();
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			return false;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return false;
+		}
+
+		@Override
+		public boolean isDone() {
+			return latch.getCount() == 0;
+		}
+
+		@Override
+		public Boolean get() throws InterruptedException {
+			latch.await();
+			return Boolean.TRUE;
+		}
+
+		@Override
+		public Boolean get(long timeout, TimeUnit unit)
+				throws InterruptedException, TimeoutException {
+			if (!latch.await(timeout, unit)) {
+				throw new TimeoutException();
+			}
+			return Boolean.TRUE;
+		}
+	}
 }
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.money.CurrencyUnit;
+
+/**
+ * Table of the minimal cash units per currency, e.g. {@code CHF 0.05} or
+ * {@code SEK 1}, as used for cash rounding. The table is configured in the
+ * {@code javamoney.properties} using entries of the form
+ * {@code cashRounding.<currencyCode>=<minimal cash unit>}.
+ * <p>
+ * Besides looking up the minimal units, this class allows rounding minor unit
+ * values in bulk, e.g. for settling a batch of cash payments, without creating
+ * any amount instances.
+ * <p>
+ * This class is thread safe.
+ * 
+ * @author Anatole Tresch
+ */
+public final class CashRoundingTable {
+	/** The logger used. */
+	private static final Logger LOG = Logger.getLogger(CashRoundingTable.class
+			.getName());
+	/** The config key prefix. */
+	private static final String KEY_PREFIX = "cashRounding.";
+	/** The minimal cash units configured, by currency code. */
+	private static final Map<String, BigDecimal> UNITS = loadUnits();
+	/** The minimal cash units in minor units, by currency code. */
+	private static final Map<String, Long> MINIMAL_MINORS = new ConcurrentHashMap<>();
+
+	/**
+	 * Singleton constructor.
+	 */
+	private CashRoundingTable() {
+	}
+
+	/**
+	 * Loads the minimal cash units from the configuration.
+	 * 
+	 * @return the units, by currency code.
+	 */
+	private static Map<String, BigDecimal> loadUnits() {
+		Map<String, BigDecimal> units = new ConcurrentHashMap<>();
+		for (Map.Entry<String, String> en : MonetaryConfig.getConfig()
+				.entrySet()) {
+			if (en.getKey().startsWith(KEY_PREFIX)) {
+				String code = en.getKey().substring(KEY_PREFIX.length());
+				try {
+					BigDecimal unit = new BigDecimal(en.getValue().trim());
+					if (unit.signum() <= 0) {
+						throw new IllegalArgumentException(
+								"Cash unit must be positive.");
+					}
+					units.put(code, unit);
+				} catch (RuntimeException e) {
+					LOG.log(Level.SEVERE, "Invalid cash rounding configured for "
+							+ code + ": " + en.getValue(), e);
+				}
+			}
+		}
+		return units;
+	}
+
+	/**
+	 * Checks, if a minimal cash unit is defined for the given currency.
+	 * 
+	 * @param currency
+	 *            the currency, not null.
+	 * @return true, if a minimal cash unit is defined.
+	 */
+	public static boolean isDefined(CurrencyUnit currency) {
+		return UNITS.containsKey(currency.getCurrencyCode());
+	}
+
+	/**
+	 * Get the minimal cash unit for the given currency, in minor units of the
+	 * currency, e.g. {@code 5} for {@code CHF 0.05}.
+	 * 
+	 * @param currency
+	 *            the currency, not null.
+	 * @return the minimal cash unit in minor units, {@code 1} if no minimal
+	 *         cash unit is defined for the currency.
+	 * @throws ArithmeticException
+	 *             if the configured unit has more digits than the currency's
+	 *             default fraction digits.
+	 */
+	public static long getMinimalMinors(CurrencyUnit currency) {
+		Objects.requireNonNull(currency, "Currency required.");
+		String code = currency.getCurrencyCode();
+		Long minors = MINIMAL_MINORS.get(code);
+		if (minors == null) {
+			BigDecimal unit = UNITS.get(code);
+			if (unit == null) {
+				return 1L;
+			}
+			minors = unit.movePointRight(
+					Math.max(currency.getDefaultFractionDigits(), 0))
+					.longValueExact();
+			MINIMAL_MINORS.put(code, minors);
+		}
+		return minors;
+	}
+
+	/**
+	 * Rounds the given minor units of the given currency to its minimal cash
+	 * unit, using {@link RoundingMode#HALF_UP}.
+	 * 
+	 * @param minors
+	 *            the value in minor units of the currency.
+	 * @param currency
+	 *            the currency, not null.
+	 * @return the rounded value in minor units.
+	 */
+	public static long round(long minors, CurrencyUnit currency) {
+		return LongRounding.round(minors, getMinimalMinors(currency),
+				RoundingMode.HALF_UP);
+	}
+
+	/**
+	 * Rounds all given minor units of the given currency to its minimal cash
+	 * unit, using {@link RoundingMode#HALF_UP}. The values are rounded in
+	 * place, so no further memory is allocated.
+	 * 
+	 * @param minors
+	 *            the values in minor units of the currency, not null. The
+	 *            array is changed to contain the rounded values.
+	 * @param currency
+	 *            the currency, not null.
+	 * @return the array passed, containing the rounded values.
+	 */
+	public static long[] round(long[] minors, CurrencyUnit currency) {
+		return round(minors, currency, RoundingMode.HALF_UP);
+	}
+
+	/**
+	 * Rounds all given minor units of the given currency to its minimal cash
+	 * unit. The values are rounded in place, so no further memory is
+	 * allocated.
+	 * 
+	 * @param minors
+	 *            the values in minor units of the currency, not null. The
+	 *            array is changed to contain the rounded values.
+	 * @param currency
+	 *            the currency, not null.
+	 * @param roundingMode
+	 *            the {@link RoundingMode}, not null.
+	 * @return the array passed, containing the rounded values.
+	 */
+	public static long[] round(long[] minors, CurrencyUnit currency,
+			RoundingMode roundingMode) {
+		Objects.requireNonNull(minors, "Minors required.");
+		long unit = getMinimalMinors(currency);
+		if (unit == 1L) {
+			return minors;
+		}
+		for (int i = 0; i < minors.length; i++) {
+			minors[i] = LongRounding.round(minors[i], unit, roundingMode);
+		}
+		return minors;
+	}
+
+}
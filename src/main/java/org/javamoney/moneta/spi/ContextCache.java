@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryContext;
+import javax.money.convert.ConversionContext;
+
+/**
+ * Weak canonicalizing cache for {@link MonetaryContext} and
+ * {@link ConversionContext} instances. Equal contexts are mapped to one
+ * instance, so amounts and rates created with equal contexts share it, and
+ * comparing them is an identity check. Instances not referenced anymore are
+ * removed from the cache by the garbage collector.
+ * <p>
+ * Contexts already canonical are recognized by identity, without locking or
+ * hashing their attributes, using a small table of recently interned
+ * instances. Otherwise the cache is split into stripes by hash code, each
+ * locked separately, so there is no single global point of contention.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Anatole Tresch
+ */
+public final class ContextCache {
+
+	/** The number of stripes, a power of two. */
+	private static final int STRIPES = 16;
+
+	/** The size of the tables of recent results, a power of two. */
+	private static final int RECENT_SIZE = 256;
+
+	/** The canonical contexts, mapped to themselves, by stripe. */
+	private static final Map<Object, WeakReference<Object>>[] CONTEXTS = createStripes();
+
+	/**
+	 * The canonical contexts for a given amount type, by the context they were
+	 * derived from, by stripe.
+	 */
+	private static final Map<MonetaryContext, Map<Class<?>, WeakReference<MonetaryContext>>>[] DERIVED_CONTEXTS =
+			createStripes();
+
+	/** Recently interned canonical contexts, by identity hash code. */
+	private static final AtomicReferenceArray<WeakReference<Object>> RECENT = new AtomicReferenceArray<>(
+			RECENT_SIZE);
+
+	/** Recent derivations, by identity hash code of the source context. */
+	private static final AtomicReferenceArray<Derivation> RECENT_DERIVED = new AtomicReferenceArray<>(
+			RECENT_SIZE);
+
+	/**
+	 * Singleton constructor.
+	 */
+	private ContextCache() {
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K, V> Map<K, V>[] createStripes() {
+		Map<K, V>[] stripes = new Map[STRIPES];
+		for (int i = 0; i < stripes.length; i++) {
+			stripes[i] = new WeakHashMap<>();
+		}
+		return stripes;
+	}
+
+	/**
+	 * Get the canonical instance of the given context.
+	 *
+	 * @param context
+	 *            the context, may be {@code null}.
+	 * @return the canonical instance equal to the given context, or
+	 *         {@code null}, if {@code null} was passed.
+	 */
+	public static MonetaryContext intern(MonetaryContext context) {
+		return internObject(context);
+	}
+
+	/**
+	 * Get the canonical instance of the given context.
+	 *
+	 * @param context
+	 *            the context, may be {@code null}.
+	 * @return the canonical instance equal to the given context, or
+	 *         {@code null}, if {@code null} was passed.
+	 */
+	public static ConversionContext intern(ConversionContext context) {
+		return internObject(context);
+	}
+
+	/**
+	 * Get the canonical instance of the given context, with the given amount
+	 * type, like {@link MonetaryContext#from(MonetaryContext, Class)}. The
+	 * derived context is cached, so it is not created again for an equal
+	 * context.
+	 *
+	 * @param context
+	 *            the context, may be {@code null}.
+	 * @param amountType
+	 *            the amount type, not {@code null}.
+	 * @return the canonical instance with the given amount type, or
+	 *         {@code null}, if {@code null} was passed.
+	 */
+	public static MonetaryContext intern(MonetaryContext context,
+			Class<? extends MonetaryAmount> amountType) {
+		if (context == null) {
+			return null;
+		}
+		if (context.getAmountType() == amountType) {
+			return intern(context);
+		}
+		int slot = System.identityHashCode(context) & (RECENT_SIZE - 1);
+		Derivation recent = RECENT_DERIVED.get(slot);
+		if (recent != null) {
+			MonetaryContext result = recent.get(context, amountType);
+			if (result != null) {
+				return result;
+			}
+		}
+		Map<MonetaryContext, Map<Class<?>, WeakReference<MonetaryContext>>> stripe = getStripe(
+				DERIVED_CONTEXTS, context.hashCode());
+		MonetaryContext result;
+		synchronized (stripe) {
+			Map<Class<?>, WeakReference<MonetaryContext>> derived = stripe
+					.get(context);
+			if (derived == null) {
+				derived = new WeakHashMap<>();
+				stripe.put(context, derived);
+			}
+			WeakReference<MonetaryContext> ref = derived.get(amountType);
+			result = ref == null ? null : ref.get();
+			if (result == null) {
+				result = intern(MonetaryContext.from(context, amountType));
+				derived.put(amountType, new WeakReference<>(result));
+			}
+		}
+		RECENT_DERIVED.set(slot, new Derivation(context, amountType, result));
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T internObject(T context) {
+		if (context == null) {
+			return null;
+		}
+		if (isRecent(context)) {
+			return context;
+		}
+		Map<Object, WeakReference<Object>> stripe = getStripe(CONTEXTS,
+				context.hashCode());
+		Object canonical;
+		synchronized (stripe) {
+			WeakReference<Object> ref = stripe.get(context);
+			canonical = ref == null ? null : ref.get();
+			if (canonical == null) {
+				canonical = context;
+				stripe.put(context, new WeakReference<Object>(context));
+			}
+		}
+		if (!isRecent(canonical)) {
+			RECENT.set(System.identityHashCode(canonical) & (RECENT_SIZE - 1),
+					new WeakReference<>(canonical));
+		}
+		return (T) canonical;
+	}
+
+	private static boolean isRecent(Object context) {
+		WeakReference<Object> ref = RECENT.get(System.identityHashCode(context)
+				& (RECENT_SIZE - 1));
+		return ref != null && ref.get() == context;
+	}
+
+	private static <K, V> Map<K, V> getStripe(Map<K, V>[] stripes, int hash) {
+		return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+	}
+
+	/**
+	 * A context derived for an amount type, referencing all instances weakly.
+	 */
+	private static final class Derivation {
+		private final WeakReference<MonetaryContext> source;
+		private final WeakReference<Class<?>> amountType;
+		private final WeakReference<MonetaryContext> result;
+
+		Derivation(MonetaryContext source, Class<?> amountType,
+				MonetaryContext result) {
+			this.source = new WeakReference<>(source);
+			this.amountType = new WeakReference<Class<?>>(amountType);
+			this.result = new WeakReference<>(result);
+		}
+
+		/**
+		 * Access the derived context, if derived from the given instances.
+		 *
+		 * @return the derived context, or {@code null}.
+		 */
+		MonetaryContext get(MonetaryContext context, Class<?> type) {
+			if (source.get() == context && amountType.get() == type) {
+				return result.get();
+			}
+			return null;
+		}
+	}
+
+}
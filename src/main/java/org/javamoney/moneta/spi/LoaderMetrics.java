@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+/**
+ * Metrics of a single resource managed by the {@link LoaderService}, allowing
+ * to monitor load latency, transferred bytes, failures and the staleness of
+ * the data in use.
+ * <p>
+ * Note: this class is implementation specific and not part of the official
+ * JSR's API.
+ * 
+ * @see LoaderService#getMetrics(String)
+ * @see LoaderMetricsExporter
+ * @author Anatole Tresch
+ */
+public interface LoaderMetrics {
+
+	/**
+	 * Get the resource's id.
+	 * 
+	 * @return the resource id, not {@code null}.
+	 */
+	public String getResourceId();
+
+	/**
+	 * Get the number of successful loads from remote.
+	 * 
+	 * @return the number of successful remote loads.
+	 */
+	public long getSuccessCount();
+
+	/**
+	 * Get the number of failed loads, from remote, as well as from the
+	 * fallback resource.
+	 * 
+	 * @return the number of failed loads.
+	 */
+	public long getFailureCount();
+
+	/**
+	 * Get the total number of bytes loaded, including fallback loads.
+	 * 
+	 * @return the bytes transferred.
+	 */
+	public long getBytesLoaded();
+
+	/**
+	 * Get the upper bounds of the load duration histogram's buckets in ms. The
+	 * last bucket has no upper bound and therefore is not contained.
+	 * 
+	 * @return the bucket bounds in ms, ascending.
+	 */
+	public long[] getLoadDurationBuckets();
+
+	/**
+	 * Get the load duration histogram. The entry at index {@code i} counts the
+	 * loads taking at most {@code getLoadDurationBuckets()[i]} ms, the last
+	 * entry counts the loads taking longer than the largest bucket bound.
+	 * 
+	 * @return the histogram, with one entry more than
+	 *         {@link #getLoadDurationBuckets()}.
+	 */
+	public long[] getLoadDurationHistogram();
+
+	/**
+	 * Get the duration of the most recent load in ms.
+	 * 
+	 * @return the duration, or -1, if the resource was never loaded.
+	 */
+	public long getLastLoadDuration();
+
+	/**
+	 * Get the timestamp of the last successful remote load.
+	 * 
+	 * @return the timestamp, or 0, if the resource was never loaded from
+	 *         remote.
+	 */
+	public long getLastLoaded();
+
+	/**
+	 * Get the time elapsed since the last successful remote load.
+	 * 
+	 * @return the staleness in ms, or -1, if the resource was never loaded
+	 *         from remote.
+	 */
+	public long getStaleness();
+
+	/**
+	 * Allows to check, if the data currently in use was not loaded from
+	 * remote, but from the local cache or the fallback resource.
+	 * 
+	 * @return true, if the data in use was not loaded from remote.
+	 */
+	public boolean isFallbackUsed();
+
+}
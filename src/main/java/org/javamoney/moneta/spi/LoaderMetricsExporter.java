@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+/**
+ * SPI for publishing the {@link LoaderMetrics} of the resources managed by the
+ * {@link LoaderService}, e.g. to JMX or a monitoring system. Exporters are
+ * loaded from the {@link javax.money.spi.Bootstrap}.
+ * <p>
+ * Note: this class is implementation specific and not part of the official
+ * JSR's API.
+ * 
+ * @author Anatole Tresch
+ */
+public interface LoaderMetricsExporter {
+
+	/**
+	 * Called, when a resource is registered with the {@link LoaderService}.
+	 * The metrics instance passed is live, so exporters may keep it for later
+	 * access.
+	 * 
+	 * @param metrics
+	 *            the metrics of the new resource, not {@code null}.
+	 */
+	public void register(LoaderMetrics metrics);
+
+	/**
+	 * Called, after a load of a resource was attempted, regardless, if it
+	 * succeeded or failed.
+	 * 
+	 * @param metrics
+	 *            the updated metrics, not {@code null}.
+	 */
+	public void loaded(LoaderMetrics metrics);
+
+}
@@ -215,10 +215,39 @@ public interface LoaderService {
 	 *            The unique identifier of the resource, not {@code null}.
 	 * @return the Future of the load task started, returns Boolean.TRUE if the
 	 *         load was successful (either from remote or from the fallback
-	 *         resource).
+	 *         resource). The Future completes not before all
+	 *         {@link LoaderListener} instances have processed the data loaded.
 	 */
 	public Future<Boolean> loadDataAsync(String resourceId);
 
+	/**
+	 * Access the notification of the {@link LoaderListener} instances for the
+	 * most recent data generation loaded of the given resource. Listeners are
+	 * notified in parallel, each with its own {@link InputStream}.
+	 * 
+	 * @param resourceId
+	 *            The unique identifier of the resource, not {@code null}.
+	 * @return the Future completing, when all listeners have processed the
+	 *         most recent data loaded, or have timed out. Returns Boolean.TRUE
+	 *         if all listeners completed successfully. If no data was loaded
+	 *         so far, an already completed Future returning Boolean.FALSE is
+	 *         returned.
+	 * @throws IllegalArgumentException
+	 *             if no such resource is registered.
+	 */
+	public Future<Boolean> getListenerNotification(String resourceId);
+
+	/**
+	 * Access the {@link LoaderMetrics} of the given resource.
+	 * 
+	 * @param resourceId
+	 *            The unique identifier of the resource, not {@code null}.
+	 * @return the live metrics of the resource, never {@code null}.
+	 * @throws IllegalArgumentException
+	 *             if no such resource is registered.
+	 */
+	public LoaderMetrics getMetrics(String resourceId);
+
 	/**
 	 * Explicitly triggers the reset (loading of the registered data from the
 	 * classpath backup resource).
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Helper class for rounding integral {@code long} values, e.g. minor units or
+ * the scaled numbers of {@link org.javamoney.moneta.FastMoney}, according to a
+ * {@link RoundingMode}, without creating any {@link java.math.BigDecimal}
+ * instances. The results are identical to the ones of
+ * {@link java.math.BigDecimal#divide(java.math.BigDecimal, int, RoundingMode)}
+ * with scale 0.
+ * <p>
+ * This class is thread safe.
+ * 
+ * @author Anatole Tresch
+ */
+public final class LongRounding {
+
+	/** The maximal exponent accepted by {@link #powerOfTen(int)}. */
+	public static final int MAX_POWER_OF_TEN = 18;
+
+	/** The powers of ten, representable as long. */
+	private static final long[] POWERS_OF_TEN = new long[MAX_POWER_OF_TEN + 1];
+
+	static {
+		long value = 1L;
+		for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+			POWERS_OF_TEN[i] = value;
+			value *= 10L;
+		}
+	}
+
+	/**
+	 * Singleton constructor.
+	 */
+	private LongRounding() {
+	}
+
+	/**
+	 * Get the given power of ten.
+	 * 
+	 * @param exponent
+	 *            the exponent, 0 to {@link #MAX_POWER_OF_TEN}.
+	 * @return 10 raised to the given exponent.
+	 * @throws ArithmeticException
+	 *             if the result is not representable as long.
+	 */
+	public static long powerOfTen(int exponent) {
+		if (exponent < 0 || exponent >= POWERS_OF_TEN.length) {
+			throw new ArithmeticException("10^" + exponent
+					+ " is not representable as long.");
+		}
+		return POWERS_OF_TEN[exponent];
+	}
+
+	/**
+	 * Adds two long values, failing on overflow.
+	 * 
+	 * @param a
+	 *            the first summand.
+	 * @param b
+	 *            the second summand.
+	 * @return the sum.
+	 * @throws ArithmeticException
+	 *             if the result is not representable as long.
+	 */
+	public static long addExact(long a, long b) {
+		long result = a + b;
+		if (((a ^ result) & (b ^ result)) < 0) {
+			throw new ArithmeticException("Overflow: " + a + " + " + b);
+		}
+		return result;
+	}
+
+	/**
+	 * Multiplies two long values, failing on overflow.
+	 * 
+	 * @param a
+	 *            the multiplicand.
+	 * @param b
+	 *            the multiplier.
+	 * @return the product.
+	 * @throws ArithmeticException
+	 *             if the result is not representable as long.
+	 */
+	public static long multiplyExact(long a, long b) {
+		long result = a * b;
+		if (a != 0L
+				&& (result / a != b || (a == -1L && b == Long.MIN_VALUE))) {
+			throw new ArithmeticException("Overflow: " + a + " * " + b);
+		}
+		return result;
+	}
+
+	/**
+	 * Divides the given value, rounding the quotient according to the given
+	 * {@link RoundingMode}.
+	 * 
+	 * @param dividend
+	 *            the dividend.
+	 * @param divisor
+	 *            the divisor, not 0.
+	 * @param roundingMode
+	 *            the {@link RoundingMode}, not null.
+	 * @return the rounded quotient.
+	 * @throws ArithmeticException
+	 *             if the divisor is 0, or if {@link RoundingMode#UNNECESSARY}
+	 *             is passed and the division has a remainder.
+	 */
+	public static long divide(long dividend, long divisor,
+			RoundingMode roundingMode) {
+		Objects.requireNonNull(roundingMode, "RoundingMode required.");
+		long quotient = dividend / divisor;
+		long remainder = dividend % divisor;
+		if (remainder == 0L) {
+			return quotient;
+		}
+		int signum = (dividend < 0L) == (divisor < 0L) ? 1 : -1;
+		boolean increment;
+		switch (roundingMode) {
+		case UNNECESSARY:
+			throw new ArithmeticException("Rounding necessary");
+		case DOWN:
+			increment = false;
+			break;
+		case UP:
+			increment = true;
+			break;
+		case FLOOR:
+			increment = signum < 0;
+			break;
+		case CEILING:
+			increment = signum > 0;
+			break;
+		default:
+			long absRemainder = Math.abs(remainder);
+			int half = Long.compare(absRemainder, Math.abs(divisor)
+					- absRemainder);
+			switch (roundingMode) {
+			case HALF_UP:
+				increment = half >= 0;
+				break;
+			case HALF_DOWN:
+				increment = half > 0;
+				break;
+			default: // HALF_EVEN
+				increment = half > 0 || (half == 0 && (quotient & 1L) != 0L);
+				break;
+			}
+		}
+		return increment ? quotient + signum : quotient;
+	}
+
+	/**
+	 * Rounds the given value to a multiple of the given unit, according to
+	 * the given {@link RoundingMode}.
+	 * 
+	 * @param value
+	 *            the value.
+	 * @param unit
+	 *            the unit, greater than 0.
+	 * @param roundingMode
+	 *            the {@link RoundingMode}, not null.
+	 * @return the rounded value, a multiple of unit.
+	 * @throws ArithmeticException
+	 *             if the result is not representable as long, or if
+	 *             {@link RoundingMode#UNNECESSARY} is passed and the value is
+	 *             not a multiple of unit.
+	 */
+	public static long round(long value, long unit, RoundingMode roundingMode) {
+		if (unit <= 0L) {
+			throw new ArithmeticException("Invalid rounding unit: " + unit);
+		}
+		if (unit == 1L) {
+			return value;
+		}
+		long quotient = divide(value, unit, roundingMode);
+		long result = quotient * unit;
+		if (result / unit != quotient) {
+			throw new ArithmeticException("Overflow rounding " + value
+					+ " to a multiple of " + unit);
+		}
+		return result;
+	}
+
+}
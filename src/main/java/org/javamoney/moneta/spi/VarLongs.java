@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.spi;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+
+/**
+ * Helper class for writing and reading zig-zag encoded variable length
+ * {@code long} values, using 7 bits per byte, as used by the compact binary
+ * forms of amounts. Small positive and negative values take one byte, the
+ * maximal length is 10 bytes.
+ * <p>
+ * This class is thread safe.
+ *
+ * @author Anatole Tresch
+ */
+public final class VarLongs {
+
+	/**
+	 * Singleton constructor.
+	 */
+	private VarLongs() {
+	}
+
+	/**
+	 * Writes a zig-zag encoded variable length long.
+	 *
+	 * @param out
+	 *            the target, not {@code null}.
+	 * @param value
+	 *            the value.
+	 * @throws IOException
+	 *             if writing fails.
+	 */
+	public static void write(DataOutput out, long value) throws IOException {
+		long zigZag = (value << 1) ^ (value >> 63);
+		while ((zigZag & ~0x7FL) != 0L) {
+			out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+			zigZag >>>= 7;
+		}
+		out.writeByte((int) zigZag);
+	}
+
+	/**
+	 * Reads a zig-zag encoded variable length long.
+	 *
+	 * @param in
+	 *            the source, not {@code null}.
+	 * @return the value read.
+	 * @throws IOException
+	 *             if reading fails.
+	 * @throws StreamCorruptedException
+	 *             if the value is longer than 10 bytes.
+	 */
+	public static long read(DataInput in) throws IOException {
+		long zigZag = 0L;
+		for (int shift = 0; shift < 64; shift += 7) {
+			int b = in.readUnsignedByte();
+			zigZag |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return (zigZag >>> 1) ^ -(zigZag & 1L);
+			}
+		}
+		throw new StreamCorruptedException("Invalid variable length long.");
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import javax.money.*;
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the compact serialized form of {@link FastMoney}, {@link Money} and {@link RoundedMoney}.
+ *
+ * @author Anatole Tresch
+ */
+public class AmountSerializationTest{
+
+    protected static final CurrencyUnit EURO = MonetaryCurrencies.getCurrency("EUR");
+
+    /**
+     * Serializable rounding, rounding to one fraction digit.
+     */
+    private static final class OneDigitRounding implements MonetaryOperator, Serializable{
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public MonetaryAmount apply(MonetaryAmount amount){
+            return amount.getFactory()
+                    .setNumber(amount.getNumber().numberValue(BigDecimal.class).setScale(1, RoundingMode.HALF_UP))
+                    .create();
+        }
+    }
+
+    private static byte[] serialize(Object o) throws IOException{
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(bos);
+        oos.writeObject(o);
+        oos.flush();
+        return bos.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException{
+        ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes));
+        return ois.readObject();
+    }
+
+    @Test
+    public void testFastMoney() throws IOException, ClassNotFoundException{
+        FastMoney[] values = new FastMoney[]{FastMoney.of(0, EURO), FastMoney.of(new BigDecimal("-1.2345"), EURO),
+                FastMoney.ofScaled(Long.MAX_VALUE, EURO), FastMoney.ofScaled(Long.MIN_VALUE, EURO)};
+        for(FastMoney m : values){
+            byte[] bytes = serialize(m);
+            assertTrue(m + ": " + bytes.length + " bytes", bytes.length < 128);
+            FastMoney m2 = (FastMoney) deserialize(bytes);
+            assertEquals(m, m2);
+            assertEquals(m.getMonetaryContext(), m2.getMonetaryContext());
+        }
+    }
+
+    @Test
+    public void testMoney() throws IOException, ClassNotFoundException{
+        MonetaryContext context = new MonetaryContext.Builder(Money.class).setObject(MathContext.UNLIMITED).build();
+        Money[] values = new Money[]{Money.of(0, EURO), Money.of(new BigDecimal("-1.2345"), EURO),
+                Money.of(new BigDecimal("1E+5"), EURO),
+                Money.of(new BigDecimal("123456789012345678901234567890.123"), EURO, context)};
+        for(Money m : values){
+            byte[] bytes = serialize(m);
+            Money m2 = (Money) deserialize(bytes);
+            assertEquals(m, m2);
+            assertEquals(m.getMonetaryContext(), m2.getMonetaryContext());
+            assertEquals(m.getNumber().numberValue(BigDecimal.class), m2.getNumber().numberValue(BigDecimal.class));
+        }
+        assertTrue(serialize(values[1]).length < 128);
+    }
+
+    @Test
+    public void testRoundedMoney() throws IOException, ClassNotFoundException{
+        RoundedMoney m = RoundedMoney.of(EURO, new BigDecimal("1.2345"));
+        RoundedMoney m2 = (RoundedMoney) deserialize(serialize(m));
+        assertEquals(m, m2);
+        // default rounding of the currency is restored
+        assertEquals(0, new BigDecimal("2.47")
+                .compareTo(m2.multiply(2).getNumber().numberValue(BigDecimal.class)));
+        RoundedMoney custom = RoundedMoney.of(EURO, new BigDecimal("1.2345"), new OneDigitRounding());
+        RoundedMoney custom2 = (RoundedMoney) deserialize(serialize(custom));
+        assertEquals(custom, custom2);
+        assertTrue(custom2.getRounding() instanceof OneDigitRounding);
+    }
+
+    /**
+     * Simple size and throughput measurement, not run by default.
+     */
+    @Test
+    @Ignore
+    public void comparePerformanceSerialization() throws IOException, ClassNotFoundException{
+        Object[] values = new Object[]{FastMoney.of(new BigDecimal("1234.56"), EURO),
+                Money.of(new BigDecimal("1234.56"), EURO), RoundedMoney.of(EURO, new BigDecimal("1234.56")),
+                new BigDecimal("1234.56")};
+        final int NUM = 100000;
+        for(Object value : values){
+            long start = System.nanoTime();
+            int size = 0;
+            for(int i = 0; i < NUM; i++){
+                size = serialize(value).length;
+            }
+            long duration = System.nanoTime() - start;
+            byte[] bytes = serialize(value);
+            start = System.nanoTime();
+            for(int i = 0; i < NUM; i++){
+                deserialize(bytes);
+            }
+            long readDuration = System.nanoTime() - start;
+            System.out.println(value.getClass().getSimpleName() + ": " + size + " bytes, write " + (duration / NUM) +
+                                       " ns, read " + (readDuration / NUM) + " ns");
+        }
+    }
+
+}
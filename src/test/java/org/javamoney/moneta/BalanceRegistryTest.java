@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import org.junit.Test;
+
+import javax.money.*;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BalanceRegistry}.
+ *
+ * @author Anatole Tresch
+ */
+public class BalanceRegistryTest{
+
+    protected static final CurrencyUnit EURO = MonetaryCurrencies.getCurrency("EUR");
+    protected static final CurrencyUnit DOLLAR = MonetaryCurrencies.getCurrency("USD");
+
+    @Test
+    public void testAddAndGet(){
+        BalanceRegistry<String> registry = new BalanceRegistry<>();
+        assertEquals(FastMoney.of(0, EURO), registry.get("a", EURO));
+        assertEquals(FastMoney.of(new BigDecimal("10.5"), EURO), registry.addAndGet("a", Money.of(10.5, EURO)));
+        assertEquals(FastMoney.of(3, DOLLAR), registry.addAndGet("a", FastMoney.of(3, DOLLAR)));
+        assertEquals(FastMoney.of(new BigDecimal("0.5"), EURO), registry.addAndGet("a", FastMoney.of(-10, EURO)));
+        assertEquals(150000L, registry.addAndGetScaled("a", EURO, 100000L));
+        assertEquals(FastMoney.of(0, EURO), registry.get("b", EURO));
+        Map<CurrencyUnit, FastMoney> balances = registry.getBalances("a");
+        assertEquals(2, balances.size());
+        assertEquals(FastMoney.of(new BigDecimal("1.5"), EURO), balances.get(EURO));
+        assertEquals(FastMoney.of(3, DOLLAR), balances.get(DOLLAR));
+        assertEquals(1, registry.getAccounts().size());
+    }
+
+    @Test
+    public void testGetBalances_UnregisteredCurrency(){
+        CurrencyUnit custom = new BuildableCurrencyUnit.Builder("XB1").setDefaultFractionDigits(2).build();
+        BalanceRegistry<String> registry = new BalanceRegistry<>();
+        registry.addAndGetScaled("a", custom, 150000L);
+        Map<CurrencyUnit, FastMoney> balances = registry.getBalances("a");
+        assertEquals(1, balances.size());
+        assertEquals(150000L, balances.get(custom).getScaledNumber());
+        assertSame(custom, balances.keySet().iterator().next());
+    }
+
+    @Test
+    public void testCompareAndSet(){
+        BalanceRegistry<Integer> registry = new BalanceRegistry<>();
+        assertFalse(registry.compareAndSet(1, FastMoney.of(1, EURO), FastMoney.of(2, EURO)));
+        assertTrue(registry.compareAndSet(1, FastMoney.of(0, EURO), FastMoney.of(2, EURO)));
+        assertFalse(registry.compareAndSet(1, FastMoney.of(1, EURO), FastMoney.of(3, EURO)));
+        assertTrue(registry.compareAndSet(1, Money.of(2, EURO), Money.of(3, EURO)));
+        assertEquals(FastMoney.of(3, EURO), registry.get(1, EURO));
+        try{
+            registry.compareAndSet(1, FastMoney.of(3, EURO), FastMoney.of(3, DOLLAR));
+            fail("MonetaryException expected.");
+        }
+        catch(MonetaryException e){
+            // expected
+        }
+    }
+
+    @Test
+    public void testOverflow(){
+        BalanceRegistry<String> registry = new BalanceRegistry<>();
+        registry.addAndGet("a", FastMoney.ofScaled(Long.MAX_VALUE, EURO));
+        try{
+            registry.addAndGet("a", FastMoney.ofScaled(1, EURO));
+            fail("ArithmeticException expected.");
+        }
+        catch(ArithmeticException e){
+            // expected
+        }
+        assertEquals(FastMoney.ofScaled(Long.MAX_VALUE, EURO), registry.get("a", EURO));
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws InterruptedException, ExecutionException{
+        final BalanceRegistry<Integer> registry = new BalanceRegistry<>();
+        final FastMoney amount = FastMoney.of(new BigDecimal("0.01"), EURO);
+        final int accounts = 3000;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try{
+            List<Future<?>> futures = new ArrayList<>();
+            for(int i = 0; i < 8; i++){
+                futures.add(executor.submit(new Runnable(){
+                    @Override
+                    public void run(){
+                        for(int j = 0; j < 100; j++){
+                            for(int account = 0; account < accounts; account++){
+                                registry.addAndGet(account, amount);
+                            }
+                        }
+                    }
+                }));
+            }
+            for(Future<?> future : futures){
+                future.get();
+            }
+        }
+        finally{
+            executor.shutdown();
+        }
+        for(int account = 0; account < accounts; account++){
+            assertEquals(FastMoney.of(8, EURO), registry.get(account, EURO));
+        }
+        assertEquals(accounts, registry.getAccounts().size());
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import org.junit.Test;
+
+import javax.money.*;
+import java.io.*;
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CompactMoney}.
+ *
+ * @author Anatole Tresch
+ */
+public class CompactMoneyTest{
+
+    protected static final CurrencyUnit EURO = MonetaryCurrencies.getCurrency("EUR");
+    protected static final CurrencyUnit DOLLAR = MonetaryCurrencies.getCurrency("USD");
+
+    private static BigDecimal bd(CompactMoney m){
+        return m.getNumber().numberValue(BigDecimal.class);
+    }
+
+    @Test
+    public void testOfCompact(){
+        CompactMoney m = CompactMoney.of(new BigDecimal("12.50"), EURO);
+        assertTrue(m.isCompact());
+        assertEquals(125L, m.getUnscaledValue());
+        assertEquals(1, m.getScale());
+        assertEquals("EUR 12.5", m.toString());
+        assertEquals(m, CompactMoney.ofUnscaled(1250, 2, EURO));
+        assertEquals(m, CompactMoney.of(12.5d, EURO));
+        assertEquals(CompactMoney.of(1000L, EURO), CompactMoney.of(new BigDecimal("1E+3"), EURO));
+        assertEquals(CompactMoney.of(0, EURO), CompactMoney.of(new BigDecimal("0.000"), EURO));
+        assertFalse(CompactMoney.of(1, EURO).equals(CompactMoney.of(1, DOLLAR)));
+    }
+
+    @Test
+    public void testPromotion(){
+        CompactMoney max = CompactMoney.of(Long.MAX_VALUE, EURO);
+        assertTrue(max.isCompact());
+        CompactMoney sum = max.add(CompactMoney.of(1, EURO));
+        assertFalse(sum.isCompact());
+        assertEquals(BigDecimal.valueOf(Long.MAX_VALUE).add(BigDecimal.ONE), bd(sum));
+        // and back to compact
+        CompactMoney back = sum.subtract(CompactMoney.of(2, EURO));
+        assertTrue(back.isCompact());
+        assertEquals(Long.MAX_VALUE - 1, back.getUnscaledValue());
+        CompactMoney fine = CompactMoney.of(new BigDecimal("0.0000000000000000001"), EURO);
+        assertFalse(fine.isCompact());
+        assertEquals(new BigDecimal("0.0000000000000000001"), bd(fine));
+        assertTrue(fine.scaleByPowerOfTen(1).isCompact());
+        assertTrue(CompactMoney.of(Long.MIN_VALUE, EURO).negate().isPositive());
+        try{
+            fine.getUnscaledValue();
+            fail("ArithmeticException expected.");
+        }
+        catch(ArithmeticException e){
+            // expected
+        }
+    }
+
+    @Test
+    public void testArithmeticsLikeMoney(){
+        Random random = new Random(4711L);
+        for(int i = 0; i < 2000; i++){
+            BigDecimal a = BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(20));
+            BigDecimal b = BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(20));
+            CompactMoney ca = CompactMoney.of(a, EURO);
+            CompactMoney cb = CompactMoney.of(b, EURO);
+            String msg = a + ", " + b;
+            assertEquals(msg, 0, a.add(b).compareTo(bd(ca.add(cb))));
+            assertEquals(msg, 0, a.subtract(b).compareTo(bd(ca.subtract(cb))));
+            assertEquals(msg, 0, a.multiply(b).compareTo(bd(ca.multiply(b))));
+            assertEquals(msg, 0, a.multiply(BigDecimal.valueOf(7)).compareTo(bd(ca.multiply(7))));
+            assertEquals(msg, a.compareTo(b), ca.compareTo(cb));
+            assertEquals(msg, a.compareTo(b) < 0, ca.isLessThan(cb));
+            assertEquals(msg, a.compareTo(b) == 0, ca.isEqualTo(cb));
+            assertEquals(msg, a.signum(), ca.signum());
+            assertEquals(msg, ca, CompactMoney.of(bd(ca), EURO));
+            assertEquals(msg, ca.hashCode(), CompactMoney.of(bd(ca), EURO).hashCode());
+        }
+    }
+
+    @Test
+    public void testDivide(){
+        CompactMoney m = CompactMoney.of(10, EURO);
+        assertEquals(CompactMoney.of(new BigDecimal("3.333333333333333"), EURO), m.divide(3));
+        assertEquals(CompactMoney.of(new BigDecimal("2.5"), EURO), m.divide(4));
+        CompactMoney[] divRem = m.divideAndRemainder(3);
+        assertEquals(CompactMoney.of(3, EURO), divRem[0]);
+        assertEquals(CompactMoney.of(1, EURO), divRem[1]);
+        assertEquals(CompactMoney.of(1, EURO), m.remainder(3));
+        assertEquals(CompactMoney.of(3, EURO), m.divideToIntegralValue(3));
+    }
+
+    @Test
+    public void testFactory(){
+        MonetaryAmountFactory<CompactMoney> factory = MonetaryAmounts.getAmountFactory(CompactMoney.class);
+        assertNotNull(factory);
+        CompactMoney m = factory.setCurrency(EURO).setNumber(1.25).create();
+        assertEquals(CompactMoney.ofUnscaled(125, 2, EURO), m);
+        assertEquals(m, m.getFactory().create());
+        assertEquals(m, CompactMoney.from(Money.of(new BigDecimal("1.25"), EURO)));
+        assertEquals(m, CompactMoney.from(FastMoney.of(new BigDecimal("1.25"), EURO)));
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException{
+        CompactMoney[] values = new CompactMoney[]{CompactMoney.of(new BigDecimal("1.2345"), EURO),
+                CompactMoney.of(new BigDecimal("123456789012345678901234567890.1"), EURO)};
+        for(CompactMoney m : values){
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            ObjectOutputStream oos = new ObjectOutputStream(bos);
+            oos.writeObject(m);
+            oos.flush();
+            ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()));
+            CompactMoney m2 = (CompactMoney) ois.readObject();
+            assertEquals(m, m2);
+            assertTrue(m != m2);
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import org.javamoney.moneta.spi.ContextCache;
+import org.junit.Test;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryContext;
+import javax.money.MonetaryCurrencies;
+import javax.money.convert.ConversionContext;
+import javax.money.convert.RateType;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ContextCache} and its use by the amount types.
+ *
+ * @author Anatole Tresch
+ */
+public class ContextCacheTest{
+
+    protected static final CurrencyUnit EURO = MonetaryCurrencies.getCurrency("EUR");
+
+    private static MonetaryContext createContext(){
+        return new MonetaryContext.Builder(Money.class).setObject(new MathContext(24, RoundingMode.HALF_UP)).build();
+    }
+
+    @Test
+    public void testIntern(){
+        MonetaryContext context1 = createContext();
+        MonetaryContext context2 = createContext();
+        assertNotSame(context1, context2);
+        assertSame(ContextCache.intern(context1), ContextCache.intern(context2));
+        assertNull(ContextCache.intern((MonetaryContext) null));
+        assertSame(Money.DEFAULT_MONETARY_CONTEXT, ContextCache.intern(Money.DEFAULT_MONETARY_CONTEXT));
+        ConversionContext conversionContext1 = ConversionContext.of("test", RateType.HISTORIC);
+        ConversionContext conversionContext2 = ConversionContext.of("test", RateType.HISTORIC);
+        assertSame(ContextCache.intern(conversionContext1), ContextCache.intern(conversionContext2));
+    }
+
+    @Test
+    public void testInternAmountType(){
+        MonetaryContext derived = ContextCache.intern(createContext(), RoundedMoney.class);
+        assertEquals(RoundedMoney.class, derived.getAmountType());
+        assertEquals(new MathContext(24, RoundingMode.HALF_UP), derived.getAttribute(MathContext.class));
+        assertSame(derived, ContextCache.intern(createContext(), RoundedMoney.class));
+        assertSame(derived, ContextCache.intern(MonetaryContext.from(createContext(), RoundedMoney.class)));
+    }
+
+    @Test
+    public void testAmountsShareContexts(){
+        assertSame(Money.of(1, EURO, createContext()).getMonetaryContext(),
+                   Money.of(2, EURO, createContext()).getMonetaryContext());
+        assertSame(RoundedMoney.of(1, EURO, createContext()).getMonetaryContext(),
+                   RoundedMoney.of(2, EURO, createContext()).getMonetaryContext());
+        assertSame(RoundedMoney.DEFAULT_MONETARY_CONTEXT,
+                   RoundedMoney.of(1, EURO, Money.DEFAULT_MONETARY_CONTEXT).getMonetaryContext());
+    }
+
+    @Test
+    public void testInternConcurrent() throws InterruptedException, ExecutionException{
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try{
+            List<Future<MonetaryContext[]>> futures = new ArrayList<>();
+            for(int i = 0; i < 8; i++){
+                futures.add(executor.submit(new Callable<MonetaryContext[]>(){
+                    @Override
+                    public MonetaryContext[] call(){
+                        MonetaryContext[] contexts = new MonetaryContext[2];
+                        for(int j = 0; j < 1000; j++){
+                            contexts[0] = ContextCache.intern(createContext());
+                            contexts[1] = ContextCache.intern(contexts[0], RoundedMoney.class);
+                            assertSame(contexts[0], ContextCache.intern(contexts[0]));
+                        }
+                        return contexts;
+                    }
+                }));
+            }
+            MonetaryContext[] expected = futures.get(0).get();
+            for(Future<MonetaryContext[]> future : futures){
+                assertSame(expected[0], future.get()[0]);
+                assertSame(expected[1], future.get()[1]);
+            }
+        }
+        finally{
+            executor.shutdown();
+        }
+    }
+
+}
@@ -10,6 +10,7 @@
  */
 package org.javamoney.moneta;
 
+import org.javamoney.moneta.spi.AbstractAmountFactory;
 import org.junit.Test;
 
 import javax.money.*;
@@ -916,4 +917,32 @@ public class FastMoneyTest{
         assertEquals(m, m2);
     }
 
+    /**
+     * Test method for {@link org.javamoney.moneta.spi.AbstractAmountFactory#create(long, int, CurrencyUnit)}.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testFactoryCreateUnscaled(){
+        AbstractAmountFactory<FastMoney> factory = (AbstractAmountFactory<FastMoney>) FastMoney.of(0, EURO).getFactory();
+        assertEquals(FastMoney.of(new BigDecimal("12.34"), EURO), factory.create(1234, 2, EURO));
+        assertEquals(FastMoney.of(new BigDecimal("-0.00001"), EURO), factory.create(-1, 5, EURO));
+        assertEquals(FastMoney.of(new BigDecimal("1200"), EURO), factory.create(12, -2, EURO));
+        try{
+            factory.create(1, 6, EURO);
+            fail("ArithmeticException expected for scale > 5.");
+        }
+        catch(ArithmeticException e){
+            // expected
+        }
+        try{
+            factory.create(Long.MAX_VALUE / 10, 0, EURO);
+            fail("ArithmeticException expected on overflow.");
+        }
+        catch(ArithmeticException e){
+            // expected
+        }
+        AbstractAmountFactory<Money> moneyFactory = (AbstractAmountFactory<Money>) Money.of(0, EURO).getFactory();
+        assertEquals(Money.of(new BigDecimal("12.34"), EURO), moneyFactory.create(1234, 2, EURO));
+    }
+
 }
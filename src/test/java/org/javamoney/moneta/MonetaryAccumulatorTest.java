@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta;
+
+import org.junit.Test;
+
+import javax.money.*;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link MonetaryAccumulator} and {@link StripedMonetaryAccumulator}.
+ *
+ * @author Anatole Tresch
+ */
+public class MonetaryAccumulatorTest{
+
+    protected static final CurrencyUnit EURO = MonetaryCurrencies.getCurrency("EUR");
+    protected static final CurrencyUnit DOLLAR = MonetaryCurrencies.getCurrency("USD");
+
+    @Test
+    public void testFastMoneyAccumulator(){
+        Random random = new Random(4711L);
+        MonetaryAccumulator<FastMoney> accumulator = MonetaryAccumulator.ofFastMoney(EURO);
+        FastMoney expected = FastMoney.of(0, EURO);
+        for(int i = 0; i < 1000; i++){
+            FastMoney amount = FastMoney.of(BigDecimal.valueOf(random.nextInt(), 2), EURO);
+            int quantity = random.nextInt(10);
+            accumulator.add(amount).multiplyAdd(amount, quantity).subtract(Money.of(BigDecimal.ONE, EURO));
+            expected = expected.add(amount).add(amount.multiply(quantity)).subtract(FastMoney.of(1, EURO));
+        }
+        assertEquals(expected, accumulator.toAmount());
+        assertEquals(expected.multiply(2), accumulator.add(expected).toAmount());
+        assertEquals(FastMoney.of(new BigDecimal("0.5"), EURO),
+                     accumulator.reset().multiplyAdd(FastMoney.of(new BigDecimal("0.25"), EURO), 2.0d).toAmount());
+    }
+
+    @Test
+    public void testFastMoneyAccumulatorOverflow(){
+        MonetaryAccumulator<FastMoney> accumulator = MonetaryAccumulator.ofFastMoney(EURO);
+        accumulator.add(FastMoney.ofScaled(Long.MAX_VALUE, EURO));
+        try{
+            accumulator.add(FastMoney.ofScaled(1, EURO));
+            fail("ArithmeticException expected.");
+        }
+        catch(ArithmeticException e){
+            // expected
+        }
+        assertEquals(FastMoney.ofScaled(Long.MAX_VALUE, EURO), accumulator.toAmount());
+        try{
+            accumulator.reset().add(Money.of(new BigDecimal("0.000001"), EURO));
+            fail("ArithmeticException expected.");
+        }
+        catch(ArithmeticException e){
+            // expected
+        }
+    }
+
+    @Test
+    public void testMoneyAccumulator(){
+        Random random = new Random(4711L);
+        MonetaryContext context = new MonetaryContext.Builder(Money.class).setObject(MathContext.UNLIMITED).build();
+        MonetaryAccumulator<Money> accumulator = MonetaryAccumulator.ofMoney(EURO, context);
+        BigDecimal expected = BigDecimal.ZERO;
+        for(int i = 0; i < 1000; i++){
+            BigDecimal number = BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(10));
+            long quantity = random.nextInt(1000);
+            if(random.nextBoolean()){
+                accumulator.add(Money.of(number, EURO, context))
+                        .multiplyAdd(FastMoney.of(BigDecimal.ONE, EURO), quantity);
+                expected = expected.add(number).add(BigDecimal.valueOf(quantity));
+            }else{
+                accumulator.subtract(Money.of(number, EURO, context))
+                        .multiplyAdd(Money.of(number, EURO, context), quantity);
+                expected = expected.subtract(number).add(number.multiply(BigDecimal.valueOf(quantity)));
+            }
+        }
+        assertEquals(0, expected.compareTo(accumulator.toAmount().getNumber().numberValue(BigDecimal.class)));
+        assertEquals(Money.of(0, EURO), accumulator.reset().toAmount());
+        assertEquals(Money.of(new BigDecimal("1.5"), EURO), MonetaryAccumulator.ofMoney(EURO)
+                .add(Money.of(BigDecimal.ONE, EURO)).multiplyAdd(FastMoney.of(1, EURO), new BigDecimal("0.5"))
+                .toAmount());
+    }
+
+    @Test(expected = MonetaryException.class)
+    public void testAdd_WrongCurrency(){
+        MonetaryAccumulator.ofMoney(EURO).add(Money.of(BigDecimal.TEN, DOLLAR));
+    }
+
+    @Test
+    public void testStripedAccumulator() throws InterruptedException, ExecutionException{
+        final StripedMonetaryAccumulator accumulator = new StripedMonetaryAccumulator(EURO, 4);
+        final FastMoney amount = FastMoney.of(new BigDecimal("0.01"), EURO);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try{
+            List<Future<?>> futures = new ArrayList<>();
+            for(int i = 0; i < 8; i++){
+                futures.add(executor.submit(new Runnable(){
+                    @Override
+                    public void run(){
+                        for(int j = 0; j < 10000; j++){
+                            accumulator.add(amount).multiplyAdd(amount, 2).subtract(amount);
+                        }
+                    }
+                }));
+            }
+            for(Future<?> future : futures){
+                future.get();
+            }
+        }
+        finally{
+            executor.shutdown();
+        }
+        assertEquals(FastMoney.of(1600, EURO), accumulator.toAmount());
+        assertEquals(FastMoney.of(1600, EURO), accumulator.toAmountAndReset());
+        assertTrue(accumulator.toAmount().isZero());
+    }
+
+    @Test
+    public void testStripedAccumulatorOverflow() throws InterruptedException{
+        final StripedMonetaryAccumulator accumulator = new StripedMonetaryAccumulator(EURO, 1024);
+        final FastMoney amount = FastMoney.ofScaled(Long.MAX_VALUE / 3 * 2, EURO);
+        // add the amount from threads, until two of them used different cells, so only the sum overflows
+        int added = 0;
+        for(int i = 0; i < 100 && added < 2; i++){
+            final boolean[] success = new boolean[1];
+            Thread thread = new Thread(new Runnable(){
+                @Override
+                public void run(){
+                    try{
+                        accumulator.add(amount);
+                        success[0] = true;
+                    }
+                    catch(ArithmeticException e){
+                        // same cell as a previous thread
+                    }
+                }
+            });
+            thread.start();
+            thread.join();
+            if(success[0]){
+                added++;
+            }
+        }
+        assertEquals(2, added);
+        try{
+            accumulator.toAmountAndReset();
+            fail("ArithmeticException expected.");
+        }
+        catch(ArithmeticException e){
+            // expected
+        }
+        // both amounts must still be contained, so summing up overflows again
+        try{
+            accumulator.toAmount();
+            fail("ArithmeticException expected.");
+        }
+        catch(ArithmeticException e){
+            // expected
+        }
+        try{
+            accumulator.toAmountAndReset();
+            fail("ArithmeticException expected.");
+        }
+        catch(ArithmeticException e){
+            // expected
+        }
+        assertTrue(accumulator.reset().toAmount().isZero());
+    }
+
+}
@@ -44,11 +44,13 @@ public class MonetaryAmountsRegistrationTest {
 	@Test
 	public void testGetTypes() {
 		assertNotNull(MonetaryAmounts.getAmountTypes());
-		assertTrue(MonetaryAmounts.getAmountTypes().size() == 3);
+		assertTrue(MonetaryAmounts.getAmountTypes().size() == 4);
 		assertTrue(MonetaryAmounts.getAmountTypes().contains(FastMoney.class));
 		assertTrue(MonetaryAmounts.getAmountTypes().contains(Money.class));
 		assertTrue(MonetaryAmounts.getAmountTypes()
 				.contains(RoundedMoney.class));
+		assertTrue(MonetaryAmounts.getAmountTypes()
+				.contains(CompactMoney.class));
 	}
 
 	/**
@@ -97,6 +99,9 @@ public class MonetaryAmountsRegistrationTest {
 				.setFlavor(AmountFlavor.PRECISION).build());
 		assertNotNull(type);
 		assertTrue(type == Money.class);
+		type = MonetaryAmounts.queryAmountType(new MonetaryContext.Builder(
+				CompactMoney.class).build());
+		assertTrue(type == CompactMoney.class);
 		type = MonetaryAmounts.queryAmountType(new MonetaryContext.Builder()
 				.setFlavor(AmountFlavor.PERFORMANCE).setPrecision(5).build());
 		assertNotNull(type);
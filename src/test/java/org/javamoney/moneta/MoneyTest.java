@@ -1105,4 +1105,24 @@ public class MoneyTest{
         Money m2 = Money.of(BigDecimal.TEN, "CHF");
         m1.subtract(m2);
     }
+
+    /**
+     * Test method for {@link org.javamoney.moneta.Money#getNumber()} and the {@link java.math.MathContext} applied
+     * on arithmetic results.
+     */
+    @Test
+    public void testArithmeticMathContext(){
+        Money m = Money.of(new BigDecimal("1.25"), EURO);
+        assertSame(m.getNumber(), m.getNumber());
+        assertEquals(new BigDecimal("2.5"), m.add(m).getNumber().numberValue(BigDecimal.class));
+        assertEquals(new BigDecimal("0"), m.subtract(m).getNumber().numberValue(BigDecimal.class));
+        // DECIMAL64: 16 digits
+        Money large = Money.of(new BigDecimal("9999999999999999"), EURO);
+        assertEquals(new BigDecimal("1.000000000000000E+16"),
+                     large.add(Money.of(new BigDecimal("0.5"), EURO)).getNumber().numberValue(BigDecimal.class));
+        assertEquals(new BigDecimal("1.234567890123457"),
+                     Money.of(new BigDecimal("1.2345678901234567"), EURO).getNumber().numberValue(BigDecimal.class));
+        assertTrue(m.isGreaterThan(FastMoney.of(new BigDecimal("1.2"), EURO)));
+        assertTrue(m.isEqualTo(FastMoney.of(new BigDecimal("1.25"), EURO)));
+    }
 }
@@ -26,6 +26,7 @@ import java.io.ObjectOutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.util.Random;
 
 import javax.money.*;
 
@@ -1281,4 +1282,77 @@ public class RoundedMoneyTest {
 		m1.subtract(m2);
 	}
 
+	/**
+	 * Test method for {@link org.javamoney.moneta.RoundedMoney#expression()},
+	 * committing after each step must give the same result as the step-wise
+	 * operations.
+	 */
+	@Test
+	public void testExpression_CommitEqualsStepwise() {
+		Random random = new Random(4711L);
+		for (int i = 0; i < 500; i++) {
+			RoundedMoney price = RoundedMoney.of(EURO,
+					BigDecimal.valueOf(random.nextInt(100000), 3));
+			RoundedMoney tax = RoundedMoney.of(EURO,
+					BigDecimal.valueOf(random.nextInt(10000), 3));
+			RoundedMoney discount = RoundedMoney.of(EURO,
+					BigDecimal.valueOf(random.nextInt(1000), 2));
+			long quantity = random.nextInt(100) + 2;
+			MonetaryAmount stepwise = price.multiply(quantity).add(tax)
+					.subtract(discount);
+			RoundedMoney expression = price.expression().multiply(quantity)
+					.commit().add(tax).commit().subtract(discount).evaluate();
+			assertEquals(
+					expression.toString(),
+					0,
+					stepwise.getNumber().numberValue(BigDecimal.class)
+							.compareTo(
+									expression.getNumber().numberValue(
+											BigDecimal.class)));
+			assertEquals(EURO, expression.getCurrency());
+		}
+	}
+
+	/**
+	 * Test method for {@link org.javamoney.moneta.RoundedMoney#expression()},
+	 * without commit points the rounding is applied only once on the exact
+	 * result.
+	 */
+	@Test
+	public void testExpression_RoundsOnce() {
+		RoundedMoney price = RoundedMoney.of(EURO, new BigDecimal("0.335"));
+		RoundedMoney tax = RoundedMoney.of(EURO, new BigDecimal("0.005"));
+		// step-wise: 1.005 -> 1.01, 1.015 -> 1.02
+		assertEquals(0, new BigDecimal("1.02").compareTo(
+				price.multiply(3).add(tax).getNumber()
+						.numberValue(BigDecimal.class)));
+		RoundedMoneyExpression expression = price.expression().multiply(3)
+				.add(tax);
+		assertEquals(new BigDecimal("1.010"), expression.evaluateUnrounded());
+		assertEquals(0, new BigDecimal("1.01").compareTo(
+				expression.evaluate().getNumber().numberValue(BigDecimal.class)));
+		Random random = new Random(4711L);
+		for (int i = 0; i < 500; i++) {
+			BigDecimal a = BigDecimal.valueOf(random.nextInt(1000000), 4);
+			BigDecimal b = BigDecimal.valueOf(random.nextInt(1000000), 5);
+			BigDecimal factor = BigDecimal.valueOf(random.nextInt(1000), 2);
+			BigDecimal expected = a.multiply(factor).subtract(b).negate()
+					.setScale(2, RoundingMode.HALF_UP);
+			RoundedMoney result = RoundedMoney.of(EURO, a).expression()
+					.multiply(factor).subtract(RoundedMoney.of(EURO, b))
+					.negate().evaluate();
+			assertEquals(a + ", " + b + ", " + factor, 0, expected
+					.compareTo(result.getNumber().numberValue(BigDecimal.class)));
+		}
+	}
+
+	/**
+	 * Test method for {@link org.javamoney.moneta.RoundedMoney#expression()}.
+	 */
+	@Test(expected = MonetaryException.class)
+	public void testExpression_WrongCurrency() {
+		RoundedMoney.of(EURO, BigDecimal.TEN).expression()
+				.add(RoundedMoney.of(BigDecimal.TEN, "CHF"));
+	}
+
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.convert.internal;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the readiness of {@link IMFRateProvider}.
+ *
+ * @author Anatole Tresch
+ */
+public class IMFRateProviderTest{
+
+    private static final String DATA_ID = "IMFRateProvider";
+
+    @Test
+    public void testNotWarmWithoutRates(){
+        IMFRateProvider provider = new IMFRateProvider(false);
+        assertFalse(provider.isWarm());
+        assertFalse(provider.getReadiness().isDone());
+        provider.newDataLoaded(DATA_ID, new ByteArrayInputStream(new byte[0]));
+        assertFalse(provider.isWarm());
+        provider.newDataLoaded(DATA_ID, new ByteArrayInputStream("garbage\n".getBytes()));
+        assertFalse(provider.isWarm());
+    }
+
+    @Test
+    public void testWarmWithRates() throws IOException, InterruptedException, ExecutionException, TimeoutException{
+        IMFRateProvider provider = new IMFRateProvider(false);
+        try(InputStream is = getClass().getResourceAsStream("/java-money/defaults/IMF/rms_five.xls")){
+            assertNotNull(is);
+            provider.newDataLoaded(DATA_ID, is);
+        }
+        assertTrue(provider.isWarm());
+        assertEquals(Boolean.TRUE, provider.getReadiness().get(1, TimeUnit.SECONDS));
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.format.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryCurrencies;
+import javax.money.format.AmountFormatContext;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.junit.Test;
+
+/**
+ * Tests for the grouped printing of {@link AmountNumberToken}.
+ *
+ * @author Anatole Tresch
+ */
+public class AmountNumberTokenTest {
+
+	private static AmountNumberToken createToken(String pattern,
+			int... groupSizes) {
+		return new AmountNumberToken(new AmountFormatContext.Builder(Locale.US)
+				.setAttribute("groupingSizes", groupSizes).build(), pattern);
+	}
+
+	private static String print(AmountNumberToken token, MonetaryAmount amount)
+			throws IOException {
+		StringBuilder b = new StringBuilder();
+		token.print(b, amount);
+		return b.toString();
+	}
+
+	/**
+	 * Prints the number as {@link Money} and as {@link FastMoney}, which is
+	 * printed without a BigDecimal, expecting the same result.
+	 */
+	private static String print(AmountNumberToken token, String number,
+			String currencyCode) throws IOException {
+		String result = print(token, Money.of(new BigDecimal(number),
+				currencyCode));
+		assertEquals(result, print(token, FastMoney.of(new BigDecimal(number),
+				currencyCode)));
+		return result;
+	}
+
+	@Test
+	public void testPrintGrouped() throws IOException {
+		AmountNumberToken token = createToken("#,##0.00", 3, 2);
+		assertEquals("12,34,56,789.50", print(token, "123456789.5", "USD"));
+		assertEquals("0.00", print(token, "0", "USD"));
+		assertEquals("0.12", print(token, "0.125", "USD"));
+		assertEquals("-1,234.57", print(token, "-1234.567", "USD"));
+	}
+
+	@Test
+	public void testPrintGrouped_NegativePattern() throws IOException {
+		AmountNumberToken token = createToken("#,##0.00;(#,##0.00)", 3);
+		assertEquals("(1,234,567.89)", print(token, "-1234567.89", "USD"));
+		assertEquals("1,234,567.89", print(token, "1234567.89", "USD"));
+		// rounded to zero, so not negative
+		assertEquals("0.00", print(token, "-0.001", "USD"));
+	}
+
+	@Test
+	public void testPrintGrouped_NoFractionDigits() throws IOException {
+		AmountNumberToken token = createToken("#,##0.00", 3, 2);
+		assertEquals("12,34,567", print(token, "1234567", "JPY"));
+		assertEquals("12,34,568", print(token, "1234567.5", "JPY"));
+	}
+
+	@Test
+	public void testPrintGrouped_ZeroDigit() throws IOException {
+		DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.US);
+		symbols.setZeroDigit('\u0660');
+		AmountNumberToken token = new AmountNumberToken(
+				new AmountFormatContext.Builder(Locale.US)
+						.setAttribute("groupingSizes", new int[] { 3 })
+						.setObject(symbols).build(), "#,##0.00");
+		assertEquals("\u0661,\u0662\u0663\u0664.\u0665\u0660",
+				print(token, "1234.5", "USD"));
+	}
+
+	@Test
+	public void testPrintGrouped_LargeNumbers() throws IOException {
+		AmountNumberToken token = createToken("#,##0.00;(#,##0.00)", 3);
+		assertEquals("12,345,678,901,234,567,890.12", print(token,
+				Money.of(new BigDecimal("12345678901234567890.123"), "USD")));
+		assertEquals("(12,345,678,901,234,567,890.12)", print(token,
+				Money.of(new BigDecimal("-12345678901234567890.123"), "USD")));
+		assertEquals("92,233,720,368,547.76", print(token,
+				FastMoney.ofScaled(Long.MAX_VALUE,
+						MonetaryCurrencies.getCurrency("USD"))));
+		assertEquals("(92,233,720,368,547.76)", print(token,
+				FastMoney.ofScaled(Long.MIN_VALUE,
+						MonetaryCurrencies.getCurrency("USD"))));
+	}
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.format.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Currency;
+import java.util.Locale;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryCurrencies;
+
+import org.javamoney.moneta.BuildableCurrencyUnit;
+import org.javamoney.moneta.format.CurrencyStyle;
+import org.javamoney.moneta.internal.ConfigurableCurrencyUnitProvider;
+import org.junit.Test;
+
+/**
+ * Tests for {@link CurrencyToken} and {@link CurrencyDisplayCache}.
+ *
+ * @author Anatole Tresch
+ */
+public class CurrencyTokenTest {
+
+	private static final CurrencyUnit DOLLAR = MonetaryCurrencies.getCurrency("USD");
+
+	@Test
+	public void testDisplayCache() {
+		Currency jdkDollar = Currency.getInstance("USD");
+		CurrencyDisplayCache.preload(Locale.US, Locale.GERMANY);
+		for (Locale locale : new Locale[] { Locale.US, Locale.GERMANY, Locale.FRENCH }) {
+			String symbol = jdkDollar.getSymbol(locale);
+			String name = jdkDollar.getDisplayName(locale);
+			assertEquals(symbol, CurrencyDisplayCache.getSymbol(DOLLAR, locale));
+			assertEquals(name, CurrencyDisplayCache.getName(DOLLAR, locale));
+			assertEquals(DOLLAR, CurrencyDisplayCache.getCurrencyByName(name, locale));
+			assertEquals(DOLLAR, CurrencyDisplayCache.getCurrencyByName(
+					name.toUpperCase(locale), locale));
+			assertEquals(DOLLAR, CurrencyDisplayCache.getCurrencyBySymbol(symbol, locale));
+		}
+		assertEquals(DOLLAR, CurrencyDisplayCache.getCurrencyBySymbol(
+				jdkDollar.getSymbol(Locale.US), Locale.US));
+		assertNull(CurrencyDisplayCache.getCurrencyBySymbol("#no symbol#", Locale.US));
+		CurrencyUnit custom = new BuildableCurrencyUnit.Builder("XT4").build();
+		assertEquals("XT4", CurrencyDisplayCache.getSymbol(custom, Locale.US));
+		assertEquals("XT4", CurrencyDisplayCache.getName(custom, Locale.US));
+	}
+
+	@Test
+	public void testDisplayCache_Registered() {
+		assertNull(CurrencyDisplayCache.getCurrencyBySymbol("XT5", Locale.US));
+		CurrencyUnit custom = new BuildableCurrencyUnit.Builder("XT5").build(true);
+		try {
+			// the index built before is replaced
+			assertEquals(custom, CurrencyDisplayCache.getCurrencyBySymbol("XT5",
+					Locale.US));
+			assertEquals(custom, CurrencyDisplayCache.getCurrencyByName("xt5",
+					Locale.US));
+			ParseContext context = new ParseContext("XT5 12.50");
+			new CurrencyToken(CurrencyStyle.SYMBOL, Locale.US).parse(context);
+			assertEquals(custom, context.getParsedCurrency());
+		} finally {
+			ConfigurableCurrencyUnitProvider.removeCurrencyUnit("XT5");
+		}
+		assertNull(CurrencyDisplayCache.getCurrencyBySymbol("XT5", Locale.US));
+	}
+
+	@Test
+	public void testTrie() {
+		CurrencyUnit euro = MonetaryCurrencies.getCurrency("EUR");
+		CurrencyTrie trie = new CurrencyTrie.Builder(true).add("Dollar", DOLLAR)
+				.add("Dollar Euro", euro).add("DOLLAR", euro).add("", euro).build();
+		assertEquals(DOLLAR, trie.get("dollar"));
+		assertNull(trie.get("Doll"));
+		assertNull(trie.get(""));
+		CurrencyTrie.Node match = trie.match("12 DOLLAR EURO", 3);
+		assertEquals(euro, match.getCurrency());
+		assertEquals(11, match.getLength());
+		// keys must end at a token boundary, shorter keys are used instead
+		match = trie.match("12 DOLLAR EUROS", 3);
+		assertEquals(DOLLAR, match.getCurrency());
+		assertEquals(6, match.getLength());
+		match = trie.match("12 dollar eu", 3);
+		assertEquals(DOLLAR, match.getCurrency());
+		assertEquals(6, match.getLength());
+		assertNull(trie.match("12 Doll", 3));
+		assertNull(trie.match("Dollar", 6));
+		assertNull(trie.match("Dollars", 0));
+		match = trie.match("Dollar12", 0);
+		assertEquals(DOLLAR, match.getCurrency());
+		CurrencyTrie numeric = new CurrencyTrie.Builder(false).add("978", euro)
+				.add("$", DOLLAR).build();
+		assertNull(numeric.match("97812.50", 0));
+		assertEquals(euro, numeric.match("978 12.50", 0).getCurrency());
+		assertEquals(euro, numeric.match("978.12", 0).getCurrency());
+		assertEquals(DOLLAR, numeric.match("$12.50", 0).getCurrency());
+	}
+
+	@Test
+	public void testParseSymbol() {
+		String symbol = Currency.getInstance("USD").getSymbol(Locale.US);
+		ParseContext context = new ParseContext(" " + symbol + "123.45");
+		new CurrencyToken(CurrencyStyle.SYMBOL, Locale.US).parse(context);
+		assertEquals(DOLLAR, context.getParsedCurrency());
+		assertEquals(symbol.length() + 1, context.getIndex());
+	}
+
+	@Test
+	public void testParseName() {
+		String name = Currency.getInstance("USD").getDisplayName(Locale.US);
+		ParseContext context = new ParseContext(name.toLowerCase(Locale.US) + " 123.45");
+		new CurrencyToken(CurrencyStyle.NAME, Locale.US).parse(context);
+		assertEquals(DOLLAR, context.getParsedCurrency());
+		assertEquals(name.length(), context.getIndex());
+	}
+
+	@Test
+	public void testParseName_Boundary() {
+		String name = Currency.getInstance("EUR").getDisplayName(Locale.US);
+		CurrencyToken token = new CurrencyToken(CurrencyStyle.NAME, Locale.US);
+		ParseContext context = new ParseContext(name + "s 12");
+		token.parse(context);
+		assertNull(context.getParsedCurrency());
+		assertEquals(0, context.getIndex());
+		context = new ParseContext(name + " 12");
+		token.parse(context);
+		assertEquals(MonetaryCurrencies.getCurrency("EUR"),
+				context.getParsedCurrency());
+		assertEquals(name.length(), context.getIndex());
+	}
+
+	@Test
+	public void testParseCode() {
+		ParseContext context = new ParseContext("USD 123.45");
+		new CurrencyToken(CurrencyStyle.SYMBOL, Locale.US).parse(context);
+		assertEquals(DOLLAR, context.getParsedCurrency());
+		assertEquals(3, context.getIndex());
+	}
+
+	@Test
+	public void testParseCodePrefix() {
+		ParseContext context = new ParseContext("CHF12.50");
+		new CurrencyToken(CurrencyStyle.CODE, Locale.GERMANY).parse(context);
+		assertEquals(MonetaryCurrencies.getCurrency("CHF"),
+				context.getParsedCurrency());
+		assertEquals(3, context.getIndex());
+	}
+
+	@Test
+	public void testParseNumericCode() {
+		CurrencyToken token = new CurrencyToken(CurrencyStyle.NUMERIC_CODE,
+				Locale.GERMANY);
+		ParseContext context = new ParseContext("756 12,50");
+		token.parse(context);
+		assertEquals(MonetaryCurrencies.getCurrency("CHF"),
+				context.getParsedCurrency());
+		assertEquals(3, context.getIndex());
+		context = new ParseContext("036 12,50");
+		token.parse(context);
+		assertEquals(MonetaryCurrencies.getCurrency("AUD"),
+				context.getParsedCurrency());
+		assertEquals(3, context.getIndex());
+		context = new ParseContext("97812.50");
+		token.parse(context);
+		assertNull(context.getParsedCurrency());
+		assertEquals(0, context.getIndex());
+	}
+
+	@Test
+	public void testParseNoCurrency() {
+		ParseContext context = new ParseContext("#12.50");
+		new CurrencyToken(CurrencyStyle.SYMBOL, Locale.US).parse(context);
+		assertNull(context.getParsedCurrency());
+		assertEquals(0, context.getIndex());
+	}
+
+}
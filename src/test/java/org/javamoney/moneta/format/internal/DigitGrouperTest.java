@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.format.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link DigitGrouper}.
+ *
+ * @author Anatole Tresch
+ */
+public class DigitGrouperTest {
+
+	private static String group(DigitGrouper grouper, long value, int minDigits)
+			throws IOException {
+		StringBuilder b = new StringBuilder();
+		grouper.appendGrouped(b, value, minDigits, '0');
+		String result = b.toString();
+		b.setLength(0);
+		String digits = String.valueOf(value);
+		grouper.appendGrouped(b, "x" + digits + "x", 1, digits.length() + 1,
+				minDigits, '0');
+		assertEquals(result, b.toString());
+		return result;
+	}
+
+	@Test
+	public void testGrouping() throws IOException {
+		DigitGrouper grouper = new DigitGrouper(new char[] { ',' }, new int[] { 3 });
+		assertEquals("0", group(grouper, 0L, 1));
+		assertEquals("123", group(grouper, 123L, 1));
+		assertEquals("1,234", group(grouper, 1234L, 1));
+		assertEquals("123,456,789", group(grouper, 123456789L, 1));
+		assertEquals("9,223,372,036,854,775,807", group(grouper, Long.MAX_VALUE, 1));
+		assertEquals("0,012", group(grouper, 12L, 4));
+	}
+
+	@Test
+	public void testGrouping_Indian() throws IOException {
+		DigitGrouper grouper = new DigitGrouper(new char[] { ',' }, new int[] { 3, 2 });
+		assertEquals("999", group(grouper, 999L, 1));
+		assertEquals("1,000", group(grouper, 1000L, 1));
+		assertEquals("1,00,000", group(grouper, 100000L, 1));
+		assertEquals("12,34,56,78,91,01,112", group(grouper, 123456789101112L, 1));
+	}
+
+	@Test
+	public void testGrouping_Separators() throws IOException {
+		DigitGrouper grouper = new DigitGrouper(new char[] { '\'', '.', ' ' },
+				new int[] { 1, 2, 3 });
+		assertEquals("1 234 567 891.01'1", group(grouper, 1234567891011L, 1));
+	}
+
+	@Test
+	public void testGrouping_None() throws IOException {
+		assertEquals("1234567", group(new DigitGrouper(new char[0], new int[] { 3 }),
+				1234567L, 1));
+		assertEquals("1234567", group(new DigitGrouper(new char[] { ',' }, new int[0]),
+				1234567L, 1));
+		assertEquals("1234567", group(new DigitGrouper(new char[] { ',' },
+				new int[] { 3, 0 }), 1234567L, 1));
+		StringBuilder b = new StringBuilder();
+		new DigitGrouper(new char[] { ',' }, new int[] { 3 }).appendGrouped(b, 0L,
+				0, '0');
+		assertEquals("", b.toString());
+	}
+
+	@Test
+	public void testAppendDigits() throws IOException {
+		StringBuilder b = new StringBuilder();
+		DigitGrouper.appendDigits(b, 5L, 2, '0');
+		DigitGrouper.appendDigits(b, 123L, 0, '0');
+		DigitGrouper.appendDigits(b, 12L, 2, '\u0660');
+		assertEquals("05\u0661\u0662", b.toString());
+	}
+
+}
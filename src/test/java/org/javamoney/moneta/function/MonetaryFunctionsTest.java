@@ -18,17 +18,28 @@
  */
 package org.javamoney.moneta.function;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 
+import javax.money.CurrencyUnit;
 import javax.money.MonetaryAmount;
 import javax.money.MonetaryAmounts;
+import javax.money.MonetaryCurrencies;
 import javax.money.MonetaryOperator;
 
+import org.javamoney.moneta.CompactMoney;
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
 import org.junit.Test;
 
 /**
@@ -170,6 +181,59 @@ public class MonetaryFunctionsTest {
 		assertEquals("25%", ((Percent) p).getDisplayName(Locale.ENGLISH));
 	}
 
+	/**
+	 * Test method for
+	 * {@link org.javamoney.moneta.function.MonetaryFunctions#percent(java.math.BigDecimal)}
+	 * and
+	 * {@link org.javamoney.moneta.function.MonetaryFunctions#permil(java.math.BigDecimal)}
+	 * .
+	 */
+	@Test
+	public void testPercentPermilCached() {
+		assertSame(MonetaryFunctions.percent(25),
+				MonetaryFunctions.percent(new BigDecimal("25.00")));
+		assertSame(MonetaryFunctions.percent(new BigDecimal("7.65")),
+				MonetaryFunctions.percent(new BigDecimal("7.650")));
+		assertNotSame(MonetaryFunctions.percent(new BigDecimal("7.655")),
+				MonetaryFunctions.percent(new BigDecimal("7.655")));
+		assertNotSame(MonetaryFunctions.percent(101),
+				MonetaryFunctions.percent(101));
+		assertSame(MonetaryFunctions.permil(1000L),
+				MonetaryFunctions.permil(new BigDecimal("1E+3")));
+		assertSame(MonetaryFunctions.permil(new BigDecimal("2.5")),
+				MonetaryFunctions.permil(new BigDecimal("2.5"),
+						MathContext.DECIMAL32));
+		assertNotSame(MonetaryFunctions.permil(-1), MonetaryFunctions.permil(-1));
+	}
+
+	/**
+	 * Test method for
+	 * {@link org.javamoney.moneta.function.MonetaryFunctions#percent(java.lang.Number)}
+	 * applied to {@link FastMoney}.
+	 */
+	@Test
+	public void testPercentFastMoney() {
+		CurrencyUnit chf = MonetaryCurrencies.getCurrency("CHF");
+		MonetaryOperator tenPercent = MonetaryFunctions.percent(10);
+		assertEquals(FastMoney.of(new BigDecimal("12.34567"), chf),
+				FastMoney.of(new BigDecimal("123.4567"), chf).with(tenPercent));
+		assertEquals(FastMoney.ofScaled(2, chf),
+				FastMoney.ofScaled(25, chf).with(tenPercent));
+		assertEquals(FastMoney.ofScaled(4, chf),
+				FastMoney.ofScaled(35, chf).with(tenPercent));
+		assertEquals(FastMoney.ofScaled(-4, chf),
+				FastMoney.ofScaled(-35, chf).with(tenPercent));
+		assertEquals(FastMoney.ofScaled(3000, chf),
+				FastMoney.of(new BigDecimal("1.00001"), chf).with(
+						MonetaryFunctions.percent(3)));
+		assertEquals(FastMoney.ofScaled(Long.MAX_VALUE / 2 + 1, chf),
+				FastMoney.ofScaled(Long.MAX_VALUE, chf).with(
+						MonetaryFunctions.percent(50)));
+		assertEquals(FastMoney.of(new BigDecimal("0.00123"), chf),
+				FastMoney.of(new BigDecimal("1.23"), chf).with(
+						MonetaryFunctions.permil(1)));
+	}
+
 	/**
 	 * Test method for
 	 * {@link org.javamoney.moneta.function.MonetaryFunctions#minorPart()}.
@@ -232,6 +296,73 @@ public class MonetaryFunctionsTest {
 		assertEquals(Long.valueOf(1234L), units);
 	}
 
+	/**
+	 * Test method for
+	 * {@link org.javamoney.moneta.function.MonetaryFunctions#minorUnits()},
+	 * {@link org.javamoney.moneta.function.MonetaryFunctions#majorUnits()},
+	 * {@link org.javamoney.moneta.function.MonetaryFunctions#minorPart()} and
+	 * {@link org.javamoney.moneta.function.MonetaryFunctions#majorPart()}
+	 * applied to {@link FastMoney} and {@link CompactMoney}.
+	 */
+	@Test
+	public void testUnitsAndParts_Scaled() {
+		CurrencyUnit chf = MonetaryCurrencies.getCurrency("CHF");
+		CurrencyUnit jpy = MonetaryCurrencies.getCurrency("JPY");
+		for (BigDecimal number : new BigDecimal[] { new BigDecimal("1234.56789"),
+				new BigDecimal("-1234.56789"), new BigDecimal("0.5"),
+				new BigDecimal("-7"), BigDecimal.ZERO }) {
+			for (CurrencyUnit currency : new CurrencyUnit[] { chf, jpy }) {
+				Money money = Money.of(number, currency);
+				for (MonetaryAmount amount : new MonetaryAmount[] {
+						FastMoney.of(number, currency),
+						CompactMoney.of(number, currency) }) {
+					assertEquals(money.query(MonetaryFunctions.minorUnits()),
+							amount.query(MonetaryFunctions.minorUnits()));
+					assertEquals(money.query(MonetaryFunctions.majorUnits()),
+							amount.query(MonetaryFunctions.majorUnits()));
+					MonetaryAmount minorPart = amount.with(MonetaryFunctions.minorPart());
+					assertEquals(amount.getClass(), minorPart.getClass());
+					assertTrue(minorPart.isEqualTo(amount.getFactory()
+							.setNumber(money.with(MonetaryFunctions.minorPart()).getNumber())
+							.create()));
+					MonetaryAmount majorPart = amount.with(MonetaryFunctions.majorPart());
+					assertEquals(amount.getClass(), majorPart.getClass());
+					assertTrue(majorPart.isEqualTo(amount.getFactory()
+							.setNumber(money.with(MonetaryFunctions.majorPart()).getNumber())
+							.create()));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link org.javamoney.moneta.function.MonetaryFunctions#minorUnits(java.util.Collection)}
+	 * and
+	 * {@link org.javamoney.moneta.function.MonetaryFunctions#majorUnits(java.util.Collection, long[], int)}
+	 * .
+	 */
+	@Test
+	public void testUnitsBulk() {
+		CurrencyUnit chf = MonetaryCurrencies.getCurrency("CHF");
+		List<MonetaryAmount> amounts = Arrays.<MonetaryAmount> asList(
+				FastMoney.of(new BigDecimal("12.345"), chf),
+				CompactMoney.of(new BigDecimal("-0.99"), chf),
+				Money.of(new BigDecimal("100"), chf));
+		assertArrayEquals(new long[] { 1234L, -99L, 10000L },
+				MonetaryFunctions.minorUnits(amounts));
+		long[] target = new long[5];
+		assertSame(target, MonetaryFunctions.majorUnits(amounts, target, 1));
+		assertArrayEquals(new long[] { 0L, 12L, 0L, 100L, 0L }, target);
+		try {
+			MonetaryFunctions.minorUnits(amounts, target, 3);
+			fail("IndexOutOfBoundsException expected.");
+		} catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+		assertArrayEquals(new long[] { 0L, 12L, 0L, 100L, 0L }, target);
+	}
+
 	// Bad cases
 
 	/**
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.function;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryCurrencies;
+import javax.money.MonetaryException;
+import javax.money.MonetaryOperator;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.junit.Test;
+
+/**
+ * Tests for {@link MonetaryOperatorPipeline}.
+ *
+ * @author Anatole Tresch
+ */
+public class MonetaryOperatorPipelineTest {
+
+	private static final CurrencyUnit CHF = MonetaryCurrencies.getCurrency("CHF");
+
+	@Test
+	public void testFusing() {
+		MonetaryOperatorPipeline pipeline = MonetaryFunctions.pipeline(
+				MonetaryFunctions.percent(50), MonetaryFunctions.permil(100),
+				MonetaryFunctions.reciprocal(), MonetaryFunctions.percent(100),
+				MonetaryFunctions.percent(20));
+		List<MonetaryOperator> stages = pipeline.getStages();
+		assertEquals(3, stages.size());
+		assertEquals(0, new BigDecimal("0.05").compareTo(((DecimalFactor) stages
+				.get(0)).getValue()));
+		assertSame(MonetaryFunctions.reciprocal(), stages.get(1));
+		assertEquals(0, new BigDecimal("0.2").compareTo(((DecimalFactor) stages
+				.get(2)).getValue()));
+		assertEquals(3, new MonetaryOperatorPipeline.Builder().add(pipeline)
+				.build().getStages().size());
+		MonetaryOperatorPipeline identity = MonetaryOperatorPipeline.of(
+				MonetaryFunctions.percent(100), MonetaryFunctions.permil(1000));
+		assertTrue(identity.getStages().isEmpty());
+		Money money = Money.of(new BigDecimal("12.34"), CHF);
+		assertSame(money, identity.apply(money));
+	}
+
+	@Test
+	public void testApply() {
+		MonetaryOperator[] operators = new MonetaryOperator[] {
+				MonetaryFunctions.percent(50), MonetaryFunctions.permil(100),
+				MonetaryFunctions.reciprocal(), MonetaryFunctions.percent(20) };
+		MonetaryOperatorPipeline pipeline = MonetaryOperatorPipeline.of(operators);
+		Money money = Money.of(new BigDecimal("200"), CHF);
+		FastMoney fastMoney = FastMoney.of(new BigDecimal("200"), CHF);
+		Money expectedMoney = money;
+		FastMoney expectedFastMoney = fastMoney;
+		for (MonetaryOperator operator : operators) {
+			expectedMoney = expectedMoney.with(operator);
+			expectedFastMoney = expectedFastMoney.with(operator);
+		}
+		assertEquals(expectedMoney, pipeline.apply(money));
+		assertEquals(expectedMoney, money.with(pipeline));
+		assertEquals(expectedFastMoney, pipeline.apply(fastMoney));
+	}
+
+	@Test
+	public void testApplyAll() {
+		MonetaryOperatorPipeline pipeline = MonetaryOperatorPipeline.of(
+				MonetaryFunctions.percent(new BigDecimal("7.7")),
+				MonetaryFunctions.percent(50), MonetaryFunctions.minorPart());
+		List<FastMoney> amounts = Arrays.asList(
+				FastMoney.of(new BigDecimal("1234.56"), CHF),
+				FastMoney.of(new BigDecimal("-0.99"), CHF),
+				FastMoney.of(BigDecimal.ZERO, CHF));
+		List<FastMoney> results = pipeline.applyAll(amounts);
+		assertEquals(amounts.size(), results.size());
+		for (int i = 0; i < amounts.size(); i++) {
+			assertEquals(pipeline.apply(amounts.get(i)), results.get(i));
+		}
+	}
+
+	@Test
+	public void testTiming() {
+		MonetaryOperatorPipeline pipeline = new MonetaryOperatorPipeline.Builder()
+				.add(MonetaryFunctions.percent(10), MonetaryFunctions.majorPart())
+				.setTimingEnabled(true).build();
+		assertTrue(pipeline.isTimingEnabled());
+		pipeline.applyAll(Arrays.asList(Money.of(1, CHF), Money.of(2, CHF),
+				Money.of(3, CHF)));
+		pipeline.apply(Money.of(4, CHF));
+		assertArrayEquals(new long[] { 4L, 4L }, pipeline.getStageAmounts());
+		assertEquals(2, pipeline.getStageNanos().length);
+		pipeline.resetTiming();
+		assertArrayEquals(new long[] { 0L, 0L }, pipeline.getStageAmounts());
+		assertArrayEquals(new long[] { 0L, 0L }, pipeline.getStageNanos());
+		MonetaryOperatorPipeline untimed = MonetaryOperatorPipeline
+				.of(MonetaryFunctions.percent(10));
+		assertFalse(untimed.isTimingEnabled());
+		try {
+			untimed.getStageNanos();
+			fail("IllegalStateException expected.");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	@Test(expected = MonetaryException.class)
+	public void testApply_Failure() {
+		MonetaryOperatorPipeline.of(MonetaryFunctions.percent(10),
+				MonetaryFunctions.reciprocal()).apply(Money.of(0, CHF));
+	}
+
+	@Test(expected = MonetaryException.class)
+	public void testApplyAll_Failure() {
+		MonetaryOperatorPipeline.of(MonetaryFunctions.reciprocal()).applyAll(
+				Arrays.asList(Money.of(1, CHF), Money.of(0, CHF)));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testApply_Null() {
+		MonetaryOperatorPipeline.of(MonetaryFunctions.percent(10)).apply(null);
+	}
+
+}
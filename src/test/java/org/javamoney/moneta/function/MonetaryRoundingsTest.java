@@ -18,6 +18,8 @@
  */
 package org.javamoney.moneta.function;
 
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.spi.CashRoundingTable;
 import org.junit.Test;
 
 import javax.money.*;
@@ -159,6 +161,76 @@ public class MonetaryRoundingsTest{
                      MonetaryAmounts.getAmountFactory().setCurrency("CHF").setNumber(2.025).create().with(r));
     }
 
+    /**
+     * Test method for
+     * {@link javax.money.MonetaryRoundings#getRounding(javax.money.CurrencyUnit)} for cash roundings, configured by
+     * minimal cash units.
+     */
+    @Test
+    public void testGetCashRoundingConfiguredUnits(){
+        MonetaryOperator r = MonetaryRoundings.getRounding(
+                new RoundingContext.Builder().setCurrencyUnit(MonetaryCurrencies.getCurrency("DKK"))
+                        .setAttribute("cashRounding", true).build()
+        );
+        assertEquals(MonetaryAmounts.getAmountFactory().setCurrency("DKK").setNumber(10.5).create(),
+                     MonetaryAmounts.getAmountFactory().setCurrency("DKK").setNumber(10.26).create().with(r));
+        assertEquals(MonetaryAmounts.getAmountFactory().setCurrency("DKK").setNumber(-10).create(),
+                     MonetaryAmounts.getAmountFactory().setCurrency("DKK").setNumber(-10.24).create().with(r));
+        r = MonetaryRoundings.getRounding(
+                new RoundingContext.Builder().setCurrencyUnit(MonetaryCurrencies.getCurrency("SEK"))
+                        .setAttribute("cashRounding", true).build()
+        );
+        assertEquals(FastMoney.of(3, "SEK"), FastMoney.of(2.5, "SEK").with(r));
+        assertEquals(FastMoney.of(2, "SEK"), FastMoney.of(2.49999, "SEK").with(r));
+    }
+
+    /**
+     * Test method for
+     * {@link javax.money.MonetaryRoundings#getRounding(javax.money.RoundingContext)}, checking the default roundings
+     * are shared.
+     */
+    @Test
+    public void testGetRoundingShared(){
+        CurrencyUnit chf = MonetaryCurrencies.getCurrency("CHF");
+        assertSame(MonetaryRoundings.getRounding(chf), MonetaryRoundings.getRounding(chf));
+        assertSame(MonetaryRoundings.getRounding(chf),
+                   MonetaryRoundings.getRounding(MonetaryCurrencies.getCurrency("EUR")));
+        assertNotSame(MonetaryRoundings.getRounding(chf),
+                      MonetaryRoundings.getRounding(MonetaryCurrencies.getCurrency("JPY")));
+        MonetaryOperator r = MonetaryRoundings.getRounding(
+                new RoundingContext.Builder().setInt("scale", 3).setObject(RoundingMode.DOWN).build());
+        assertSame(r, MonetaryRoundings.getRounding(
+                new RoundingContext.Builder().setInt("scale", 3).setObject(RoundingMode.DOWN).build()));
+        assertNotSame(r, MonetaryRoundings.getRounding(
+                new RoundingContext.Builder().setInt("scale", 3).setObject(RoundingMode.UP).build()));
+        r = MonetaryRoundings.getRounding(
+                new RoundingContext.Builder().setCurrencyUnit(chf).setAttribute("cashRounding", true).build());
+        assertSame(r, MonetaryRoundings.getRounding(
+                new RoundingContext.Builder().setCurrencyUnit(chf).setAttribute("cashRounding", true).build()));
+        // the shared instances still round correctly
+        assertEquals(FastMoney.of(2.05, "CHF"), FastMoney.of(2.025, "CHF").with(r));
+        assertEquals(FastMoney.of(2, "CHF"), FastMoney.of(2.02, "CHF").with(r));
+    }
+
+    /**
+     * Test method for
+     * {@link org.javamoney.moneta.spi.CashRoundingTable#round(long[], javax.money.CurrencyUnit)}.
+     */
+    @Test
+    public void testCashRoundingTableBulk(){
+        CurrencyUnit chf = MonetaryCurrencies.getCurrency("CHF");
+        assertEquals(5L, CashRoundingTable.getMinimalMinors(chf));
+        long[] minors = new long[]{202, 203, 1, -203, 250, 0};
+        assertSame(minors, CashRoundingTable.round(minors, chf));
+        assertArrayEquals(new long[]{200, 205, 0, -205, 250, 0}, minors);
+        minors = new long[]{149, 150, -150};
+        CashRoundingTable.round(minors, MonetaryCurrencies.getCurrency("SEK"));
+        assertArrayEquals(new long[]{100, 200, -200}, minors);
+        minors = new long[]{149, 150};
+        CashRoundingTable.round(minors, MonetaryCurrencies.getCurrency("GBP"));
+        assertArrayEquals(new long[]{149, 150}, minors);
+    }
+
     /**
      * Test method for
      * {@link javax.money.MonetaryRoundings#getRounding(javax.money.RoundingContext)} with timestamps.
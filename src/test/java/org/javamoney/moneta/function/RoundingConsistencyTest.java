@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2012, 2013, Credit Suisse (Anatole Tresch), Werner Keil.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ *
+ * Contributors: Anatole Tresch - initial implementation Wernner Keil -
+ * extensions and adaptions.
+ */
+package org.javamoney.moneta.function;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.javamoney.moneta.RoundedMoney;
+import org.javamoney.moneta.spi.CashRoundingTable;
+import org.javamoney.moneta.spi.LongRounding;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import javax.money.*;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the specialized rounding paths for {@link Money}, {@link FastMoney} and {@link RoundedMoney}, as well as
+ * {@link LongRounding}, against a plain {@link BigDecimal} reference, using random amounts for all
+ * {@link RoundingMode}s. The seed is fixed, so failures are reproducible.
+ *
+ * @author Anatole Tresch
+ */
+public class RoundingConsistencyTest{
+
+    private static final long SEED = 4711L;
+    private static final int SAMPLES = 500;
+    private static final CurrencyUnit CHF = MonetaryCurrencies.getCurrency("CHF");
+
+    /**
+     * Creates a random number with the given maximal scale, within the range supported by {@link FastMoney}.
+     *
+     * @param random   the random generator.
+     * @param maxScale the maximal scale.
+     * @return the number.
+     */
+    private static BigDecimal randomNumber(Random random, int maxScale){
+        long unscaled = random.nextLong() % 10000000000000L;
+        switch(random.nextInt(4)){
+            case 0:
+                // values close to the rounding boundaries, e.g. x.5, x.05
+                unscaled = unscaled / 1000 * 1000 + 500;
+                break;
+            case 1:
+                unscaled = unscaled % 100000;
+                break;
+            default:
+                break;
+        }
+        return BigDecimal.valueOf(unscaled, random.nextInt(maxScale + 1));
+    }
+
+    private static void assertNumberEquals(String message, BigDecimal expected, MonetaryAmount amount){
+        BigDecimal actual = amount.getNumber().numberValue(BigDecimal.class);
+        assertTrue(message + ": expected " + expected + ", but was " + actual, expected.compareTo(actual) == 0);
+    }
+
+    /**
+     * Compares the scale roundings of all amount types with {@link BigDecimal#setScale(int, RoundingMode)}.
+     */
+    @Test
+    public void testScaleRoundingAllModes(){
+        Random random = new Random(SEED);
+        for(int scale = 0; scale <= 6; scale++){
+            for(RoundingMode mode : RoundingMode.values()){
+                if(mode == RoundingMode.UNNECESSARY){
+                    continue;
+                }
+                MonetaryOperator rounding = MonetaryRoundings
+                        .getRounding(new RoundingContext.Builder().setInt("scale", scale).setObject(mode).build());
+                for(int i = 0; i < SAMPLES; i++){
+                    BigDecimal number = randomNumber(random, 5);
+                    BigDecimal expected = number.setScale(scale, mode);
+                    String message = number + " scale=" + scale + ", " + mode;
+                    assertNumberEquals(message, expected, FastMoney.of(number, CHF).with(rounding));
+                    assertNumberEquals(message, expected, Money.of(number, CHF).with(rounding));
+                    assertNumberEquals(message, expected, RoundedMoney.of(number, CHF).with(rounding));
+                    Money fine = Money.of(number.add(BigDecimal.valueOf(random.nextInt(1000), 9)), CHF);
+                    BigDecimal fineNumber = fine.getNumber().numberValue(BigDecimal.class);
+                    assertNumberEquals(fineNumber + " scale=" + scale + ", " + mode,
+                                       fineNumber.setScale(scale, mode), fine.with(rounding));
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares the default roundings of all JDK currencies with {@link BigDecimal#setScale(int, RoundingMode)}, using
+     * their default fraction digits.
+     */
+    @Test
+    public void testCurrencyRoundingAllCurrencies(){
+        Random random = new Random(SEED);
+        for(Currency currency : Currency.getAvailableCurrencies()){
+            CurrencyUnit cur = MonetaryCurrencies.getCurrency(currency.getCurrencyCode());
+            // Omit test roundings, which are for testing only...
+            if("XXX".equals(cur.getCurrencyCode()) || "CHF".equals(cur.getCurrencyCode())){
+                continue;
+            }
+            MonetaryOperator rounding = MonetaryRoundings.getRounding(cur);
+            int scale = Math.max(0, cur.getDefaultFractionDigits());
+            for(int i = 0; i < SAMPLES / 10; i++){
+                BigDecimal number = randomNumber(random, 5);
+                BigDecimal expected = number.setScale(scale, RoundingMode.HALF_UP);
+                String message = number + " " + cur;
+                assertNumberEquals(message, expected, FastMoney.of(number, cur).with(rounding));
+                assertNumberEquals(message, expected, Money.of(number, cur).with(rounding));
+                assertNumberEquals(message, expected, RoundedMoney.of(number, cur).with(rounding));
+            }
+        }
+    }
+
+    /**
+     * Compares the cash roundings of all currencies with a configured minimal cash unit with a {@link BigDecimal}
+     * reference, rounding to multiples of the unit.
+     */
+    @Test
+    public void testCashRoundingAllModes(){
+        Random random = new Random(SEED);
+        for(Currency currency : Currency.getAvailableCurrencies()){
+            CurrencyUnit cur = MonetaryCurrencies.getCurrency(currency.getCurrencyCode());
+            // CHF is overridden by the test rounding provider
+            if(!CashRoundingTable.isDefined(cur) || "CHF".equals(cur.getCurrencyCode())){
+                continue;
+            }
+            BigDecimal unit = BigDecimal.valueOf(CashRoundingTable.getMinimalMinors(cur),
+                                                 cur.getDefaultFractionDigits());
+            for(RoundingMode mode : RoundingMode.values()){
+                if(mode == RoundingMode.UNNECESSARY){
+                    continue;
+                }
+                MonetaryOperator rounding = MonetaryRoundings.getRounding(
+                        new RoundingContext.Builder().setCurrencyUnit(cur).setAttribute("cashRounding", true)
+                                .setObject(mode).build()
+                );
+                for(int i = 0; i < SAMPLES / 5; i++){
+                    BigDecimal number = randomNumber(random, 5);
+                    BigDecimal expected = number.divide(unit, 0, mode).multiply(unit);
+                    String message = number + " " + cur + " cash, " + mode;
+                    assertNumberEquals(message, expected, FastMoney.of(number, cur).with(rounding));
+                    assertNumberEquals(message, expected, Money.of(number, cur).with(rounding));
+                    assertNumberEquals(message, expected, RoundedMoney.of(number, cur).with(rounding));
+                }
+            }
+        }
+    }
+
+    /**
+     * Compares {@link LongRounding#round(long, long, RoundingMode)} with {@link BigDecimal} arithmetics, including
+     * {@link RoundingMode#UNNECESSARY}.
+     */
+    @Test
+    public void testLongRoundingAllModes(){
+        Random random = new Random(SEED);
+        long[] units = new long[]{1, 2, 5, 10, 50, 100, 1000, 100000};
+        for(RoundingMode mode : RoundingMode.values()){
+            for(long unit : units){
+                BigDecimal bdUnit = BigDecimal.valueOf(unit);
+                for(int i = 0; i < SAMPLES; i++){
+                    long value = random.nextBoolean() ? random.nextInt(2001) - 1000 : random.nextLong() / 1000;
+                    BigDecimal expected;
+                    try{
+                        expected = BigDecimal.valueOf(value).divide(bdUnit, 0, mode).multiply(bdUnit);
+                    }
+                    catch(ArithmeticException e){
+                        try{
+                            LongRounding.round(value, unit, mode);
+                            fail("ArithmeticException expected: " + value + " unit=" + unit + ", " + mode);
+                        }
+                        catch(ArithmeticException e2){
+                            // expected
+                        }
+                        continue;
+                    }
+                    assertEquals(value + " unit=" + unit + ", " + mode, expected.longValueExact(),
+                                 LongRounding.round(value, unit, mode));
+                }
+            }
+        }
+    }
+
+    /**
+     * Simple throughput comparison of the rounding paths, not run by default.
+     */
+    @Test
+    @Ignore
+    public void comparePerformanceRounding(){
+        MonetaryOperator rounding = MonetaryRoundings.getRounding(CHF);
+        final int NUM = 1000000;
+        Random random = new Random(SEED);
+        BigDecimal[] numbers = new BigDecimal[1024];
+        for(int i = 0; i < numbers.length; i++){
+            numbers[i] = randomNumber(random, 5);
+        }
+        FastMoney[] fastMonies = new FastMoney[numbers.length];
+        Money[] monies = new Money[numbers.length];
+        for(int i = 0; i < numbers.length; i++){
+            fastMonies[i] = FastMoney.of(numbers[i], CHF);
+            monies[i] = Money.of(numbers[i], CHF);
+        }
+        long start = System.nanoTime();
+        long check = 0;
+        for(int i = 0; i < NUM; i++){
+            check += fastMonies[i & 1023].with(rounding).getScaledNumber();
+        }
+        long duration = System.nanoTime() - start;
+        System.out.println("Rounding FastMoney: " + (duration / NUM) + " ns per rounding (" + check + ')');
+        start = System.nanoTime();
+        check = 0;
+        for(int i = 0; i < NUM; i++){
+            check += monies[i & 1023].with(rounding).getNumber().longValue();
+        }
+        duration = System.nanoTime() - start;
+        System.out.println("Rounding Money: " + (duration / NUM) + " ns per rounding (" + check + ')');
+        start = System.nanoTime();
+        check = 0;
+        for(int i = 0; i < NUM; i++){
+            check += numbers[i & 1023].setScale(2, RoundingMode.HALF_UP).longValue();
+        }
+        duration = System.nanoTime() - start;
+        System.out.println("Reference BigDecimal: " + (duration / NUM) + " ns per rounding (" + check + ')');
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal;
+
+import org.javamoney.moneta.BuildableCurrencyUnit;
+import org.junit.Test;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryCurrencies;
+import java.util.Collection;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ConfigurableCurrencyUnitProvider}.
+ *
+ * @author Anatole Tresch
+ */
+public class ConfigurableCurrencyUnitProviderTest{
+
+    @Test
+    public void testSnapshots(){
+        Locale locale = new Locale("", "XT");
+        ConfigurableCurrencyUnitProvider.Snapshot before = ConfigurableCurrencyUnitProvider.getSnapshot();
+        Collection<CurrencyUnit> currencies = new ConfigurableCurrencyUnitProvider().getCurrencies();
+        CurrencyUnit unit = new BuildableCurrencyUnit.Builder("XT1").setNumericCode(9001).setDefaultFractionDigits(3)
+                .build(true, locale);
+        try{
+            ConfigurableCurrencyUnitProvider.Snapshot after = ConfigurableCurrencyUnitProvider.getSnapshot();
+            assertTrue(after.getVersion() >= before.getVersion() + 2);
+            assertEquals(after.getVersion(), ConfigurableCurrencyUnitProvider.getVersion());
+            assertNull(before.getCurrencyUnit("XT1"));
+            assertFalse(currencies.contains(unit));
+            assertSame(unit, after.getCurrencyUnit("XT1"));
+            assertSame(unit, after.getCurrencyUnit(locale));
+            assertSame(unit, after.getCurrencyUnitByNumericCode(9001));
+            assertTrue(after.getCurrencies().contains(unit));
+            assertEquals(unit, MonetaryCurrencies.getCurrency("XT1"));
+            try{
+                after.getCurrencies().clear();
+                fail("UnsupportedOperationException expected.");
+            }
+            catch(UnsupportedOperationException e){
+                // expected
+            }
+        }
+        finally{
+            assertSame(unit, ConfigurableCurrencyUnitProvider.removeCurrencyUnit("XT1"));
+            assertSame(unit, ConfigurableCurrencyUnitProvider.removeCurrencyUnit(locale));
+        }
+        ConfigurableCurrencyUnitProvider.Snapshot removed = ConfigurableCurrencyUnitProvider.getSnapshot();
+        assertNull(removed.getCurrencyUnit("XT1"));
+        assertNull(removed.getCurrencyUnit(locale));
+        assertNull(removed.getCurrencyUnitByNumericCode(9001));
+        long version = removed.getVersion();
+        assertNull(ConfigurableCurrencyUnitProvider.removeCurrencyUnit("XT1"));
+        assertEquals(version, ConfigurableCurrencyUnitProvider.getVersion());
+    }
+
+    @Test
+    public void testNumericCodeAmbiguous(){
+        CurrencyUnit unit1 = new BuildableCurrencyUnit.Builder("XT3").setNumericCode(9002).build(true);
+        CurrencyUnit unit2 = new BuildableCurrencyUnit.Builder("XT2").setNumericCode(9002).build(true);
+        try{
+            assertSame(unit2, ConfigurableCurrencyUnitProvider.getSnapshot().getCurrencyUnitByNumericCode(9002));
+            ConfigurableCurrencyUnitProvider.removeCurrencyUnit("XT2");
+            assertSame(unit1, ConfigurableCurrencyUnitProvider.getSnapshot().getCurrencyUnitByNumericCode(9002));
+        }
+        finally{
+            ConfigurableCurrencyUnitProvider.removeCurrencyUnit("XT2");
+            ConfigurableCurrencyUnitProvider.removeCurrencyUnit("XT3");
+        }
+    }
+
+}
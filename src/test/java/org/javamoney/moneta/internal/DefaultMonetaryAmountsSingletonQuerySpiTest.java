@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.internal;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.junit.Test;
+
+import javax.money.AmountFlavor;
+import javax.money.MonetaryContext;
+import javax.money.MonetaryException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the amount type cache of {@link DefaultMonetaryAmountsSingletonQuerySpi}.
+ *
+ * @author Anatole Tresch
+ */
+public class DefaultMonetaryAmountsSingletonQuerySpiTest{
+
+    private final DefaultMonetaryAmountsSingletonSpi amountSpi = new DefaultMonetaryAmountsSingletonSpi();
+
+    @Test
+    public void testQueryAmountType_Cached(){
+        DefaultMonetaryAmountsSingletonQuerySpi querySpi = new DefaultMonetaryAmountsSingletonQuerySpi();
+        MonetaryContext context =
+                new MonetaryContext.Builder().setFlavor(AmountFlavor.PERFORMANCE).setPrecision(5).build();
+        assertFalse(querySpi.isCached(context));
+        assertEquals(FastMoney.class, querySpi.queryAmountType(amountSpi, context));
+        assertTrue(querySpi.isCached(context));
+        // an equal context is resolved from the cache
+        MonetaryContext equal =
+                new MonetaryContext.Builder().setFlavor(AmountFlavor.PERFORMANCE).setPrecision(5).build();
+        assertTrue(querySpi.isCached(equal));
+        assertEquals(FastMoney.class, querySpi.queryAmountType(amountSpi, equal));
+        MonetaryContext other =
+                new MonetaryContext.Builder().setFlavor(AmountFlavor.PERFORMANCE).setPrecision(20).build();
+        assertFalse(querySpi.isCached(other));
+        assertEquals(Money.class, querySpi.queryAmountType(amountSpi, other));
+        assertTrue(querySpi.isCached(other));
+    }
+
+    @Test
+    public void testQueryAmountType_Reload(){
+        DefaultMonetaryAmountsSingletonQuerySpi querySpi = new DefaultMonetaryAmountsSingletonQuerySpi();
+        MonetaryContext context = new MonetaryContext.Builder(Money.class).build();
+        assertEquals(Money.class, querySpi.queryAmountType(amountSpi, context));
+        assertTrue(querySpi.isCached(context));
+        querySpi.reload();
+        assertFalse(querySpi.isCached(context));
+        assertEquals(Money.class, querySpi.queryAmountType(amountSpi, context));
+        assertTrue(querySpi.isCached(context));
+    }
+
+    @Test
+    public void testQueryAmountType_NotCached(){
+        DefaultMonetaryAmountsSingletonQuerySpi querySpi = new DefaultMonetaryAmountsSingletonQuerySpi();
+        assertEquals(amountSpi.getDefaultAmountType(), querySpi.queryAmountType(amountSpi, null));
+        // FastMoney does not support this precision, the failure is not cached
+        MonetaryContext context = new MonetaryContext.Builder(FastMoney.class).setPrecision(30).build();
+        for(int i = 0; i < 2; i++){
+            try{
+                querySpi.queryAmountType(amountSpi, context);
+                fail("MonetaryException expected");
+            }
+            catch(MonetaryException e){
+                // expected
+            }
+            assertFalse(querySpi.isCached(context));
+        }
+    }
+
+}
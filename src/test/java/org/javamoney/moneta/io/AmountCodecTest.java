@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.io;
+
+import org.javamoney.moneta.FastMoney;
+import org.javamoney.moneta.Money;
+import org.junit.Test;
+
+import javax.money.CurrencyUnit;
+import javax.money.MonetaryAmount;
+import javax.money.MonetaryContext;
+import javax.money.MonetaryCurrencies;
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link AmountCodec}.
+ *
+ * @author Anatole Tresch
+ */
+public class AmountCodecTest{
+
+    private static final CurrencyUnit EURO = MonetaryCurrencies.getCurrency("EUR");
+    private static final CurrencyUnit DOLLAR = MonetaryCurrencies.getCurrency("USD");
+
+    private static List<MonetaryAmount> createAmounts(){
+        MonetaryContext context = new MonetaryContext.Builder(Money.class).setObject(MathContext.UNLIMITED).build();
+        List<MonetaryAmount> amounts = new ArrayList<>();
+        amounts.add(FastMoney.of(0, EURO));
+        amounts.add(FastMoney.of(new BigDecimal("-1.23456"), DOLLAR));
+        amounts.add(FastMoney.ofScaled(Long.MAX_VALUE, EURO));
+        amounts.add(FastMoney.ofScaled(Long.MIN_VALUE, EURO));
+        amounts.add(Money.of(new BigDecimal("1234.5"), EURO));
+        amounts.add(Money.of(new BigDecimal("1E+7"), DOLLAR));
+        amounts.add(Money.of(new BigDecimal("-0.000000000001"), EURO));
+        amounts.add(Money.of(new BigDecimal("123456789012345678901234567890.12345"), DOLLAR, context));
+        return amounts;
+    }
+
+    private static void assertAmountsEqual(List<MonetaryAmount> expected, AmountBatch batch){
+        assertEquals(expected.size(), batch.size());
+        for(int i = 0; i < expected.size(); i++){
+            MonetaryAmount amount = batch.getAmount(i);
+            assertEquals(expected.get(i), amount);
+            assertEquals(expected.get(i).getClass(), amount.getClass());
+            assertEquals(expected.get(i).getCurrency(), batch.getCurrency(i));
+        }
+        assertEquals(expected, batch.toList());
+    }
+
+    @Test
+    public void testDataOutput() throws IOException{
+        List<MonetaryAmount> amounts = createAmounts();
+        for(boolean delta : new boolean[]{false, true}){
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            AmountCodec.write(amounts, delta, new DataOutputStream(bos));
+            AmountBatch batch = AmountCodec.read(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+            assertAmountsEqual(amounts, batch);
+            assertEquals(2, batch.getCurrencies().size());
+            assertFalse(batch.isLarge(0));
+            assertTrue(batch.isLarge(7));
+            assertEquals(-123456L, batch.getUnscaledValues()[1]);
+            assertEquals(5, batch.getScales()[1]);
+        }
+    }
+
+    @Test
+    public void testByteBuffer() throws IOException{
+        List<MonetaryAmount> amounts = createAmounts();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        AmountCodec.write(amounts, true, buffer);
+        buffer.flip();
+        assertAmountsEqual(amounts, AmountCodec.read(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testDeltaEncoding() throws IOException{
+        Random random = new Random(4711L);
+        List<MonetaryAmount> series = new ArrayList<>();
+        long value = 100000000000L;
+        for(int i = 0; i < 1000; i++){
+            value += random.nextInt(10000);
+            series.add(FastMoney.ofScaled(value, EURO));
+        }
+        ByteBuffer plain = ByteBuffer.allocate(16 * 1024);
+        AmountCodec.write(series, false, plain);
+        ByteBuffer delta = ByteBuffer.allocate(16 * 1024);
+        AmountCodec.write(series, true, delta);
+        assertTrue(plain.position() + " vs. " + delta.position(), delta.position() < plain.position() * 2 / 3);
+        delta.flip();
+        assertAmountsEqual(series, AmountCodec.read(delta));
+    }
+
+    @Test
+    public void testMappedFile() throws IOException{
+        List<MonetaryAmount> amounts = createAmounts();
+        Path file = Files.createTempFile("amounts", ".bin");
+        try{
+            try(DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(file)))){
+                AmountCodec.write(amounts, false, out);
+            }
+            assertAmountsEqual(amounts, AmountCodec.read(file));
+        }
+        finally{
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testCorrupted(){
+        try{
+            AmountCodec.read(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}));
+            fail("StreamCorruptedException expected.");
+        }
+        catch(StreamCorruptedException e){
+            // expected
+        }
+        catch(IOException e){
+            fail("StreamCorruptedException expected: " + e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        AmountCodec.write(createAmounts(), false, buffer);
+        buffer.flip();
+        buffer.limit(buffer.limit() - 1);
+        try{
+            AmountCodec.read(buffer);
+            fail("EOFException expected.");
+        }
+        catch(EOFException e){
+            // expected
+        }
+        catch(IOException e){
+            fail("EOFException expected: " + e);
+        }
+    }
+
+    @Test
+    public void testCorrupted_HugeCounts() throws IOException{
+        // magic, flags, then a count of Integer.MAX_VALUE, zig-zag encoded
+        byte[] hugeCurrencies = {0x4A, 0x4D, 0x41, 0x01, 0, (byte) 0xFE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        byte[] hugeAmounts = {0x4A, 0x4D, 0x41, 0x01, 0, 0, (byte) 0xFE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        byte[] hugeCode = {0x4A, 0x4D, 0x41, 0x01, 0, 2, (byte) 0xFE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        for(byte[] bytes : new byte[][]{hugeCurrencies, hugeAmounts, hugeCode}){
+            try{
+                AmountCodec.read(ByteBuffer.wrap(bytes));
+                fail("StreamCorruptedException expected.");
+            }
+            catch(StreamCorruptedException e){
+                // expected
+            }
+            try{
+                AmountCodec.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+                fail("EOFException expected.");
+            }
+            catch(EOFException e){
+                // expected
+            }
+        }
+    }
+
+}
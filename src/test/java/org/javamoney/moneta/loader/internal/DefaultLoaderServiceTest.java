@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.loader.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.javamoney.moneta.spi.LoaderService.LoaderListener;
+import org.javamoney.moneta.spi.LoaderService.UpdatePolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link DefaultLoaderService}.
+ *
+ * @author Anatole Tresch
+ */
+public class DefaultLoaderServiceTest {
+
+	private File file;
+	private URL url;
+	private byte[] data;
+
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("loaderServiceTest", ".xml");
+		url = file.toURI().toURL();
+		data = new byte[10000];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) ('a' + i % 26);
+		}
+		Files.write(file.toPath(), data);
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	/**
+	 * Listener recording the data read.
+	 */
+	private static final class RecordingListener implements LoaderListener {
+		private final List<byte[]> received = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void newDataLoaded(String resourceId, InputStream is) {
+			try {
+				received.add(LoadableResourceTest.readFully(is));
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	@Test
+	public void testListeners() throws IOException {
+		DefaultLoaderService service = new DefaultLoaderService();
+		service.registerData("listenersTest", UpdatePolicy.LAZY, null, url, url);
+		RecordingListener first = new RecordingListener();
+		RecordingListener second = new RecordingListener();
+		service.addLoaderListener(first, "listenersTest");
+		service.addLoaderListener(second, "listenersTest");
+		assertTrue(service.loadData("listenersTest"));
+		// each listener reads its own stream on the complete data
+		assertEquals(1, first.received.size());
+		assertEquals(1, second.received.size());
+		assertTrue(Arrays.equals(data, first.received.get(0)));
+		assertTrue(Arrays.equals(data, second.received.get(0)));
+		service.removeLoaderListener(second, "listenersTest");
+		assertTrue(service.loadDataLocal("listenersTest"));
+		assertEquals(2, first.received.size());
+		assertEquals(1, second.received.size());
+		assertTrue(Arrays.equals(data, first.received.get(1)));
+		// the data is released after notification
+		try (InputStream is = service.getData("listenersTest")) {
+			assertTrue(Arrays.equals(data, LoadableResourceTest.readFully(is)));
+		}
+	}
+
+	@Test
+	public void testListeners_Reload() throws Exception {
+		DefaultLoaderService service = new DefaultLoaderService();
+		service.registerData("reloadTest", UpdatePolicy.LAZY, null, url, url);
+		RecordingListener listener = new RecordingListener();
+		service.addLoaderListener(listener, "reloadTest");
+		assertFalse(service.getListenerNotification("reloadTest").get());
+		assertTrue(service.loadData("reloadTest"));
+		assertEquals(Boolean.TRUE, service.getListenerNotification("reloadTest")
+				.get());
+		byte[] reloaded = "reloaded".getBytes("US-ASCII");
+		Files.write(file.toPath(), reloaded);
+		assertTrue(service.loadData("reloadTest"));
+		assertEquals(2, listener.received.size());
+		assertTrue(Arrays.equals(data, listener.received.get(0)));
+		assertTrue(Arrays.equals(reloaded, listener.received.get(1)));
+	}
+
+	@Test
+	public void testListeners_Timeout() throws Exception {
+		DefaultLoaderService service = new DefaultLoaderService();
+		service.setListenerTimeout(200L);
+		service.registerData("timeoutTest", UpdatePolicy.LAZY, null, url, url);
+		final CountDownLatch interrupted = new CountDownLatch(1);
+		service.addLoaderListener(new LoaderListener() {
+			@Override
+			public void newDataLoaded(String resourceId, InputStream is) {
+				try {
+					Thread.sleep(60000L);
+				} catch (InterruptedException e) {
+					interrupted.countDown();
+				}
+			}
+		}, "timeoutTest");
+		RecordingListener fast = new RecordingListener();
+		service.addLoaderListener(fast, "timeoutTest");
+		long start = System.currentTimeMillis();
+		// the data was loaded, but not processed by all listeners
+		assertTrue(service.loadData("timeoutTest"));
+		assertFalse(service.getListenerNotification("timeoutTest").get());
+		assertTrue(System.currentTimeMillis() - start < 30000L);
+		// the slow listener is cancelled, the fast one is not affected
+		assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+		assertEquals(1, fast.received.size());
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.loader.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link DefaultResourceCache}.
+ *
+ * @author Anatole Tresch
+ */
+public class DefaultResourceCacheTest {
+
+	private File dir;
+	private URL source;
+	private byte[] data;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = Files.createTempDirectory("resourceCacheTest").toFile();
+		source = new URL("http://www.example.com/rates.xml");
+		// repetitive, so compression takes effect
+		data = new byte[20000];
+		Random random = new Random(4711L);
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) ('0' + random.nextInt(10));
+		}
+	}
+
+	@After
+	public void tearDown() {
+		File[] files = dir.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		dir.delete();
+	}
+
+	private static byte[] toBytes(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+		return bytes;
+	}
+
+	private void assertRoundTrip(boolean compress) throws IOException {
+		DefaultResourceCache cache = new DefaultResourceCache(dir, compress);
+		assertFalse(cache.isCached("rates"));
+		assertNull(cache.read("rates"));
+		cache.write("rates", source, ByteBuffer.wrap(data));
+		assertTrue(cache.isCached("rates"));
+		assertTrue(Arrays.equals(data, toBytes(cache.read("rates"))));
+		// a new instance finds the file and parses its header
+		cache = new DefaultResourceCache(dir, !compress);
+		assertTrue(cache.isCached("rates"));
+		ByteBuffer read = cache.read("rates");
+		assertTrue(read.isReadOnly());
+		assertTrue(Arrays.equals(data, toBytes(read)));
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		assertRoundTrip(false);
+	}
+
+	@Test
+	public void testRoundTrip_Compressed() throws IOException {
+		assertRoundTrip(true);
+		long compressedLength = new File(dir, "rates.dat").length();
+		new DefaultResourceCache(dir, false).write("rates", source,
+				ByteBuffer.wrap(data));
+		assertTrue(compressedLength < new File(dir, "rates.dat").length());
+	}
+
+	@Test
+	public void testRoundTrip_LongSource() throws IOException {
+		// longer than the 0xFFFF bytes a short length could hold
+		StringBuilder b = new StringBuilder("http://www.example.com/rates.xml?q=");
+		while (b.length() <= 0x10000) {
+			b.append("0123456789");
+		}
+		source = new URL(b.toString());
+		assertRoundTrip(false);
+	}
+
+	@Test
+	public void testCorruptData() throws IOException {
+		for (boolean compress : new boolean[] { false, true }) {
+			new DefaultResourceCache(dir, compress).write("rates", source,
+					ByteBuffer.wrap(data));
+			File file = new File(dir, "rates.dat");
+			try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+				long pos = raf.length() - 10;
+				raf.seek(pos);
+				int b = raf.read();
+				raf.seek(pos);
+				raf.write(b ^ 0x55);
+			}
+			DefaultResourceCache cache = new DefaultResourceCache(dir, compress);
+			assertTrue(cache.isCached("rates"));
+			assertNull(cache.read("rates"));
+			assertFalse(cache.isCached("rates"));
+			assertFalse(file.exists());
+		}
+	}
+
+	@Test
+	public void testInvalidHeader() throws IOException {
+		File file = new File(dir, "rates.dat");
+		Files.write(file.toPath(), data);
+		DefaultResourceCache cache = new DefaultResourceCache(dir, false);
+		assertTrue(cache.isCached("rates"));
+		assertNull(cache.read("rates"));
+		assertFalse(file.exists());
+	}
+
+	@Test
+	public void testTempFiles() throws IOException {
+		File stale = new File(dir, "stale.tmp");
+		File recent = new File(dir, "recent.tmp");
+		Files.write(stale.toPath(), data);
+		Files.write(recent.toPath(), data);
+		assertTrue(stale.setLastModified(System.currentTimeMillis() - 2L * 60L
+				* 60L * 1000L));
+		DefaultResourceCache cache = new DefaultResourceCache(dir, false);
+		assertFalse(stale.exists());
+		// may be written by another process sharing the directory
+		assertTrue(recent.exists());
+		assertFalse(cache.isCached("recent"));
+		cache.write("rates", source, ByteBuffer.wrap(data));
+		File[] files = dir.listFiles();
+		assertNotNull(files);
+		assertEquals(2, files.length);
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.loader.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.nio.file.Files;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.javamoney.moneta.spi.LoaderService.UpdatePolicy;
+import org.junit.Test;
+
+/**
+ * Tests for {@link JMXLoaderMetricsExporter}.
+ *
+ * @author Anatole Tresch
+ */
+public class JMXLoaderMetricsExporterTest {
+
+	@Test
+	public void testRegister() throws Exception {
+		File file = File.createTempFile("jmxLoaderMetricsTest", ".xml");
+		String resourceId = "jmxTest-" + file.getName();
+		ObjectName name = new ObjectName(
+				"org.javamoney.moneta:type=LoaderMetrics,resource="
+						+ ObjectName.quote(resourceId));
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			Files.write(file.toPath(), new byte[] { 1, 2, 3 });
+			URL url = file.toURI().toURL();
+			LoadableResource res = new LoadableResource(resourceId,
+					UpdatePolicy.LAZY, url, url);
+			JMXLoaderMetricsExporter exporter = new JMXLoaderMetricsExporter();
+			exporter.register(res.getMetrics());
+			// registering the same metrics twice is harmless
+			exporter.register(res.getMetrics());
+			assertTrue(server.isRegistered(name));
+			assertEquals(0L, server.getAttribute(name, "SuccessCount"));
+			assertTrue(res.load());
+			exporter.loaded(res.getMetrics());
+			// the MBean reads the live counters
+			assertEquals(1L, server.getAttribute(name, "SuccessCount"));
+			assertEquals(0L, server.getAttribute(name, "FailureCount"));
+			assertEquals(3L, server.getAttribute(name, "BytesLoaded"));
+			assertEquals(Boolean.FALSE,
+					server.getAttribute(name, "FallbackUsed"));
+			assertTrue(res.load());
+			assertEquals(2L, server.getAttribute(name, "SuccessCount"));
+			assertEquals(6L, server.getAttribute(name, "BytesLoaded"));
+		} finally {
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testRegister_Replace() throws Exception {
+		File file = File.createTempFile("jmxLoaderMetricsTest", ".xml");
+		String resourceId = "jmxReplaceTest-" + file.getName();
+		ObjectName name = new ObjectName(
+				"org.javamoney.moneta:type=LoaderMetrics,resource="
+						+ ObjectName.quote(resourceId));
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			Files.write(file.toPath(), new byte[] { 1, 2, 3 });
+			URL url = file.toURI().toURL();
+			LoadableResource first = new LoadableResource(resourceId,
+					UpdatePolicy.LAZY, url, url);
+			new JMXLoaderMetricsExporter().register(first.getMetrics());
+			assertTrue(first.load());
+			assertEquals(1L, server.getAttribute(name, "SuccessCount"));
+			// e.g. a second loader service, or a redeployment
+			LoadableResource second = new LoadableResource(resourceId,
+					UpdatePolicy.LAZY, url, url);
+			new JMXLoaderMetricsExporter().register(second.getMetrics());
+			assertTrue(server.isRegistered(name));
+			assertEquals(0L, server.getAttribute(name, "SuccessCount"));
+			assertTrue(second.load());
+			assertTrue(second.load());
+			assertTrue(first.load());
+			assertEquals(2L, server.getAttribute(name, "SuccessCount"));
+			assertEquals(6L, server.getAttribute(name, "BytesLoaded"));
+		} finally {
+			if (server.isRegistered(name)) {
+				server.unregisterMBean(name);
+			}
+			file.delete();
+		}
+	}
+
+}
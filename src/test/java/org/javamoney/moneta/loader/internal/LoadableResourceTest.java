@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2012, 2014, Credit Suisse (Anatole Tresch), Werner Keil. Licensed under the Apache
+ * License, Version 2.0 (the "License"); you may not use this file except in compliance with the
+ * License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.javamoney.moneta.loader.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.javamoney.moneta.spi.LoaderMetrics;
+import org.javamoney.moneta.spi.LoaderService.UpdatePolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link LoadableResource}.
+ *
+ * @author Anatole Tresch
+ */
+public class LoadableResourceTest {
+
+	private File file;
+	private byte[] data;
+
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("loadableResourceTest", ".xml");
+		data = new byte[10000];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) ('a' + i % 26);
+		}
+		Files.write(file.toPath(), data);
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	static byte[] readFully(InputStream is) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		byte[] buf = new byte[1024];
+		int read = is.read(buf);
+		while (read >= 0) {
+			bos.write(buf, 0, read);
+			read = is.read(buf);
+		}
+		return bos.toByteArray();
+	}
+
+	private LoadableResource createResource() throws IOException {
+		URL url = file.toURI().toURL();
+		return new LoadableResource("test", UpdatePolicy.LAZY, url, url);
+	}
+
+	@Test
+	public void testGetData_Views() throws IOException {
+		LoadableResource res = createResource();
+		ByteBuffer first = res.getData();
+		ByteBuffer second = res.getData();
+		assertTrue(first.isReadOnly());
+		assertEquals(data.length, first.remaining());
+		first.position(first.limit());
+		// positions are independent
+		assertEquals(data.length, second.remaining());
+		byte[] bytes = new byte[second.remaining()];
+		second.get(bytes);
+		assertTrue(Arrays.equals(data, bytes));
+		assertEquals(1L, res.getMetrics().getSuccessCount());
+		assertEquals(2, res.getAccessCount());
+	}
+
+	@Test
+	public void testGetDataStream_Independent() throws IOException {
+		LoadableResource res = createResource();
+		try (InputStream first = res.getDataStream();
+				InputStream second = res.getDataStream()) {
+			assertTrue(Arrays.equals(data, readFully(first)));
+			assertTrue(Arrays.equals(data, readFully(second)));
+		}
+		assertEquals(0, res.getAccessCount());
+	}
+
+	@Test
+	public void testUnload() throws IOException {
+		LoadableResource res = createResource();
+		InputStream first = res.getDataStream();
+		InputStream second = res.getDataStream();
+		first.close();
+		// closing twice unloads only once
+		first.close();
+		assertEquals(1, res.getAccessCount());
+		assertTrue(Arrays.equals(data, readFully(second)));
+		assertEquals(1L, res.getMetrics().getSuccessCount());
+		second.close();
+		assertEquals(0, res.getAccessCount());
+		// the data was released, so it is loaded again
+		try (InputStream third = res.getDataStream()) {
+			assertTrue(Arrays.equals(data, readFully(third)));
+		}
+		assertEquals(2L, res.getMetrics().getSuccessCount());
+	}
+
+	@Test
+	public void testMetrics() throws IOException {
+		URL url = file.toURI().toURL();
+		URL missing = new File(file.getParentFile(), file.getName() + ".missing")
+				.toURI().toURL();
+		LoadableResource res = new LoadableResource("test", UpdatePolicy.LAZY,
+				url, missing);
+		LoaderMetrics metrics = res.getMetrics();
+		assertEquals(0L, metrics.getFailureCount());
+		assertEquals(0L, metrics.getLastLoaded());
+		// remote fails, so the fallback is used
+		assertTrue(res.load());
+		assertEquals(1L, metrics.getFailureCount());
+		assertEquals(0L, metrics.getSuccessCount());
+		assertTrue(metrics.isFallbackUsed());
+		assertEquals(data.length, metrics.getBytesLoaded());
+		assertEquals(2L, sum(metrics.getLoadDurationHistogram()));
+		res = new LoadableResource("test", UpdatePolicy.LAZY, missing, url);
+		metrics = res.getMetrics();
+		assertTrue(res.load());
+		assertTrue(res.load());
+		assertEquals(0L, metrics.getFailureCount());
+		assertEquals(2L, metrics.getSuccessCount());
+		assertFalse(metrics.isFallbackUsed());
+		assertEquals(2L * data.length, metrics.getBytesLoaded());
+		assertTrue(metrics.getLastLoaded() > 0L);
+		assertTrue(metrics.getStaleness() >= 0L);
+	}
+
+	private static long sum(long[] values) {
+		long sum = 0L;
+		for (long value : values) {
+			sum += value;
+		}
+		return sum;
+	}
+
+}